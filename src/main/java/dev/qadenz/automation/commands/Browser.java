@@ -11,6 +11,8 @@ package dev.qadenz.automation.commands;
 
 import dev.qadenz.automation.config.WebDriverProvider;
 import dev.qadenz.automation.reporter.Screenshot;
+import dev.qadenz.automation.reporter.StepRecorder;
+import dev.qadenz.automation.ui.ElementCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -32,6 +34,7 @@ public class Browser {
      * Accepts a JavaScript Alert.
      */
     public static void acceptAlert() {
+        StepRecorder.Step step = StepRecorder.start("acceptAlert", null);
         LOG.info("Accepting alert.");
         try {
             WebDriverProvider.getWebDriver().switchTo().alert().accept();
@@ -42,12 +45,16 @@ public class Browser {
             
             throw exception;
         }
+        finally {
+            step.close();
+        }
     }
     
     /**
      * Dismisses a JavaScript Alert.
      */
     public static void dismissAlert() {
+        StepRecorder.Step step = StepRecorder.start("dismissAlert", null);
         LOG.info("Dismissing alert.");
         try {
             WebDriverProvider.getWebDriver().switchTo().alert().dismiss();
@@ -58,6 +65,9 @@ public class Browser {
             
             throw exception;
         }
+        finally {
+            step.close();
+        }
     }
     
     /**
@@ -66,6 +76,7 @@ public class Browser {
      * @param input The text input.
      */
     public static void enterTextOnAlert(String input) {
+        StepRecorder.Step step = StepRecorder.start("enterTextOnAlert", null);
         LOG.info("Entering text [{}] into Alert.", input);
         try {
             WebDriverProvider.getWebDriver().switchTo().alert().sendKeys(input);
@@ -76,14 +87,19 @@ public class Browser {
             
             throw exception;
         }
+        finally {
+            step.close();
+        }
     }
     
     /**
      * Closes the current browser window.
      */
     public static void closeBrowser() {
+        StepRecorder.Step step = StepRecorder.start("closeBrowser", null);
         LOG.info("Closing browser.");
         try {
+            ElementCache.reset();
             WebDriverProvider.getWebDriver().close();
         }
         catch (Exception exception) {
@@ -92,14 +108,19 @@ public class Browser {
             
             throw exception;
         }
+        finally {
+            step.close();
+        }
     }
     
     /**
      * Navigates back to the previous page.
      */
     public static void goBack() {
+        StepRecorder.Step step = StepRecorder.start("goBack", null);
         LOG.info("Navigating back.");
         try {
+            ElementCache.reset();
             WebDriverProvider.getWebDriver().navigate().back();
         }
         catch (Exception exception) {
@@ -108,14 +129,19 @@ public class Browser {
             
             throw exception;
         }
+        finally {
+            step.close();
+        }
     }
     
     /**
      * Navigates forward to the next page, if one exists.
      */
     public static void goForward() {
+        StepRecorder.Step step = StepRecorder.start("goForward", null);
         LOG.info("Navigating forward.");
         try {
+            ElementCache.reset();
             WebDriverProvider.getWebDriver().navigate().forward();
         }
         catch (Exception exception) {
@@ -125,14 +151,19 @@ public class Browser {
             
             throw exception;
         }
+        finally {
+            step.close();
+        }
     }
     
     /**
      * Refreshes the current page.
      */
     public static void refreshPage() {
+        StepRecorder.Step step = StepRecorder.start("refreshPage", null);
         LOG.info("Refreshing page.");
         try {
+            ElementCache.reset();
             WebDriverProvider.getWebDriver().navigate().refresh();
         }
         catch (Exception exception) {
@@ -141,12 +172,16 @@ public class Browser {
             
             throw exception;
         }
+        finally {
+            step.close();
+        }
     }
     
     /**
      * Deletes all current cookies.
      */
     public static void deleteCookies() {
+        StepRecorder.Step step = StepRecorder.start("deleteCookies", null);
         LOG.info("Deleting all cookies.");
         try {
             WebDriverProvider.getWebDriver().manage().deleteAllCookies();
@@ -157,6 +192,9 @@ public class Browser {
             
             throw exception;
         }
+        finally {
+            step.close();
+        }
     }
     
     /**
@@ -165,8 +203,10 @@ public class Browser {
      * @param url The URL to be opened.
      */
     public static void openUrl(String url) {
+        StepRecorder.Step step = StepRecorder.start("openUrl", null);
         LOG.info("Opening URL [{}].", url);
         try {
+            ElementCache.reset();
             WebDriverProvider.getWebDriver().get(url);
         }
         catch (Exception exception) {
@@ -175,12 +215,16 @@ public class Browser {
             
             throw exception;
         }
+        finally {
+            step.close();
+        }
     }
     
     /**
      * Moves focus to the new browser window, relative to the current window.
      */
     public static void focusOnNextWindow() {
+        StepRecorder.Step step = StepRecorder.start("focusOnNextWindow", null);
         LOG.info("Switch focus to next window.");
         try {
             switchWindowFocus(Window.NEXT);
@@ -192,12 +236,16 @@ public class Browser {
             
             throw exception;
         }
+        finally {
+            step.close();
+        }
     }
     
     /**
      * Moves focus to the previous browser window, relative to the current window.
      */
     public static void focusOnPreviousWindow() {
+        StepRecorder.Step step = StepRecorder.start("focusOnPreviousWindow", null);
         LOG.info("Switch focus to previous window.");
         try {
             switchWindowFocus(Window.PREVIOUS);
@@ -209,9 +257,13 @@ public class Browser {
             
             throw exception;
         }
+        finally {
+            step.close();
+        }
     }
     
     private static void switchWindowFocus(Window window) {
+        ElementCache.reset();
         int currentWindowIndex;
         List<String> windowHandles = new ArrayList<>(WebDriverProvider.getWebDriver().getWindowHandles());
         try {
@@ -10,7 +10,11 @@ https://polyformproject.org/licenses/internal-use/1.0.0/
 package dev.qadenz.automation.commands;
 
 import dev.qadenz.automation.conditions.Condition;
+import dev.qadenz.automation.config.WebConfig;
+import dev.qadenz.automation.logs.Loggers;
 import dev.qadenz.automation.reporter.Screenshot;
+import dev.qadenz.automation.reporter.ScreenshotMode;
+import dev.qadenz.automation.reporter.StepRecorder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.testng.Assert;
@@ -48,7 +52,8 @@ public abstract class Commands {
      * flush the failures and abort the test at a user designated point in the test. If a call to {@code verify()}
      * exists after a call to Check and before a call to {@code flush()}, the test will still be aborted if
      * {@code verify()} produces a failure. Execution will be stopped immediately if an error is encountered during the
-     * {@code check()}. A screenshot will be captured for each failed Condition.
+     * {@code check()}. Screenshots of failed Conditions are captured according to the configured
+     * {@link ScreenshotMode}.
      *
      * @param conditions The Conditions to be evaluated.
      */
@@ -73,7 +78,8 @@ public abstract class Commands {
      * flush the failures and abort the test at a user designated point in the test. If a call to {@code verify()}
      * exists after a call to Check and before a call to {@code flush()}, the test will still be aborted if
      * {@code verify()} produces a failure. Execution will be stopped immediately if an error is encountered during the
-     * {@code check()}. A screenshot will be captured for each failed Condition.
+     * {@code check()}. Screenshots of failed Conditions are captured according to the configured
+     * {@link ScreenshotMode}.
      *
      * @param conditions The Conditions to be evaluated.
      */
@@ -89,35 +95,43 @@ public abstract class Commands {
      * @param conditions The Conditions to be evaluated.
      */
     public void check(boolean captureScreen, List<Condition> conditions) {
+        AtomicBoolean captured = new AtomicBoolean(false);
+        
         conditions.forEach(condition -> {
+            StepRecorder.Step step = StepRecorder.start("check", null);
             LOG.info("Checking Condition - {}", condition);
             try {
                 boolean result = condition.result();
                 Assert.assertTrue(result);
-                LOG.info("Result - PASS");
+                LOG.info(Loggers.PASS, "Result - PASS");
             }
             catch (AssertionError error) {
-                LOG.info("Result - FAIL :: Found [{}].", condition.actual());
+                LOG.info(Loggers.FAIL, "Result - FAIL :: Found [{}].", condition.actual());
                 Assertions.setFailures(true);
                 if (captureScreen) {
-                    screenshot.capture();
+                    captureFailure(captured.getAndSet(true));
                 }
             }
             catch (Exception exception) {
-                LOG.error("Result - ERROR :: {}: {}", exception.getClass().getSimpleName(), exception.getMessage());
+                LOG.error(Loggers.ERROR, "Result - ERROR :: {}: {}", exception.getClass().getSimpleName(),
+                        exception.getMessage());
                 if (captureScreen) {
                     screenshot.capture();
                 }
                 
                 throw new RuntimeException("Error while checking condition.");
             }
+            finally {
+                step.close();
+            }
         });
     }
     
     /**
      * Evaluates each of the given {@link Condition}s as a group. If one or more Conditions results in a failure,
      * execution will be aborted after the final Condition is evaluated. Execution will be stopped immediately if an
-     * error is encountered. A screenshot will be captured for each failed Condition.
+     * error is encountered. Screenshots of failed Conditions are captured according to the configured
+     * {@link ScreenshotMode}.
      *
      * @param conditions The Conditions to be evaluated.
      */
@@ -139,7 +153,8 @@ public abstract class Commands {
     /**
      * Evaluates each of the given {@link Condition}s as a group. If one or more Conditions results in a failure,
      * execution will be aborted after the final Condition is evaluated. Execution will be stopped immediately if an
-     * error is encountered. A screenshot will be captured for each failed Condition.
+     * error is encountered. Screenshots of failed Conditions are captured according to the configured
+     * {@link ScreenshotMode}.
      *
      * @param conditions The Conditions to be evaluated.
      */
@@ -158,27 +173,32 @@ public abstract class Commands {
         AtomicBoolean failed = new AtomicBoolean(false);
         
         conditions.forEach(condition -> {
+            StepRecorder.Step step = StepRecorder.start("verify", null);
             LOG.info("Verifying Condition - {}", condition);
             try {
                 boolean result = condition.result();
                 Assert.assertTrue(result);
-                LOG.info("Result - PASS");
+                LOG.info(Loggers.PASS, "Result - PASS");
             }
             catch (AssertionError error) {
-                LOG.info("Result - FAIL :: Found [{}].", condition.actual());
-                failed.set(true);
+                LOG.info(Loggers.FAIL, "Result - FAIL :: Found [{}].", condition.actual());
                 if (captureScreen) {
-                    screenshot.capture();
+                    captureFailure(failed.get());
                 }
+                failed.set(true);
             }
             catch (Exception exception) {
-                LOG.error("Result - ERROR :: {}: {}", exception.getClass().getSimpleName(), exception.getMessage());
+                LOG.error(Loggers.ERROR, "Result - ERROR :: {}: {}", exception.getClass().getSimpleName(),
+                        exception.getMessage());
                 if (captureScreen) {
                     screenshot.capture();
                 }
                 
                 throw new RuntimeException("Error while verifying condition.");
             }
+            finally {
+                step.close();
+            }
         });
         
         if (failed.get()) {
@@ -186,6 +206,32 @@ public abstract class Commands {
         }
     }
     
+    private void captureFailure(boolean capturedInValidation) {
+        switch (WebConfig.screenshotMode) {
+            case PER_VALIDATION:
+                if (capturedInValidation) {
+                    screenshot.reference();
+                }
+                else {
+                    screenshot.capture();
+                }
+                break;
+            case FIRST:
+                if (screenshot.hasCapture()) {
+                    screenshot.reference();
+                }
+                else {
+                    screenshot.capture();
+                }
+                break;
+            case LAST:
+                screenshot.replace();
+                break;
+            default:
+                screenshot.capture();
+        }
+    }
+    
     /**
      * Pauses execution for the given amount of time, expressed in seconds.
      *
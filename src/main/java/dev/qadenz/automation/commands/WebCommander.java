@@ -10,13 +10,20 @@ https://polyformproject.org/licenses/internal-use/1.0.0/
 package dev.qadenz.automation.commands;
 
 import dev.qadenz.automation.conditions.Condition;
+import dev.qadenz.automation.config.PollingStrategy;
 import dev.qadenz.automation.config.WebConfig;
 import dev.qadenz.automation.config.WebDriverProvider;
 import dev.qadenz.automation.reporter.Screenshot;
+import dev.qadenz.automation.reporter.StepRecorder;
+import dev.qadenz.automation.ui.DomSnapshot;
+import dev.qadenz.automation.ui.ElementCache;
+import dev.qadenz.automation.ui.ElementScripts;
 import dev.qadenz.automation.ui.Locator;
+import dev.qadenz.automation.ui.MutationWait;
 import dev.qadenz.automation.ui.WebFinder;
 import org.openqa.selenium.ElementClickInterceptedException;
 import org.openqa.selenium.Keys;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.remote.LocalFileDetector;
@@ -34,7 +41,10 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Common commands related to the WebDriver layer.
@@ -69,6 +79,7 @@ public class WebCommander extends Commands {
      * @param locator The mapped UI element.
      */
     public void clear(Locator locator) {
+        StepRecorder.Step step = StepRecorder.start("clear", locator.getName());
         LOG.info("Clearing the contents of element [{}].", locator.getName());
         try {
             WebElement webElement = webFinder.findWhenVisible(locator);
@@ -81,6 +92,9 @@ public class WebCommander extends Commands {
             
             throw exception;
         }
+        finally {
+            step.close();
+        }
     }
     
     /**
@@ -89,6 +103,7 @@ public class WebCommander extends Commands {
      * @param locator The mapped UI element.
      */
     public void click(Locator locator) {
+        StepRecorder.Step step = StepRecorder.start("click", locator.getName());
         LOG.info("Clicking element [{}].", locator.getName());
         WebElement webElement;
         try {
@@ -120,6 +135,9 @@ public class WebCommander extends Commands {
                 throw exception;
             }
         }
+        finally {
+            step.close();
+        }
     }
     
     /**
@@ -130,6 +148,7 @@ public class WebCommander extends Commands {
      * @param yOffset Vertical offset from top-left corner. A negative value means coordinates above the element.
      */
     public void click(Locator locator, int xOffset, int yOffset) {
+        StepRecorder.Step step = StepRecorder.start("click", locator.getName());
         LOG.info("Clicking element [{}] at point [{}, {}].", locator.getName(), xOffset, yOffset);
         try {
             WebElement webElement = webFinder.findWhenClickable(locator);
@@ -144,6 +163,9 @@ public class WebCommander extends Commands {
             
             throw exception;
         }
+        finally {
+            step.close();
+        }
     }
     
     /**
@@ -152,6 +174,7 @@ public class WebCommander extends Commands {
      * @param locators The mapped UI elements.
      */
     public void controlClick(Locator... locators) {
+        StepRecorder.Step step = StepRecorder.start("controlClick", null);
         List<String> names = new ArrayList<>();
         Arrays.stream(locators).forEachOrdered(locator -> names.add(locator.getName()));
         LOG.info("Control-Clicking elements [{}]", names);
@@ -170,6 +193,9 @@ public class WebCommander extends Commands {
             
             throw exception;
         }
+        finally {
+            step.close();
+        }
     }
     
     /**
@@ -179,6 +205,7 @@ public class WebCommander extends Commands {
      * @param option The option to be deselected.
      */
     public void deselect(Locator locator, String option) {
+        StepRecorder.Step step = StepRecorder.start("deselect", locator.getName());
         LOG.info("Deselecting option [{}] from element [{}].", option, locator.getName());
         try {
             WebElement webElement = webFinder.findWhenVisible(locator);
@@ -192,6 +219,9 @@ public class WebCommander extends Commands {
             
             throw exception;
         }
+        finally {
+            step.close();
+        }
     }
     
     /**
@@ -201,6 +231,7 @@ public class WebCommander extends Commands {
      * @param options The options to be deselected.
      */
     public void deselect(Locator locator, String... options) {
+        StepRecorder.Step step = StepRecorder.start("deselect", locator.getName());
         LOG.info("Deselecting options [{}] from element [{}].", options, locator.getName());
         try {
             WebElement webElement = webFinder.findWhenVisible(locator);
@@ -214,6 +245,9 @@ public class WebCommander extends Commands {
             
             throw exception;
         }
+        finally {
+            step.close();
+        }
     }
     
     /**
@@ -222,6 +256,7 @@ public class WebCommander extends Commands {
      * @param locator The mapped UI element.
      */
     public void doubleClick(Locator locator) {
+        StepRecorder.Step step = StepRecorder.start("doubleClick", locator.getName());
         LOG.info("Double-clicking element [{}].", locator.getName());
         try {
             WebElement webElement = webFinder.findWhenClickable(locator);
@@ -235,6 +270,9 @@ public class WebCommander extends Commands {
             
             throw exception;
         }
+        finally {
+            step.close();
+        }
     }
     
     /**
@@ -244,6 +282,7 @@ public class WebCommander extends Commands {
      * @param input The text/keystrokes to send.
      */
     public void enterText(Locator locator, CharSequence... input) {
+        StepRecorder.Step step = StepRecorder.start("enterText", locator.getName());
         LOG.info("Entering text [{}] into element [{}].", stringify(input), locator.getName());
         try {
             WebElement webElement = webFinder.findWhenVisible(locator);
@@ -256,6 +295,9 @@ public class WebCommander extends Commands {
             
             throw exception;
         }
+        finally {
+            step.close();
+        }
     }
     
     /**
@@ -264,6 +306,7 @@ public class WebCommander extends Commands {
      * @param locator The mapped UI element.
      */
     public void hover(Locator locator) {
+        StepRecorder.Step step = StepRecorder.start("hover", locator.getName());
         LOG.info("Hovering on element [{}].", locator.getName());
         try {
             WebElement webElement = webFinder.findWhenVisible(locator);
@@ -277,6 +320,9 @@ public class WebCommander extends Commands {
             
             throw exception;
         }
+        finally {
+            step.close();
+        }
     }
     
     /**
@@ -286,6 +332,7 @@ public class WebCommander extends Commands {
      * @param option The option to be selected.
      */
     public void select(Locator locator, String option) {
+        StepRecorder.Step step = StepRecorder.start("select", locator.getName());
         LOG.info("Selecting option [{}] from element [{}].", option, locator.getName());
         try {
             WebElement webElement = webFinder.findWhenVisible(locator);
@@ -299,6 +346,9 @@ public class WebCommander extends Commands {
             
             throw exception;
         }
+        finally {
+            step.close();
+        }
     }
     
     /**
@@ -308,6 +358,7 @@ public class WebCommander extends Commands {
      * @param options The options to be selected.
      */
     public void select(Locator locator, String... options) {
+        StepRecorder.Step step = StepRecorder.start("select", locator.getName());
         LOG.info("Selecting options [{}] from element [{}].", options, locator.getName());
         try {
             WebElement webElement = webFinder.findWhenVisible(locator);
@@ -321,6 +372,9 @@ public class WebCommander extends Commands {
             
             throw exception;
         }
+        finally {
+            step.close();
+        }
     }
     
     /**
@@ -330,6 +384,7 @@ public class WebCommander extends Commands {
      * @param fileName The path to and name of the file to be uploaded.
      */
     public void uploadFile(Locator fileInput, String fileName) {
+        StepRecorder.Step step = StepRecorder.start("uploadFile", fileInput.getName());
         LOG.info("Uploading file [{}].", fileName);
         try {
             RemoteWebDriver remoteWebDriver = (RemoteWebDriver) WebDriverProvider.getWebDriver();
@@ -349,6 +404,9 @@ public class WebCommander extends Commands {
             
             throw new RuntimeException("File could not be uploaded.");
         }
+        finally {
+            step.close();
+        }
     }
     
     /**
@@ -362,12 +420,59 @@ public class WebCommander extends Commands {
         enterText(locator, input);
     }
     
+    /**
+     * Fills a form with the given values, in the order of the map. Runs of fields are set together with a single script
+     * execution, which raises the {@code input} and {@code change} events each field would raise if typed into, once
+     * every field of the run is present, visible, and editable. A {@code <select>} has the option with the given text
+     * selected, and a checkbox or radio button is checked for a value of {@code true}. A field whose locator is marked
+     * with {@link Locator#setKeystrokesRequired()} is instead cleared and typed into.
+     *
+     * @param fields The mapped UI elements of the fields and their values, such as a {@link java.util.LinkedHashMap}.
+     */
+    public void fillForm(Map<Locator, String> fields) {
+        StepRecorder.Step step = StepRecorder.start("fillForm", null);
+        LOG.info("Filling [{}] form fields.", fields.size());
+        try {
+            List<Locator> locators = new ArrayList<>();
+            List<String> values = new ArrayList<>();
+            for (Map.Entry<Locator, String> field : fields.entrySet()) {
+                if (field.getKey().isKeystrokesRequired()) {
+                    setFields(locators, values);
+                    locators.clear();
+                    values.clear();
+                    
+                    LOG.info("Entering text [{}] into element [{}].", field.getValue(), field.getKey().getName());
+                    WebElement webElement = webFinder.findWhenVisible(field.getKey());
+                    webElement.clear();
+                    webElement.sendKeys(field.getValue());
+                }
+                else {
+                    locators.add(field.getKey());
+                    values.add(field.getValue());
+                }
+            }
+            setFields(locators, values);
+        }
+        catch (Exception exception) {
+            LOG.error("Error filling form :: {}: {}", exception.getClass().getSimpleName(),
+                    exception.getMessage());
+            screenshot.capture();
+            
+            throw exception;
+        }
+        finally {
+            step.close();
+        }
+    }
+    
     /**
      * Moves focus to the default or main frame.
      */
     public void focusOnDefaultContent() {
+        StepRecorder.Step step = StepRecorder.start("focusOnDefaultContent", null);
         LOG.info("Switching focus to default frame.");
         try {
+            ElementCache.reset();
             WebDriverProvider.getWebDriver().switchTo().defaultContent();
         }
         catch (Exception exception) {
@@ -377,6 +482,9 @@ public class WebCommander extends Commands {
             
             throw exception;
         }
+        finally {
+            step.close();
+        }
     }
     
     /**
@@ -385,11 +493,14 @@ public class WebCommander extends Commands {
      * @param locator The UI mapping of the frame.
      */
     public void focusOnFrame(Locator locator) {
+        StepRecorder.Step step = StepRecorder.start("focusOnFrame", locator.getName());
         LOG.info("Switching focus to frame [{}]", locator.getName());
         try {
+            ElementCache.reset();
             WebDriverProvider.getWebDriver().switchTo().defaultContent();
             WebElement webElement = webFinder.findWhenVisible(locator);
             WebDriverProvider.getWebDriver().switchTo().frame(webElement);
+            ElementCache.reset();
         }
         catch (Exception exception) {
             LOG.error("Error switching focus :: {}: {}", exception.getClass().getSimpleName(),
@@ -398,6 +509,9 @@ public class WebCommander extends Commands {
             
             throw exception;
         }
+        finally {
+            step.close();
+        }
     }
     
     /**
@@ -406,12 +520,30 @@ public class WebCommander extends Commands {
      * @param condition The Condition to be satisfied during the wait.
      */
     public void pause(Condition condition) {
+        pause(condition, WebConfig.pollingStrategy);
+    }
+    
+    /**
+     * Pauses execution until the given condition is met, or a timeout occurs, evaluating the condition according to
+     * the given polling strategy.
+     *
+     * @param condition The Condition to be satisfied during the wait.
+     * @param pollingStrategy The polling strategy to use for this wait.
+     */
+    public void pause(Condition condition, PollingStrategy pollingStrategy) {
+        StepRecorder.Step step = StepRecorder.start("pause", null);
         LOG.info("Waiting for condition :: {}", condition);
-        WebDriverWait webDriverWait =
-                new WebDriverWait(WebDriverProvider.getWebDriver(), Duration.ofSeconds(WebConfig.timeout));
+        long startNanos = StepRecorder.beginWait();
         
         try {
-            webDriverWait.until((ExpectedCondition<Boolean>) webDriver -> condition.result());
+            if (WebConfig.eventDrivenWaits) {
+                awaitConditionOnMutation(condition);
+            }
+            else {
+                WebDriverWait webDriverWait = pollingStrategy.newWait(WebDriverProvider.getWebDriver(),
+                        Duration.ofSeconds(WebConfig.timeout));
+                webDriverWait.until((ExpectedCondition<Boolean>) webDriver -> condition.result());
+            }
         }
         catch (Exception exception) {
             LOG.error("Error while waiting :: {}: {}", exception.getClass().getSimpleName(),
@@ -420,6 +552,82 @@ public class WebCommander extends Commands {
             
             throw exception;
         }
+        finally {
+            StepRecorder.endWait(startNanos);
+            step.close();
+        }
+    }
+    
+    /**
+     * Evaluates each of the given {@link Condition}s as {@code check()} does, reading the page from a single
+     * {@link DomSnapshot} rather than from the browser for each Condition. Text, attribute, count, and presence
+     * Conditions are evaluated against the snapshot, and any other Condition, or any element the snapshot cannot
+     * read, is evaluated against the browser as usual. Elements are not waited for, so the page should be loaded.
+     *
+     * @param conditions The Conditions to be evaluated.
+     */
+    public void checkSnapshot(Condition... conditions) {
+        DomSnapshot domSnapshot = takeSnapshot(null);
+        try {
+            check(conditions);
+        }
+        finally {
+            domSnapshot.close();
+        }
+    }
+    
+    /**
+     * Evaluates each of the given {@link Condition}s as {@code check()} does, reading from a single
+     * {@link DomSnapshot} of the given container element. Only the elements of Locators defined within the container
+     * are read from the snapshot, and any other is read from the browser as usual.
+     *
+     * @param container The mapped container element.
+     * @param conditions The Conditions to be evaluated.
+     */
+    public void checkSnapshot(Locator container, Condition... conditions) {
+        DomSnapshot domSnapshot = takeSnapshot(container);
+        try {
+            check(conditions);
+        }
+        finally {
+            domSnapshot.close();
+        }
+    }
+    
+    /**
+     * Evaluates each of the given {@link Condition}s as {@code verify()} does, reading the page from a single
+     * {@link DomSnapshot} rather than from the browser for each Condition. Text, attribute, count, and presence
+     * Conditions are evaluated against the snapshot, and any other Condition, or any element the snapshot cannot
+     * read, is evaluated against the browser as usual. Elements are not waited for, so the page should be loaded.
+     *
+     * @param conditions The Conditions to be evaluated.
+     */
+    public void verifySnapshot(Condition... conditions) {
+        DomSnapshot domSnapshot = takeSnapshot(null);
+        try {
+            verify(conditions);
+        }
+        finally {
+            domSnapshot.close();
+        }
+    }
+    
+    /**
+     * Evaluates each of the given {@link Condition}s as {@code verify()} does, reading from a single
+     * {@link DomSnapshot} of the given container element. Only the elements of Locators defined within the container
+     * are read from the snapshot, and any other is read from the browser as usual.
+     *
+     * @param container The mapped container element.
+     * @param conditions The Conditions to be evaluated.
+     */
+    public void verifySnapshot(Locator container, Condition... conditions) {
+        DomSnapshot domSnapshot = takeSnapshot(container);
+        try {
+            verify(conditions);
+        }
+        finally {
+            domSnapshot.close();
+        }
     }
     
     /**
@@ -429,6 +637,77 @@ public class WebCommander extends Commands {
         screenshot.capture();
     }
     
+    private void setFields(List<Locator> locators, List<String> values) {
+        if (locators.isEmpty()) {
+            return;
+        }
+        
+        for (int i = 0; i < locators.size(); i++) {
+            LOG.info("Setting value [{}] of element [{}].", values.get(i), locators.get(i).getName());
+        }
+        
+        AtomicReference<List<String>> statuses = new AtomicReference<>();
+        WebDriverWait webDriverWait = WebConfig.pollingStrategy
+                .newWait(WebDriverProvider.getWebDriver(), Duration.ofSeconds(WebConfig.timeout));
+        webDriverWait.withMessage(() -> describeFields(locators, statuses.get()));
+        long startNanos = StepRecorder.beginWait();
+        
+        try {
+            webDriverWait.until((ExpectedCondition<Boolean>) webDriver -> {
+                statuses.set(ElementScripts.fillFields(locators, values));
+                
+                return statuses.get().stream().allMatch(Objects::isNull);
+            });
+        }
+        finally {
+            StepRecorder.endWait(startNanos);
+        }
+    }
+    
+    private String describeFields(List<Locator> locators, List<String> statuses) {
+        StringJoiner unready = new StringJoiner(", ", "Form fields not ready: ", "");
+        for (int i = 0; statuses != null && i < locators.size(); i++) {
+            if (statuses.get(i) != null) {
+                unready.add("[" + locators.get(i).getName() + "] " + statuses.get(i));
+            }
+        }
+        
+        return unready.toString();
+    }
+    
+    private DomSnapshot takeSnapshot(Locator container) {
+        String target = (container == null) ? null : container.getName();
+        StepRecorder.Step step = StepRecorder.start("takeSnapshot", target);
+        LOG.info("Taking a snapshot of [{}] for validation.", (target == null) ? "the page" : target);
+        try {
+            return DomSnapshot.capture(container);
+        }
+        catch (Exception exception) {
+            LOG.error("Error taking snapshot :: {}: {}", exception.getClass().getSimpleName(),
+                    exception.getMessage());
+            screenshot.capture();
+            
+            throw exception;
+        }
+        finally {
+            step.close();
+        }
+    }
+    
+    private void awaitConditionOnMutation(Condition condition) {
+        long deadline = System.currentTimeMillis() + Duration.ofSeconds(WebConfig.timeout).toMillis();
+        
+        while (!condition.result()) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                throw new TimeoutException("Expected condition failed: waiting for " + condition + " (tried for " +
+                        WebConfig.timeout + " second(s))");
+            }
+            
+            MutationWait.awaitMutation(Duration.ofMillis(Math.min(remaining, 1000)));
+        }
+    }
+    
     private String stringify(CharSequence... input) {
         StringJoiner joiner = new StringJoiner(", ");
         Arrays.stream(input).forEach(charSequence -> {
@@ -10,11 +10,12 @@ https://polyformproject.org/licenses/internal-use/1.0.0/
 package dev.qadenz.automation.commands;
 
 import dev.qadenz.automation.reporter.Screenshot;
+import dev.qadenz.automation.reporter.StepRecorder;
+import dev.qadenz.automation.ui.DomSnapshot;
+import dev.qadenz.automation.ui.ElementScripts;
 import dev.qadenz.automation.ui.Locator;
+import dev.qadenz.automation.ui.LocatorGroup;
 import dev.qadenz.automation.ui.WebFinder;
-import org.openqa.selenium.By;
-import org.openqa.selenium.Dimension;
-import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.Select;
 import org.slf4j.Logger;
@@ -28,8 +29,9 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
-import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Examines elements and retrieves values and information.
@@ -64,11 +66,10 @@ public class WebInspector {
      * @return The attribute value.
      */
     public String getAttributeOfElement(Locator locator, String attributeName) {
+        StepRecorder.Step step = StepRecorder.start("getAttributeOfElement", locator.getName());
         LOG.info("Retrieving attribute [{}] of element [{}].", attributeName, locator.getName());
         try {
-            WebElement webElement = webFinder.findWhenVisible(locator);
-            
-            return webElement.getAttribute(attributeName);
+            return readAttribute(locator, attributeName);
         }
         catch (Exception exception) {
             LOG.error("Error retrieving attribute :: {}: {}", exception.getClass().getSimpleName(),
@@ -77,6 +78,9 @@ public class WebInspector {
             
             throw exception;
         }
+        finally {
+            step.close();
+        }
     }
     
     /**
@@ -88,11 +92,10 @@ public class WebInspector {
      * @return The list of values.
      */
     public List<String> getAttributeOfElements(Locator locator, String attributeName) {
+        StepRecorder.Step step = StepRecorder.start("getAttributeOfElements", locator.getName());
         LOG.info("Retrieving attribute [{}] of elements [{}].", attributeName, locator.getName());
         try {
-            List<WebElement> webElements = webFinder.findAll(locator);
-            
-            return getAttributeValuesFromElements(webElements, attributeName);
+            return readAttributes(locator, attributeName);
         }
         catch (Exception exception) {
             LOG.error("Error retrieving attribute :: {}: {}", exception.getClass().getSimpleName(),
@@ -101,6 +104,9 @@ public class WebInspector {
             
             throw exception;
         }
+        finally {
+            step.close();
+        }
     }
     
     /**
@@ -111,11 +117,10 @@ public class WebInspector {
      * @return The instance count.
      */
     public int getCountOfElement(Locator locator) {
+        StepRecorder.Step step = StepRecorder.start("getCountOfElement", locator.getName());
         LOG.info("Retrieving count of element [{}].", locator.getName());
         try {
-            List<WebElement> webElements = webFinder.findAll(locator);
-            
-            return webElements.size();
+            return readCount(locator);
         }
         catch (Exception exception) {
             LOG.error("Error retrieving count :: {}: {}", exception.getClass().getSimpleName(), exception.getMessage());
@@ -123,6 +128,9 @@ public class WebInspector {
             
             throw exception;
         }
+        finally {
+            step.close();
+        }
     }
     
     /**
@@ -134,6 +142,7 @@ public class WebInspector {
      * @return The CSS property value.
      */
     public String getCssPropertyOfElement(Locator locator, String cssProperty) {
+        StepRecorder.Step step = StepRecorder.start("getCssPropertyOfElement", locator.getName());
         LOG.info("Retrieving CSS property [{}] of element [{}].", cssProperty, locator.getName());
         try {
             WebElement webElement = webFinder.findWhenVisible(locator);
@@ -147,6 +156,37 @@ public class WebInspector {
             
             throw exception;
         }
+        finally {
+            step.close();
+        }
+    }
+    
+    /**
+     * Retrieves the value of the given CSS property from each instance of an element on the DOM.
+     *
+     * @param locator The mapped UI element.
+     * @param cssProperty The name of the CSS Property to inspect.
+     *
+     * @return The list of values.
+     */
+    public List<String> getCssPropertyOfElements(Locator locator, String cssProperty) {
+        StepRecorder.Step step = StepRecorder.start("getCssPropertyOfElements", locator.getName());
+        LOG.info("Retrieving CSS property [{}] of elements [{}].", cssProperty, locator.getName());
+        try {
+            List<WebElement> webElements = webFinder.findAllWhenVisible(locator);
+            
+            return ElementScripts.getCssValues(webElements, cssProperty);
+        }
+        catch (Exception exception) {
+            LOG.error("Error retrieving CSS property :: {}: {}", exception.getClass().getSimpleName(),
+                    exception.getMessage());
+            screenshot.capture();
+            
+            throw exception;
+        }
+        finally {
+            step.close();
+        }
     }
     
     /**
@@ -157,11 +197,10 @@ public class WebInspector {
      * @return The text value.
      */
     public String getDirectTextOfElement(Locator locator) {
+        StepRecorder.Step step = StepRecorder.start("getDirectTextOfElement", locator.getName());
         LOG.info("Retrieving direct text of element [{}].", locator.getName());
         try {
-            WebElement webElement = webFinder.findWhenVisible(locator);
-            
-            return removeChildElementTextValues(webElement);
+            return readDirectText(locator);
         }
         catch (Exception exception) {
             LOG.error("Error retrieving text :: {}: {}", exception.getClass().getSimpleName(), exception.getMessage());
@@ -169,6 +208,9 @@ public class WebInspector {
             
             throw exception;
         }
+        finally {
+            step.close();
+        }
     }
     
     /**
@@ -180,16 +222,10 @@ public class WebInspector {
      * @return The list of values.
      */
     public List<String> getDirectTextOfElements(Locator locator) {
+        StepRecorder.Step step = StepRecorder.start("getDirectTextOfElements", locator.getName());
         LOG.info("Retrieving direct text of elements [{}].", locator.getName());
         try {
-            List<WebElement> webElements = webFinder.findAllWhenVisible(locator);
-            List<String> elementTexts = new ArrayList<>();
-            
-            for (WebElement webElement : webElements) {
-                elementTexts.add(removeChildElementTextValues(webElement));
-            }
-            
-            return elementTexts;
+            return readDirectTexts(locator);
         }
         catch (Exception exception) {
             LOG.error("Error retrieving text :: {}: {}", exception.getClass().getSimpleName(), exception.getMessage());
@@ -197,6 +233,9 @@ public class WebInspector {
             
             throw exception;
         }
+        finally {
+            step.close();
+        }
     }
     
     /**
@@ -209,10 +248,10 @@ public class WebInspector {
      * @return The formatted LocalDate representation of the element text.
      */
     public LocalDate getDirectTextOfElementAsDate(Locator locator, DateTimeFormatter dateTimeFormatter) {
+        StepRecorder.Step step = StepRecorder.start("getDirectTextOfElementAsDate", locator.getName());
         LOG.info("Retrieving direct text of element [{}] as LocalDate.", locator.getName());
         try {
-            WebElement webElement = webFinder.findWhenVisible(locator);
-            String elementText = removeChildElementTextValues(webElement);
+            String elementText = readDirectText(locator);
             
             return LocalDate.parse(elementText, dateTimeFormatter);
         }
@@ -229,6 +268,9 @@ public class WebInspector {
             
             throw exception;
         }
+        finally {
+            step.close();
+        }
     }
     
     /**
@@ -241,10 +283,10 @@ public class WebInspector {
      * @return The formatted LocalDateTime representation of the element text.
      */
     public LocalDateTime getDirectTextOfElementAsDateTime(Locator locator, DateTimeFormatter dateTimeFormatter) {
+        StepRecorder.Step step = StepRecorder.start("getDirectTextOfElementAsDateTime", locator.getName());
         LOG.info("Retrieving direct text of element [{}] as LocalDateTime.", locator.getName());
         try {
-            WebElement webElement = webFinder.findWhenVisible(locator);
-            String elementText = removeChildElementTextValues(webElement);
+            String elementText = readDirectText(locator);
             
             return LocalDateTime.parse(elementText, dateTimeFormatter);
         }
@@ -261,6 +303,9 @@ public class WebInspector {
             
             throw exception;
         }
+        finally {
+            step.close();
+        }
     }
     
     /**
@@ -273,10 +318,10 @@ public class WebInspector {
      * @return The formatted LocalTime representation of the element text.
      */
     public LocalTime getDirectTextOfElementAsTime(Locator locator, DateTimeFormatter dateTimeFormatter) {
+        StepRecorder.Step step = StepRecorder.start("getDirectTextOfElementAsTime", locator.getName());
         LOG.info("Retrieving direct text of element [{}] as LocalTime.", locator.getName());
         try {
-            WebElement webElement = webFinder.findWhenVisible(locator);
-            String elementText = removeChildElementTextValues(webElement);
+            String elementText = readDirectText(locator);
             
             return LocalTime.parse(elementText, dateTimeFormatter);
         }
@@ -293,6 +338,9 @@ public class WebInspector {
             
             throw exception;
         }
+        finally {
+            step.close();
+        }
     }
     
     /**
@@ -304,10 +352,10 @@ public class WebInspector {
      * @return The Double representation of the element text.
      */
     public Double getDirectTextOfElementAsDouble(Locator locator, NumberFormat numberFormat) {
+        StepRecorder.Step step = StepRecorder.start("getDirectTextOfElementAsDouble", locator.getName());
         LOG.info("Retrieving direct text of element [{}] as Double.", locator.getName());
         try {
-            WebElement webElement = webFinder.findWhenVisible(locator);
-            String elementText = removeChildElementTextValues(webElement);
+            String elementText = readDirectText(locator);
             
             return numberFormat.parse(elementText).doubleValue();
         }
@@ -324,6 +372,9 @@ public class WebInspector {
             
             throw exception;
         }
+        finally {
+            step.close();
+        }
     }
     
     /**
@@ -335,10 +386,10 @@ public class WebInspector {
      * @return The Integer representation of the element text.
      */
     public Integer getDirectTextOfElementAsInteger(Locator locator, NumberFormat numberFormat) {
+        StepRecorder.Step step = StepRecorder.start("getDirectTextOfElementAsInteger", locator.getName());
         LOG.info("Retrieving direct text of element [{}] as Integer.", locator.getName());
         try {
-            WebElement webElement = webFinder.findWhenVisible(locator);
-            String elementText = removeChildElementTextValues(webElement);
+            String elementText = readDirectText(locator);
             
             return numberFormat.parse(elementText).intValue();
         }
@@ -355,6 +406,9 @@ public class WebInspector {
             
             throw exception;
         }
+        finally {
+            step.close();
+        }
     }
     
     /**
@@ -365,6 +419,7 @@ public class WebInspector {
      * @return True if the element is enabled, false otherwise.
      */
     public boolean getEnabledStateOfElement(Locator locator) {
+        StepRecorder.Step step = StepRecorder.start("getEnabledStateOfElement", locator.getName());
         LOG.info("Retrieving the enabled state of element [{}].", locator.getName());
         try {
             WebElement webElement = webFinder.findWhenVisible(locator);
@@ -382,6 +437,9 @@ public class WebInspector {
             
             throw exception;
         }
+        finally {
+            step.close();
+        }
     }
     
     /**
@@ -394,6 +452,7 @@ public class WebInspector {
      * @return The element position.
      */
     public int getPositionOfElementWithAttribute(Locator locator, String attributeName, String expectedValue) {
+        StepRecorder.Step step = StepRecorder.start("getPositionOfElementWithAttribute", locator.getName());
         LOG.info("Finding position of element [{}] with attribute [{}] containing value [{}].",
                 locator.getName(), attributeName, expectedValue);
         
@@ -410,6 +469,9 @@ public class WebInspector {
             
             throw exception;
         }
+        finally {
+            step.close();
+        }
         
         return getIndexOfValue(attributeValues, expectedValue);
     }
@@ -423,6 +485,7 @@ public class WebInspector {
      * @return The element position.
      */
     public int getPositionOfElementWithText(Locator locator, String expectedText) {
+        StepRecorder.Step step = StepRecorder.start("getPositionOfElementWithText", locator.getName());
         LOG.info("Finding position of element [{}] with value [{}].", locator.getName(), expectedText);
         
         List<String> elementValues;
@@ -438,6 +501,9 @@ public class WebInspector {
             
             throw exception;
         }
+        finally {
+            step.close();
+        }
         
         return getIndexOfValue(elementValues, expectedText);
     }
@@ -450,6 +516,7 @@ public class WebInspector {
      * @return The text of the selected option.
      */
     public String getSelectedMenuOption(Locator locator) {
+        StepRecorder.Step step = StepRecorder.start("getSelectedMenuOption", locator.getName());
         LOG.info("Retrieving the currently selected option of element [{}].", locator.getName());
         try {
             WebElement webElement = webFinder.findWhenVisible(locator);
@@ -464,6 +531,9 @@ public class WebInspector {
             
             throw exception;
         }
+        finally {
+            step.close();
+        }
     }
     
     /**
@@ -474,13 +544,12 @@ public class WebInspector {
      * @return The list of selected options.
      */
     public List<String> getSelectedMenuOptions(Locator locator) {
+        StepRecorder.Step step = StepRecorder.start("getSelectedMenuOptions", locator.getName());
         LOG.info("Retrieving the currently selected options of element [{}].", locator.getName());
         try {
             WebElement webElement = webFinder.findWhenVisible(locator);
-            Select select = new Select(webElement);
-            List<WebElement> selectedOptions = select.getAllSelectedOptions();
             
-            return getTextValuesFromElements(selectedOptions);
+            return ElementScripts.getSelectedOptionTexts(webElement);
         }
         catch (Exception exception) {
             LOG.error("Error retrieving options :: {}: {}", exception.getClass().getSimpleName(),
@@ -489,6 +558,9 @@ public class WebInspector {
             
             throw exception;
         }
+        finally {
+            step.close();
+        }
     }
     
     /**
@@ -500,6 +572,7 @@ public class WebInspector {
      * @return True if the element is selected, false otherwise.
      */
     public boolean getSelectedStateOfElement(Locator locator) {
+        StepRecorder.Step step = StepRecorder.start("getSelectedStateOfElement", locator.getName());
         LOG.info("Retrieving the selected state of element [{}].", locator.getName());
         try {
             WebElement webElement = webFinder.findWhenVisible(locator);
@@ -517,6 +590,9 @@ public class WebInspector {
             
             throw exception;
         }
+        finally {
+            step.close();
+        }
     }
     
     /**
@@ -527,11 +603,10 @@ public class WebInspector {
      * @return The text value.
      */
     public String getTextOfElement(Locator locator) {
+        StepRecorder.Step step = StepRecorder.start("getTextOfElement", locator.getName());
         LOG.info("Retrieving text of element [{}].", locator.getName());
         try {
-            WebElement webElement = webFinder.findWhenVisible(locator);
-            
-            return webElement.getText();
+            return readText(locator);
         }
         catch (Exception exception) {
             LOG.error("Error retrieving text :: {}: {}", exception.getClass().getSimpleName(), exception.getMessage());
@@ -539,6 +614,9 @@ public class WebInspector {
             
             throw exception;
         }
+        finally {
+            step.close();
+        }
     }
     
     /**
@@ -550,10 +628,10 @@ public class WebInspector {
      * @return The formatted LocalDate representation of the element text.
      */
     public LocalDate getTextOfElementAsDate(Locator locator, DateTimeFormatter dateTimeFormatter) {
+        StepRecorder.Step step = StepRecorder.start("getTextOfElementAsDate", locator.getName());
         LOG.info("Retrieving text of element [{}] as LocalDate.", locator.getName());
         try {
-            WebElement webElement = webFinder.findWhenVisible(locator);
-            String elementText = webElement.getText();
+            String elementText = readText(locator);
             
             return LocalDate.parse(elementText, dateTimeFormatter);
         }
@@ -570,6 +648,9 @@ public class WebInspector {
             
             throw exception;
         }
+        finally {
+            step.close();
+        }
     }
     
     /**
@@ -581,10 +662,10 @@ public class WebInspector {
      * @return The formatted LocalDate representation of the element text.
      */
     public LocalDateTime getTextOfElementAsDateTime(Locator locator, DateTimeFormatter dateTimeFormatter) {
+        StepRecorder.Step step = StepRecorder.start("getTextOfElementAsDateTime", locator.getName());
         LOG.info("Retrieving text of element [{}] as LocalDateTime.", locator.getName());
         try {
-            WebElement webElement = webFinder.findWhenVisible(locator);
-            String elementText = webElement.getText();
+            String elementText = readText(locator);
             
             return LocalDateTime.parse(elementText, dateTimeFormatter);
         }
@@ -601,6 +682,9 @@ public class WebInspector {
             
             throw exception;
         }
+        finally {
+            step.close();
+        }
     }
     
     /**
@@ -612,10 +696,10 @@ public class WebInspector {
      * @return The formatted LocalDate representation of the element text.
      */
     public LocalTime getTextOfElementAsTime(Locator locator, DateTimeFormatter dateTimeFormatter) {
+        StepRecorder.Step step = StepRecorder.start("getTextOfElementAsTime", locator.getName());
         LOG.info("Retrieving text of element [{}] as LocalTime.", locator.getName());
         try {
-            WebElement webElement = webFinder.findWhenVisible(locator);
-            String elementText = webElement.getText();
+            String elementText = readText(locator);
             
             return LocalTime.parse(elementText, dateTimeFormatter);
         }
@@ -632,6 +716,9 @@ public class WebInspector {
             
             throw exception;
         }
+        finally {
+            step.close();
+        }
     }
     
     /**
@@ -643,10 +730,10 @@ public class WebInspector {
      * @return The Double representation of the element text.
      */
     public Double getTextOfElementAsDouble(Locator locator, NumberFormat numberFormat) {
+        StepRecorder.Step step = StepRecorder.start("getTextOfElementAsDouble", locator.getName());
         LOG.info("Retrieving text of element [{}] as Double.", locator.getName());
         try {
-            WebElement webElement = webFinder.findWhenVisible(locator);
-            String elementText = webElement.getText();
+            String elementText = readText(locator);
             
             return numberFormat.parse(elementText).doubleValue();
         }
@@ -663,6 +750,9 @@ public class WebInspector {
             
             throw exception;
         }
+        finally {
+            step.close();
+        }
     }
     
     /**
@@ -674,10 +764,10 @@ public class WebInspector {
      * @return The Integer representation of the element text.
      */
     public Integer getTextOfElementAsInteger(Locator locator, NumberFormat numberFormat) {
+        StepRecorder.Step step = StepRecorder.start("getTextOfElementAsInteger", locator.getName());
         LOG.info("Retrieving text of element [{}] as Integer.", locator.getName());
         try {
-            WebElement webElement = webFinder.findWhenVisible(locator);
-            String elementText = webElement.getText();
+            String elementText = readText(locator);
             
             return numberFormat.parse(elementText).intValue();
         }
@@ -694,6 +784,9 @@ public class WebInspector {
             
             throw exception;
         }
+        finally {
+            step.close();
+        }
     }
     
     /**
@@ -704,11 +797,10 @@ public class WebInspector {
      * @return The list of values.
      */
     public List<String> getTextOfElements(Locator locator) {
+        StepRecorder.Step step = StepRecorder.start("getTextOfElements", locator.getName());
         LOG.info("Retrieving text from elements [{}].", locator.getName());
         try {
-            List<WebElement> webElements = webFinder.findAllWhenVisible(locator);
-            
-            return getTextValuesFromElements(webElements);
+            return readTexts(locator);
         }
         catch (Exception exception) {
             LOG.error("Error retrieving text :: {}: {}", exception.getClass().getSimpleName(), exception.getMessage());
@@ -716,6 +808,9 @@ public class WebInspector {
             
             throw exception;
         }
+        finally {
+            step.close();
+        }
     }
     
     /**
@@ -726,13 +821,12 @@ public class WebInspector {
      * @return The list of values.
      */
     public List<String> getTextOfOptions(Locator locator) {
+        StepRecorder.Step step = StepRecorder.start("getTextOfOptions", locator.getName());
         LOG.info("Retrieving the options of element [{}].", locator.getName());
         try {
             WebElement webElement = webFinder.findWhenVisible(locator);
-            Select select = new Select(webElement);
-            List<WebElement> options = select.getOptions();
             
-            return getTextValuesFromElements(options);
+            return ElementScripts.getOptionTexts(webElement);
         }
         catch (Exception exception) {
             LOG.error("Error retrieving options :: {}: {}", exception.getClass().getSimpleName(),
@@ -741,6 +835,9 @@ public class WebInspector {
             
             throw exception;
         }
+        finally {
+            step.close();
+        }
     }
     
     /**
@@ -752,44 +849,45 @@ public class WebInspector {
      * @return True if the element is found to be visible, false otherwise.
      */
     public boolean getVisibilityOfElement(Locator locator) {
+        StepRecorder.Step step = StepRecorder.start("getVisibilityOfElement", locator.getName());
         LOG.info("Retrieving visible state of element [{}].", locator.getName());
         try {
-            List<WebElement> webElements = webFinder.findAll(locator);
-            boolean visible = (!webElements.isEmpty());
-            LOG.debug("Found [{}] instances - Visibility is [{}].", webElements.size(), visible);
-            
-            try {
-                if (visible) {
-                    Dimension dimension = webElements.get(0).getSize();
-                    visible = (dimension.getHeight() > 0 && dimension.getWidth() > 0);
-                    LOG.debug("Checked dimensions - Visibility is [{}].", visible);
-                }
-                
-                if (visible) {
-                    visible = (!webElements.get(0).getAttribute("style").contains("display: none;"));
-                    LOG.debug("Checked style for 'display: none;' - Visibility is [{}].", visible);
-                }
-                
-                if (visible) {
-                    visible = (!webElements.get(0).getAttribute("style").contains("visibility: hidden;"));
-                    LOG.debug("Checked style for 'visibility: hidden;' - Visibility is [{}].", visible);
-                }
-                
-                if (visible) {
-                    visible = (webElements.get(0).getAttribute("hidden") == null);
-                    LOG.debug("Checked for attribute 'hidden' - Visibility is [{}].", visible);
-                }
-                
-                if (visible) {
-                    visible = !checkAttributePair(webElements.get(0), locator.getHiddenByAttribute());
-                }
-            }
-            catch (StaleElementReferenceException e) {
-                visible = false;
-                LOG.debug("Element has gone stale - Visibility is [{}].", visible);
+            Map<String, Object> visibility = ElementScripts.getVisibility(List.of(locator)).get(0);
+            
+            return isVisible(visibility);
+        }
+        catch (Exception exception) {
+            LOG.error("Error retrieving state :: {}: {}", exception.getClass().getSimpleName(), exception.getMessage());
+            screenshot.capture();
+            
+            throw exception;
+        }
+        finally {
+            step.close();
+        }
+    }
+    
+    /**
+     * Determines whether each element in a group is visible, evaluating all elements together. An element is visible
+     * if it is present on the DOM, has a height and width greater than zero, and is not styled to be hidden.
+     *
+     * @param locatorGroup The mapped UI elements.
+     *
+     * @return A Map of each locator to true if the element is found to be visible, false otherwise.
+     */
+    public Map<Locator, Boolean> getVisibilityOfElements(LocatorGroup locatorGroup) {
+        StepRecorder.Step step = StepRecorder.start("getVisibilityOfElements", locatorGroup.getName());
+        LOG.info("Retrieving visible state of elements [{}].", locatorGroup.getName());
+        try {
+            List<Map<String, Object>> visibilities = ElementScripts.getVisibility(locatorGroup);
+            
+            Map<Locator, Boolean> visibleStates = new LinkedHashMap<>();
+            for (int i = 0; i < locatorGroup.size(); i++) {
+                LOG.debug("Checking element [{}].", locatorGroup.get(i).getName());
+                visibleStates.put(locatorGroup.get(i), isVisible(visibilities.get(i)));
             }
             
-            return visible;
+            return visibleStates;
         }
         catch (Exception exception) {
             LOG.error("Error retrieving state :: {}: {}", exception.getClass().getSimpleName(), exception.getMessage());
@@ -797,42 +895,85 @@ public class WebInspector {
             
             throw exception;
         }
+        finally {
+            step.close();
+        }
     }
     
-    private List<String> getAttributeValuesFromElements(List<WebElement> webElements, String attributeName) {
-        List<String> values = new ArrayList<>();
+    private String readText(Locator locator) {
+        DomSnapshot domSnapshot = DomSnapshot.getActive();
+        String text = (domSnapshot != null) ? domSnapshot.getText(locator) : null;
         
-        for (WebElement element : webElements) {
-            values.add(element.getAttribute(attributeName));
-        }
+        return (text != null) ? text : webFinder.findWhenVisible(locator).getText();
+    }
+    
+    private List<String> readTexts(Locator locator) {
+        DomSnapshot domSnapshot = DomSnapshot.getActive();
+        List<String> texts = (domSnapshot != null) ? domSnapshot.getTexts(locator) : null;
         
-        return values;
+        return (texts != null) ? texts : getTextValuesFromElements(webFinder.findAllWhenVisible(locator));
     }
     
-    private String removeChildElementTextValues(WebElement webElement) {
-        String elementText = webElement.getText();
-        List<String> childElementValues = getTextValuesFromElements(webElement.findElements(By.xpath("./*")));
-        for (String child : childElementValues) {
-            int lastIndex = elementText.lastIndexOf(child);
-            if (lastIndex != -1) {
-                String start = elementText.substring(0, lastIndex);
-                String end = elementText.substring(lastIndex + child.length());
-                
-                elementText = (start + end).trim();
-            }
+    private String readDirectText(Locator locator) {
+        DomSnapshot domSnapshot = DomSnapshot.getActive();
+        String text = (domSnapshot != null) ? domSnapshot.getDirectText(locator) : null;
+        
+        return (text != null) ? text : getDirectTextFromElement(webFinder.findWhenVisible(locator));
+    }
+    
+    private List<String> readDirectTexts(Locator locator) {
+        DomSnapshot domSnapshot = DomSnapshot.getActive();
+        List<String> texts = (domSnapshot != null) ? domSnapshot.getDirectTexts(locator) : null;
+        
+        return (texts != null) ? texts : ElementScripts.getDirectTextValues(webFinder.findAllWhenVisible(locator));
+    }
+    
+    private String readAttribute(Locator locator, String attributeName) {
+        DomSnapshot domSnapshot = DomSnapshot.getActive();
+        if (domSnapshot != null && domSnapshot.canReadAttribute(locator, attributeName)) {
+            return domSnapshot.getAttribute(locator, attributeName);
         }
         
-        return elementText;
+        return webFinder.findWhenVisible(locator).getAttribute(attributeName);
+    }
+    
+    private List<String> readAttributes(Locator locator, String attributeName) {
+        DomSnapshot domSnapshot = DomSnapshot.getActive();
+        List<String> values = (domSnapshot != null) ? domSnapshot.getAttributes(locator, attributeName) : null;
+        
+        return (values != null) ? values : ElementScripts.getAttributeValues(locator, attributeName);
+    }
+    
+    private int readCount(Locator locator) {
+        DomSnapshot domSnapshot = DomSnapshot.getActive();
+        Integer count = (domSnapshot != null) ? domSnapshot.getCount(locator) : null;
+        
+        return (count != null) ? count : webFinder.findAll(locator).size();
+    }
+    
+    private List<String> getAttributeValuesFromElements(List<WebElement> webElements, String attributeName) {
+        return ElementScripts.getAttributeValues(webElements, attributeName);
+    }
+    
+    private String getDirectTextFromElement(WebElement webElement) {
+        return ElementScripts.getDirectTextValues(List.of(webElement)).get(0);
     }
     
     private List<String> getTextValuesFromElements(List<WebElement> webElements) {
-        List<String> values = new ArrayList<>();
+        return ElementScripts.getTextValues(webElements);
+    }
+    
+    private boolean isVisible(Map<String, Object> visibility) {
+        long count = (Long) visibility.get("count");
+        String hiddenBy = (String) visibility.get("hiddenBy");
         
-        for (WebElement element : webElements) {
-            values.add(element.getText());
+        boolean visible = (hiddenBy == null);
+        LOG.debug("Found [{}] instances - Visibility is [{}].", count, count > 0);
+        if (count > 0 && hiddenBy != null) {
+            LOG.debug("Checked [{}] - Visibility is [{}].", hiddenBy, visible);
         }
         
-        return values;
+        return visible;
     }
     
     private int getIndexOfValue(List<String> elementValues, String expectedText) {
@@ -11,6 +11,7 @@ package dev.qadenz.automation.conditions.impl;
 
 import dev.qadenz.automation.conditions.Condition;
 import dev.qadenz.automation.expectations.Expectation;
+import dev.qadenz.automation.ui.DomSnapshot;
 import dev.qadenz.automation.ui.Locator;
 import dev.qadenz.automation.ui.WebFinder;
 
@@ -34,8 +35,15 @@ public class PresenceOfElement implements Condition {
     
     @Override
     public Boolean result() {
-        WebFinder webFinder = new WebFinder();
-        present = !webFinder.findAll(locator).isEmpty();
+        DomSnapshot domSnapshot = DomSnapshot.getActive();
+        Integer count = (domSnapshot != null) ? domSnapshot.getCount(locator) : null;
+        if (count != null) {
+            present = count > 0;
+        }
+        else {
+            WebFinder webFinder = new WebFinder();
+            present = !webFinder.findAll(locator).isEmpty();
+        }
         
         return expectation.matcher().matches(present);
     }
@@ -11,9 +11,15 @@ package dev.qadenz.automation.conditions.impl;
 
 import dev.qadenz.automation.conditions.Condition;
 import dev.qadenz.automation.expectations.Expectation;
+import dev.qadenz.automation.ui.DomSnapshot;
 import dev.qadenz.automation.ui.Locator;
 import dev.qadenz.automation.ui.LocatorGroup;
 import dev.qadenz.automation.ui.WebFinder;
+import org.openqa.selenium.WebElement;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * A Condition for evaluating whether a group of elements is present on the DOM, regardless of if the elements are
@@ -36,10 +42,10 @@ public class PresenceOfElements implements Condition {
     @Override
     public Boolean result() {
         Boolean match = null;
-        WebFinder webFinder = new WebFinder();
+        Map<Locator, Boolean> presence = readPresence();
         
         for (Locator locator : locatorGroup) {
-            boolean present = !webFinder.findAll(locator).isEmpty();
+            boolean present = presence.get(locator);
             boolean instanceMatch = expectation.matcher().matches(present);
             
             if (!instanceMatch) {
@@ -58,6 +64,29 @@ public class PresenceOfElements implements Condition {
         return match;
     }
     
+    private Map<Locator, Boolean> readPresence() {
+        Map<Locator, Boolean> presence = new HashMap<>();
+        DomSnapshot domSnapshot = DomSnapshot.getActive();
+        if (domSnapshot != null) {
+            for (Locator locator : locatorGroup) {
+                Integer count = domSnapshot.getCount(locator);
+                if (count == null) {
+                    presence.clear();
+                    break;
+                }
+                presence.put(locator, count > 0);
+            }
+        }
+        
+        if (presence.isEmpty()) {
+            WebFinder webFinder = new WebFinder();
+            Map<Locator, List<WebElement>> elements = webFinder.findAll(locatorGroup);
+            elements.forEach((locator, webElements) -> presence.put(locator, !webElements.isEmpty()));
+        }
+        
+        return presence;
+    }
+    
     @Override
     public String actual() {
         return "Discrepancies: \n" + failures.toString();
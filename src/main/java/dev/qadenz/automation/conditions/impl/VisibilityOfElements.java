@@ -16,6 +16,8 @@ import dev.qadenz.automation.expectations.Expectation;
 import dev.qadenz.automation.ui.Locator;
 import dev.qadenz.automation.ui.LocatorGroup;
 
+import java.util.Map;
+
 /**
  * A Condition to evaluate the visibility of a group of elements. An element determined to be visible is present on the
  * DOM, has a height and width greater than zero, and is not styled to be hidden.
@@ -38,9 +40,10 @@ public class VisibilityOfElements implements Condition {
     public Boolean result() {
         Boolean match = null;
         WebInspector webInspector = new WebInspector(Conditions.class);
+        Map<Locator, Boolean> visibleStates = webInspector.getVisibilityOfElements(locatorGroup);
         
         for (Locator locator : locatorGroup) {
-            boolean visible = webInspector.getVisibilityOfElement(locator);
+            boolean visible = visibleStates.get(locator);
             boolean instanceMatch = expectation.matcher().matches(visible);
             
             if (!instanceMatch) {
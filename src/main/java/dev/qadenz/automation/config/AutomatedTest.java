@@ -9,12 +9,17 @@ https://polyformproject.org/licenses/internal-use/1.0.0/
  */
 package dev.qadenz.automation.config;
 
+import dev.qadenz.automation.reporter.ResultJournal;
+import dev.qadenz.automation.reporter.ScreenshotProcessor;
+import dev.qadenz.automation.reporter.ScreenshotStoreProvider;
 import dev.qadenz.automation.reporter.TestReporter;
+import org.testng.ITestContext;
 import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeSuite;
 import org.testng.annotations.Listeners;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 /**
  * The top-level class for all test classes. The AutomatedTest manages configurations that are independent of any type
@@ -22,7 +27,7 @@ import java.time.LocalDateTime;
  *
  * @author Tim Slifer
  */
-@Listeners({TestReporter.class})
+@Listeners({ResultJournal.class, TestReporter.class})
 public class AutomatedTest {
     
     /**
@@ -33,6 +38,34 @@ public class AutomatedTest {
         WebConfig.suiteStartDate = LocalDateTime.now();
     }
     
+    /**
+     * Prior to the Suite, reads the screenshot parameters given at the {@code <suite>} level, and configures the
+     * {@link ScreenshotStoreProvider}, the {@link ScreenshotProcessor}, and the output of screenshots on the report.
+     *
+     * @param testContext The injected {@link ITestContext}.
+     */
+    @BeforeSuite(alwaysRun = true)
+    public void configureScreenshots(ITestContext testContext) {
+        Map<String, String> xmlParameters = testContext.getSuite().getXmlSuite().getParameters();
+        XmlParameterValidator xmlParameterValidator = new XmlParameterValidator(xmlParameters);
+        
+        ScreenshotStoreProvider.setScreenshotStore(
+                xmlParameterValidator.validateScreenshotStore(testContext.getSuite().getOutputDirectory()));
+        ScreenshotProcessor.getInstance().setPolicy(xmlParameterValidator.validateScreenshotPolicy());
+        WebConfig.screenshotOutput = xmlParameterValidator.validateScreenshotOutput();
+    }
+    
+    /**
+     * Prior to the Suite, reads the run history parameters given at the {@code <suite>} level.
+     *
+     * @param testContext The injected {@link ITestContext}.
+     */
+    @BeforeSuite(alwaysRun = true)
+    public void configureRunHistory(ITestContext testContext) {
+        Map<String, String> xmlParameters = testContext.getSuite().getXmlSuite().getParameters();
+        WebConfig.runHistory = new XmlParameterValidator(xmlParameters).validateRunHistory();
+    }
+    
     /**
      * Captures the date/time when the Suite is completed.
      */
@@ -11,12 +11,14 @@ package dev.qadenz.automation.config;
 
 import dev.qadenz.automation.commands.Assertions;
 import dev.qadenz.automation.logs.Loggers;
+import dev.qadenz.automation.reporter.Screenshot;
 import org.openqa.selenium.Capabilities;
 import org.openqa.selenium.remote.RemoteWebDriver;
 import org.slf4j.Logger;
 import org.testng.ITestContext;
 import org.testng.ITestResult;
 import org.testng.annotations.AfterMethod;
+import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.BeforeTest;
 
@@ -54,8 +56,15 @@ public class AutomatedWebTest extends AutomatedTest {
         WebConfig.browserConfigProfile = xmlParameterValidator.validateBrowserConfigProfile();
         WebConfig.platform = xmlParameterValidator.validatePlatform();
         WebConfig.timeout = xmlParameterValidator.validateTimeout();
+        WebConfig.pollingStrategy = xmlParameterValidator.validatePollingStrategy();
         WebConfig.appUrl = xmlParameterValidator.validateAppUrl();
         WebConfig.retryInterceptedClicks = xmlParameterValidator.validateRetryInterceptedClicks();
+        WebConfig.eventDrivenWaits = xmlParameterValidator.validateEventDrivenWaits();
+        WebConfig.screenshotMode = xmlParameterValidator.validateScreenshotMode();
+        WebConfig.sessionPooling = xmlParameterValidator.validateSessionPooling();
+        WebConfig.sessionPoolMaxUses = xmlParameterValidator.validateSessionPoolMaxUses();
+        WebConfig.commandAccounting = xmlParameterValidator.validateCommandAccounting();
+        WebConfig.elementCache = xmlParameterValidator.validateElementCache();
     }
     
     /**
@@ -74,11 +83,17 @@ public class AutomatedWebTest extends AutomatedTest {
         }
         
         Assertions.init();
+        Screenshot.reset();
         Capabilities capabilities = CapabilityProvider.getBrowserOptions();
         
         try {
-            WebDriverProvider.setWebDriver(
-                    new RemoteWebDriver(new URL("http://" + WebConfig.gridHost + ":4444/wd/hub"), capabilities));
+            URL gridUrl = new URL("http://" + WebConfig.gridHost + ":4444/wd/hub");
+            if (WebConfig.sessionPooling) {
+                WebDriverProvider.setWebDriver(WebDriverPool.acquire(gridUrl, capabilities));
+            }
+            else {
+                WebDriverProvider.setWebDriver(WebDriverProvider.createWebDriver(gridUrl, capabilities));
+            }
         }
         catch (MalformedURLException exception) {
             LOG.error("Grid URL is invalid.");
@@ -101,11 +116,26 @@ public class AutomatedWebTest extends AutomatedTest {
     }
     
     /**
-     * Concludes the test by stopping the WebDriver instance.
+     * Concludes the test by stopping the WebDriver instance, or returning it to the pool when session pooling is
+     * enabled.
      */
     @AfterMethod(alwaysRun = true)
     public void stopWebDriver() {
-        LOG.info("Stopping the WebDriver.");
-        WebDriverProvider.getWebDriver().quit();
+        if (WebConfig.sessionPooling) {
+            LOG.info("Returning the WebDriver to the pool.");
+            WebDriverPool.release(WebDriverProvider.getWebDriver());
+        }
+        else {
+            LOG.info("Stopping the WebDriver.");
+            WebDriverProvider.quitWebDriver(WebDriverProvider.getWebDriver());
+        }
+    }
+    
+    /**
+     * Stops any WebDriver sessions remaining in the pool once the Suite is completed.
+     */
+    @AfterSuite(alwaysRun = true)
+    public void stopPooledWebDrivers() {
+        WebDriverPool.shutdown();
     }
 }
@@ -0,0 +1,47 @@
+/*
+Copyright Tim Slifer
+
+Licensed under the PolyForm Internal Use License, Version 1.0.0 (the "License");
+you may not use this file except in compliance with the License.
+A copy of the License may be obtained at
+
+https://polyformproject.org/licenses/internal-use/1.0.0/
+ */
+package dev.qadenz.automation.config;
+
+import dev.qadenz.automation.reporter.CommandRecorder;
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.CommandExecutor;
+import org.openqa.selenium.remote.Response;
+
+import java.io.IOException;
+
+/**
+ * Sends WebDriver commands through another {@link CommandExecutor}, recording the type and duration of each one with
+ * the {@link CommandRecorder}.
+ *
+ * @author Tim Slifer
+ */
+public class InstrumentedCommandExecutor implements CommandExecutor {
+    
+    private final CommandExecutor commandExecutor;
+    
+    /**
+     * @param commandExecutor The executor commands are sent through.
+     */
+    public InstrumentedCommandExecutor(CommandExecutor commandExecutor) {
+        this.commandExecutor = commandExecutor;
+        CommandRecorder.enable();
+    }
+    
+    @Override
+    public Response execute(Command command) throws IOException {
+        long startNanos = System.nanoTime();
+        try {
+            return commandExecutor.execute(command);
+        }
+        finally {
+            CommandRecorder.record(command.getName(), System.nanoTime() - startNanos);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+/*
+Copyright Tim Slifer
+
+Licensed under the PolyForm Internal Use License, Version 1.0.0 (the "License");
+you may not use this file except in compliance with the License.
+A copy of the License may be obtained at
+
+https://polyformproject.org/licenses/internal-use/1.0.0/
+ */
+package dev.qadenz.automation.config;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.Sleeper;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Determines how often a wait re-evaluates its condition. A strategy may poll at a fixed interval, back off
+ * exponentially up to a maximum interval, or poll quickly for a short period before settling into a slower interval, so
+ * that quick checks return promptly while long waits do not flood the Grid with commands.
+ *
+ * @author Tim Slifer
+ */
+public class PollingStrategy {
+    
+    private Type type;
+    private Duration interval;
+    private Duration maxInterval;
+    private double multiplier;
+    private Duration fastPeriod;
+    
+    /**
+     * The available polling behaviours.
+     */
+    public enum Type {
+        FIXED("fixed"),
+        EXPONENTIAL("exponential"),
+        FAST_THEN_SLOW("fastThenSlow");
+        
+        private String name;
+        
+        Type(String name) {
+            this.name = name;
+        }
+        
+        public String getName() {
+            return name;
+        }
+        
+        /**
+         * Finds the Type matching the given name, ignoring case.
+         *
+         * @param name The name of the polling type.
+         *
+         * @return The matching Type.
+         *
+         * @throws IllegalArgumentException if no Type matches the given name.
+         */
+        public static Type fromString(String name) {
+            for (Type type : values()) {
+                if (type.getName().equalsIgnoreCase(name)) {
+                    return type;
+                }
+            }
+            
+            throw new IllegalArgumentException("Unrecognized Polling Strategy [" + name + "].");
+        }
+    }
+    
+    private PollingStrategy(Type type, Duration interval, Duration maxInterval, double multiplier,
+            Duration fastPeriod) {
+        this.type = type;
+        this.interval = interval;
+        this.maxInterval = maxInterval;
+        this.multiplier = multiplier;
+        this.fastPeriod = fastPeriod;
+    }
+    
+    /**
+     * Polls at the same interval for the duration of the wait.
+     *
+     * @param interval The time between evaluations.
+     *
+     * @return A fixed PollingStrategy.
+     */
+    public static PollingStrategy fixed(Duration interval) {
+        return new PollingStrategy(Type.FIXED, interval, interval, 1, Duration.ZERO);
+    }
+    
+    /**
+     * Polls at an interval that grows by the given multiplier after each evaluation, up to a maximum interval.
+     *
+     * @param initialInterval The time before the second evaluation.
+     * @param multiplier The factor applied to the interval after each evaluation.
+     * @param maxInterval The longest time between evaluations.
+     *
+     * @return An exponential PollingStrategy.
+     */
+    public static PollingStrategy exponential(Duration initialInterval, double multiplier, Duration maxInterval) {
+        return new PollingStrategy(Type.EXPONENTIAL, initialInterval, maxInterval, multiplier, Duration.ZERO);
+    }
+    
+    /**
+     * Polls at a short interval until the given period has elapsed, and at a longer interval thereafter.
+     *
+     * @param fastInterval The time between evaluations early in the wait.
+     * @param fastPeriod The length of the early part of the wait.
+     * @param slowInterval The time between evaluations for the remainder of the wait.
+     *
+     * @return A fast-then-slow PollingStrategy.
+     */
+    public static PollingStrategy fastThenSlow(Duration fastInterval, Duration fastPeriod, Duration slowInterval) {
+        return new PollingStrategy(Type.FAST_THEN_SLOW, fastInterval, slowInterval, 1, fastPeriod);
+    }
+    
+    public Type getType() {
+        return type;
+    }
+    
+    /**
+     * Calculates the time to sleep before the next evaluation of a condition.
+     *
+     * @param attempt The number of evaluations made so far, less one.
+     * @param elapsed The time since the wait began.
+     *
+     * @return The time to sleep.
+     */
+    public Duration getInterval(int attempt, Duration elapsed) {
+        switch (type) {
+            case EXPONENTIAL:
+                double millis = interval.toMillis() * Math.pow(multiplier, attempt);
+            
+                return (millis >= maxInterval.toMillis()) ? maxInterval : Duration.ofMillis((long) millis);
+            case FAST_THEN_SLOW:
+                return (elapsed.compareTo(fastPeriod) < 0) ? interval : maxInterval;
+            default:
+                return interval;
+        }
+    }
+    
+    /**
+     * Creates a WebDriverWait that polls according to this strategy. The sleep before each evaluation is never longer
+     * than the time remaining on the wait.
+     *
+     * @param webDriver The WebDriver session.
+     * @param timeout The maximum amount of time to wait.
+     *
+     * @return A WebDriverWait.
+     */
+    public WebDriverWait newWait(WebDriver webDriver, Duration timeout) {
+        return new WebDriverWait(webDriver, timeout, interval, Clock.systemDefaultZone(), newSleeper(timeout));
+    }
+    
+    private Sleeper newSleeper(Duration timeout) {
+        long start = System.currentTimeMillis();
+        int[] attempts = {0};
+        
+        return ignored -> {
+            Duration elapsed = Duration.ofMillis(System.currentTimeMillis() - start);
+            Duration next = getInterval(attempts[0]++, elapsed);
+            Duration remaining = timeout.minus(elapsed);
+            if (remaining.isNegative()) {
+                remaining = Duration.ZERO;
+            }
+            
+            Sleeper.SYSTEM_SLEEPER.sleep((next.compareTo(remaining) > 0) ? remaining : next);
+        };
+    }
+    
+    @Override
+    public String toString() {
+        switch (type) {
+            case EXPONENTIAL:
+                return type.getName() + " from " + interval.toMillis() + "ms, x" + multiplier + ", up to " +
+                        maxInterval.toMillis() + "ms";
+            case FAST_THEN_SLOW:
+                return type.getName() + " at " + interval.toMillis() + "ms for " + fastPeriod.toMillis() +
+                        "ms, then " + maxInterval.toMillis() + "ms";
+            default:
+                return type.getName() + " at " + interval.toMillis() + "ms";
+        }
+    }
+}
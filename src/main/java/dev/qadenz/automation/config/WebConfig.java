@@ -9,8 +9,12 @@ https://polyformproject.org/licenses/internal-use/1.0.0/
  */
 package dev.qadenz.automation.config;
 
+import dev.qadenz.automation.reporter.RunHistory;
+import dev.qadenz.automation.reporter.ScreenshotMode;
+import dev.qadenz.automation.reporter.ScreenshotOutput;
 import org.openqa.selenium.Platform;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 
 /**
@@ -31,5 +35,14 @@ public class WebConfig {
     public static String applicationName;
     public static String appUrl;
     public static int timeout;
+    public static PollingStrategy pollingStrategy = PollingStrategy.fixed(Duration.ofMillis(500));
     public static boolean retryInterceptedClicks;
+    public static boolean eventDrivenWaits;
+    public static ScreenshotMode screenshotMode = ScreenshotMode.EACH;
+    public static ScreenshotOutput screenshotOutput = ScreenshotOutput.EMBEDDED;
+    public static boolean sessionPooling;
+    public static int sessionPoolMaxUses;
+    public static boolean commandAccounting;
+    public static boolean elementCache;
+    public static RunHistory runHistory;
 }
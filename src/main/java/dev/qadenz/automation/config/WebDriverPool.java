@@ -0,0 +1,213 @@
+/*
+Copyright Tim Slifer
+
+Licensed under the PolyForm Internal Use License, Version 1.0.0 (the "License");
+you may not use this file except in compliance with the License.
+A copy of the License may be obtained at
+
+https://polyformproject.org/licenses/internal-use/1.0.0/
+ */
+package dev.qadenz.automation.config;
+
+import dev.qadenz.automation.logs.Loggers;
+import dev.qadenz.automation.ui.ElementCache;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.slf4j.Logger;
+
+import java.net.URL;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Holds idle {@link RemoteWebDriver} sessions for reuse between test methods, keyed by the Grid URL and the requested
+ * capabilities. A session is checked for health before being handed out, and is reset to a clean state when returned.
+ * Sessions that fail either step, or have reached the maximum number of uses, are quit and evicted from the pool.
+ *
+ * @author Tim Slifer
+ */
+public class WebDriverPool {
+    
+    private static final Logger LOG = Loggers.getSuiteLogger();
+    
+    private static final String CLEAR_STORAGE_SCRIPT = "try { window.localStorage.clear(); } catch (e) {}" +
+            "try { window.sessionStorage.clear(); } catch (e) {}";
+    
+    private static final Map<String, Deque<RemoteWebDriver>> idleSessions = new HashMap<>();
+    private static final Map<WebDriver, String> sessionKeys = new IdentityHashMap<>();
+    private static final Map<WebDriver, Integer> sessionUses = new IdentityHashMap<>();
+    
+    private WebDriverPool() {
+        // Utility
+    }
+    
+    /**
+     * Retrieves a healthy idle session matching the given Grid URL and capabilities, or starts a new session if none is
+     * available.
+     *
+     * @param gridUrl The URL of the Selenium Grid.
+     * @param capabilities The requested capabilities.
+     *
+     * @return A WebDriver session.
+     */
+    public static RemoteWebDriver acquire(URL gridUrl, Capabilities capabilities) {
+        String key = getKey(gridUrl, capabilities);
+        
+        RemoteWebDriver webDriver;
+        while ((webDriver = pollIdle(key)) != null) {
+            if (isHealthy(webDriver)) {
+                LOG.info("Reusing pooled WebDriver session [{}].", webDriver.getSessionId());
+                markUsed(webDriver);
+                
+                return webDriver;
+            }
+            
+            LOG.info("Evicting unresponsive WebDriver session [{}].", webDriver.getSessionId());
+            evict(webDriver);
+        }
+        
+        webDriver = WebDriverProvider.createWebDriver(gridUrl, capabilities);
+        LOG.info("Started WebDriver session [{}] for the pool.", webDriver.getSessionId());
+        synchronized (WebDriverPool.class) {
+            sessionKeys.put(webDriver, key);
+        }
+        markUsed(webDriver);
+        
+        return webDriver;
+    }
+    
+    /**
+     * Returns a session to the pool. Extra windows are closed, and cookies and web storage are cleared. WebDriver can
+     * only clear these for the domain of the page left open, so cookies and storage of any other domain the test
+     * visited survive into the session's next use. If the session cannot be reset, or has reached the maximum number
+     * of uses, it is quit instead.
+     *
+     * @param webDriver The WebDriver session.
+     */
+    public static void release(WebDriver webDriver) {
+        String key;
+        int uses;
+        synchronized (WebDriverPool.class) {
+            key = sessionKeys.get(webDriver);
+            uses = sessionUses.getOrDefault(webDriver, 0);
+        }
+        
+        if (key == null) {
+            WebDriverProvider.quitWebDriver(webDriver);
+            
+            return;
+        }
+        
+        if (WebConfig.sessionPoolMaxUses > 0 && uses >= WebConfig.sessionPoolMaxUses) {
+            LOG.info("WebDriver session has been used [{}] times, evicting.", uses);
+            evict(webDriver);
+            
+            return;
+        }
+        
+        try {
+            reset(webDriver);
+        }
+        catch (Exception exception) {
+            LOG.info("Could not reset WebDriver session, evicting :: {}: {}", exception.getClass().getSimpleName(),
+                    exception.getMessage());
+            evict(webDriver);
+            
+            return;
+        }
+        
+        synchronized (WebDriverPool.class) {
+            idleSessions.computeIfAbsent(key, k -> new ArrayDeque<>()).push((RemoteWebDriver) webDriver);
+        }
+    }
+    
+    /**
+     * Quits every idle session held by the pool.
+     */
+    public static void shutdown() {
+        List<RemoteWebDriver> webDrivers = new ArrayList<>();
+        synchronized (WebDriverPool.class) {
+            idleSessions.values().forEach(webDrivers::addAll);
+            idleSessions.clear();
+        }
+        
+        if (!webDrivers.isEmpty()) {
+            LOG.info("Stopping [{}] pooled WebDriver session(s).", webDrivers.size());
+        }
+        webDrivers.forEach(WebDriverPool::evict);
+    }
+    
+    private static synchronized RemoteWebDriver pollIdle(String key) {
+        Deque<RemoteWebDriver> sessions = idleSessions.get(key);
+        
+        return (sessions == null) ? null : sessions.poll();
+    }
+    
+    private static synchronized void markUsed(WebDriver webDriver) {
+        sessionUses.merge(webDriver, 1, Integer::sum);
+    }
+    
+    private static boolean isHealthy(WebDriver webDriver) {
+        try {
+            webDriver.getWindowHandles();
+            webDriver.getCurrentUrl();
+            
+            return true;
+        }
+        catch (Exception exception) {
+            return false;
+        }
+    }
+    
+    private static void reset(WebDriver webDriver) {
+        ElementCache.discard(webDriver);
+        
+        try {
+            webDriver.switchTo().alert().dismiss();
+        }
+        catch (NoAlertPresentException exception) {
+            // Nothing to dismiss.
+        }
+        
+        Set<String> windowHandles = webDriver.getWindowHandles();
+        String primaryHandle = windowHandles.iterator().next();
+        for (String windowHandle : windowHandles) {
+            if (!windowHandle.equals(primaryHandle)) {
+                webDriver.switchTo().window(windowHandle).close();
+            }
+        }
+        webDriver.switchTo().window(primaryHandle);
+        
+        // Cleared on the page left open by the test, before the next test's navigation can send the cookies.
+        webDriver.manage().deleteAllCookies();
+        ((JavascriptExecutor) webDriver).executeScript(CLEAR_STORAGE_SCRIPT);
+    }
+    
+    private static void evict(WebDriver webDriver) {
+        synchronized (WebDriverPool.class) {
+            sessionKeys.remove(webDriver);
+            sessionUses.remove(webDriver);
+        }
+        
+        try {
+            WebDriverProvider.quitWebDriver(webDriver);
+        }
+        catch (Exception exception) {
+            LOG.debug("Error quitting evicted WebDriver session :: {}", exception.getMessage());
+        }
+    }
+    
+    private static String getKey(URL gridUrl, Capabilities capabilities) {
+        return gridUrl + " " + new TreeMap<>(capabilities.asMap());
+    }
+}
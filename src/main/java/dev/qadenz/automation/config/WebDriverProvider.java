@@ -9,7 +9,14 @@ https://polyformproject.org/licenses/internal-use/1.0.0/
  */
 package dev.qadenz.automation.config;
 
+import dev.qadenz.automation.ui.ElementCache;
+import dev.qadenz.automation.ui.SizzleSession;
+import org.openqa.selenium.Capabilities;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.HttpCommandExecutor;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.net.URL;
 
 /**
  * Provides a centralized location for accessibility to the {@link WebDriver}.
@@ -27,4 +34,33 @@ public class WebDriverProvider {
     public static WebDriver getWebDriver() {
         return driver.get();
     }
+    
+    /**
+     * Starts a new {@link RemoteWebDriver} session on the Selenium Grid. When command accounting is enabled, the
+     * session sends its commands through an {@link InstrumentedCommandExecutor}, so that every command sent to the
+     * Grid is counted and timed, including those sent from within element lookups.
+     *
+     * @param gridUrl The URL of the Selenium Grid.
+     * @param capabilities The requested capabilities.
+     *
+     * @return The new WebDriver session.
+     */
+    public static RemoteWebDriver createWebDriver(URL gridUrl, Capabilities capabilities) {
+        if (!WebConfig.commandAccounting) {
+            return new RemoteWebDriver(gridUrl, capabilities);
+        }
+        
+        return new RemoteWebDriver(new InstrumentedCommandExecutor(new HttpCommandExecutor(gridUrl)), capabilities);
+    }
+    
+    /**
+     * Quits a WebDriver session, first discarding the state tracked for it by this library.
+     *
+     * @param webDriver The WebDriver session.
+     */
+    public static void quitWebDriver(WebDriver webDriver) {
+        ElementCache.discard(webDriver);
+        SizzleSession.discard(webDriver);
+        webDriver.quit();
+    }
 }
@@ -10,10 +10,24 @@ https://polyformproject.org/licenses/internal-use/1.0.0/
 package dev.qadenz.automation.config;
 
 import dev.qadenz.automation.logs.Loggers;
+import dev.qadenz.automation.reporter.DiskScreenshotStore;
+import dev.qadenz.automation.reporter.MemoryScreenshotStore;
+import dev.qadenz.automation.reporter.ResultJournal;
+import dev.qadenz.automation.reporter.RunHistory;
+import dev.qadenz.automation.reporter.ScreenshotMode;
+import dev.qadenz.automation.reporter.ScreenshotOutput;
+import dev.qadenz.automation.reporter.ScreenshotPolicy;
+import dev.qadenz.automation.reporter.ScreenshotStore;
+import org.apache.commons.io.FileUtils;
 import org.openqa.selenium.Platform;
 import org.openqa.selenium.WebDriverException;
 import org.slf4j.Logger;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.Map;
 
 /**
@@ -166,6 +180,55 @@ public class XmlParameterValidator {
         }
     }
     
+    /**
+     * Reads the {@code pollingStrategy} parameter, along with the {@code pollingInterval}, {@code pollingMaxInterval}
+     * and {@code pollingFastPeriod} parameters in milliseconds, and builds the PollingStrategy used by all waits. If no
+     * strategy is given, a fixed interval of 500 milliseconds is used. Each duration must be positive, and the maximum
+     * interval may not be shorter than the interval.
+     *
+     * @return The PollingStrategy.
+     */
+    public PollingStrategy validatePollingStrategy() {
+        PollingStrategy.Type type = PollingStrategy.Type.FIXED;
+        if (xmlParameters.containsKey("pollingStrategy")) {
+            String xmlPollingStrategy = xmlParameters.get("pollingStrategy");
+            try {
+                type = PollingStrategy.Type.fromString(xmlPollingStrategy);
+            }
+            catch (IllegalArgumentException e) {
+                LOG.error(e.getMessage());
+                
+                throw e;
+            }
+        }
+        
+        Duration interval = getMillis("pollingInterval", 500);
+        Duration maxInterval = getMillis("pollingMaxInterval", 2000);
+        Duration fastPeriod = getMillis("pollingFastPeriod", 2000);
+        
+        if (type != PollingStrategy.Type.FIXED && maxInterval.compareTo(interval) < 0) {
+            String message = "Polling Max Interval must be at least the Polling Interval.";
+            LOG.error(message);
+            
+            throw new IllegalArgumentException(message);
+        }
+        
+        PollingStrategy pollingStrategy;
+        switch (type) {
+            case EXPONENTIAL:
+                pollingStrategy = PollingStrategy.exponential(interval, 2, maxInterval);
+                break;
+            case FAST_THEN_SLOW:
+                pollingStrategy = PollingStrategy.fastThenSlow(interval, fastPeriod, maxInterval);
+                break;
+            default:
+                pollingStrategy = PollingStrategy.fixed(interval);
+        }
+        LOG.info("Using Polling Strategy [{}].", pollingStrategy);
+        
+        return pollingStrategy;
+    }
+    
     /**
      * Ensures the {@code appUrl} parameter has been provided.
      *
@@ -201,4 +264,317 @@ public class XmlParameterValidator {
         
         return xmlRetryInterceptedClicks;
     }
+    
+    /**
+     * Reads and returns the value of the {@code eventDrivenWaits} parameter, if one is provided, otherwise a default
+     * value is set.
+     *
+     * @return The eventDrivenWaits value.
+     */
+    public boolean validateEventDrivenWaits() {
+        boolean xmlEventDrivenWaits = false;
+        if (xmlParameters.containsKey("eventDrivenWaits")) {
+            xmlEventDrivenWaits = Boolean.parseBoolean(xmlParameters.get("eventDrivenWaits"));
+        }
+        LOG.info("Using Event Driven Waits [{}].", xmlEventDrivenWaits);
+        
+        return xmlEventDrivenWaits;
+    }
+    
+    /**
+     * Reads and returns the value of the {@code sessionPooling} parameter, if one is provided, otherwise a default
+     * value is set.
+     *
+     * @return The sessionPooling value.
+     */
+    public boolean validateSessionPooling() {
+        boolean xmlSessionPooling = false;
+        if (xmlParameters.containsKey("sessionPooling")) {
+            xmlSessionPooling = Boolean.parseBoolean(xmlParameters.get("sessionPooling"));
+        }
+        LOG.info("Using WebDriver Session Pooling [{}].", xmlSessionPooling);
+        
+        return xmlSessionPooling;
+    }
+    
+    /**
+     * Reads and returns the value of the {@code commandAccounting} parameter, if one is provided, otherwise a default
+     * value is set.
+     *
+     * @return The commandAccounting value.
+     */
+    public boolean validateCommandAccounting() {
+        boolean xmlCommandAccounting = false;
+        if (xmlParameters.containsKey("commandAccounting")) {
+            xmlCommandAccounting = Boolean.parseBoolean(xmlParameters.get("commandAccounting"));
+        }
+        LOG.info("Using WebDriver Command Accounting [{}].", xmlCommandAccounting);
+        
+        return xmlCommandAccounting;
+    }
+    
+    /**
+     * Reads and returns the value of the {@code elementCache} parameter, if one is provided, otherwise a default value
+     * is set.
+     *
+     * @return The elementCache value.
+     */
+    public boolean validateElementCache() {
+        boolean xmlElementCache = false;
+        if (xmlParameters.containsKey("elementCache")) {
+            xmlElementCache = Boolean.parseBoolean(xmlParameters.get("elementCache"));
+        }
+        LOG.info("Using Element Cache [{}].", xmlElementCache);
+        
+        return xmlElementCache;
+    }
+    
+    /**
+     * Reads and returns the {@code sessionPoolMaxUses} parameter, if one is provided, otherwise a default value is
+     * set. A value of zero allows a pooled session to be reused without limit.
+     *
+     * @return The maximum number of uses of a pooled session.
+     */
+    public int validateSessionPoolMaxUses() {
+        if (xmlParameters.containsKey("sessionPoolMaxUses")) {
+            int maxUses = Integer.parseInt(xmlParameters.get("sessionPoolMaxUses"));
+            LOG.info("Pooled sessions limited to [{}] uses.", maxUses);
+            
+            return maxUses;
+        }
+        else {
+            LOG.info("No pooled session limit declared, using [{}] uses.", 50);
+            
+            return 50;
+        }
+    }
+    
+    /**
+     * Reads the {@code screenshotStore} parameter, along with the {@code screenshotDirectory} and
+     * {@code screenshotCacheSize} parameters, and builds the store used to hold screenshots until the report is
+     * generated. By default, images are written to the screenshot directory beside the {@link ResultJournal} in the
+     * Suite output directory, with no in-memory cache. The images of a previous run are removed from the default
+     * directory.
+     *
+     * @param suiteOutputDirectory The output directory of the Suite.
+     *
+     * @return The ScreenshotStore.
+     */
+    public ScreenshotStore validateScreenshotStore(String suiteOutputDirectory) {
+        String xmlScreenshotStore = xmlParameters.getOrDefault("screenshotStore", "disk");
+        if (xmlScreenshotStore.equalsIgnoreCase("memory")) {
+            LOG.info("Storing Screenshots in memory.");
+            
+            return new MemoryScreenshotStore();
+        }
+        else if (!xmlScreenshotStore.equalsIgnoreCase("disk")) {
+            String message = "Unrecognized Screenshot Store [" + xmlScreenshotStore + "].";
+            LOG.error(message);
+            
+            throw new IllegalArgumentException(message);
+        }
+        
+        int cacheSize = getInteger("screenshotCacheSize", 0, 0);
+        
+        try {
+            Path directory;
+            if (xmlParameters.containsKey("screenshotDirectory")) {
+                directory = Paths.get(xmlParameters.get("screenshotDirectory"));
+            }
+            else {
+                // The default directory is replaced on each run, along with the journal beside it.
+                directory = ResultJournal.getScreenshotDirectory(suiteOutputDirectory).toPath();
+                FileUtils.deleteDirectory(directory.toFile());
+            }
+            LOG.info("Storing Screenshots at [{}] with a [{}] MB cache.", directory.toAbsolutePath(), cacheSize);
+            
+            return new DiskScreenshotStore(directory, cacheSize * 1024L * 1024L);
+        }
+        catch (IOException | UncheckedIOException e) {
+            String message = "Screenshot Directory could not be created.";
+            LOG.error(message);
+            
+            throw new IllegalArgumentException(message, e);
+        }
+    }
+    
+    /**
+     * Reads the {@code screenshotMaxWidth}, {@code screenshotMaxHeight}, {@code screenshotFormat},
+     * {@code screenshotQuality} and {@code screenshotGrayscale} parameters, and builds the policy applied to each
+     * screenshot before it is stored. By default, the PNG returned by the browser is stored unchanged. The maximum
+     * width and height may not be negative, and the quality must be between 0 and 1.
+     *
+     * @return The ScreenshotPolicy.
+     */
+    public ScreenshotPolicy validateScreenshotPolicy() {
+        int maxWidth = getInteger("screenshotMaxWidth", 0, 0);
+        int maxHeight = getInteger("screenshotMaxHeight", 0, 0);
+        float quality = getFloat("screenshotQuality", 0.75f, 0, 1);
+        boolean grayscale = Boolean.parseBoolean(xmlParameters.getOrDefault("screenshotGrayscale", "false"));
+        
+        ScreenshotPolicy.Format format;
+        try {
+            format = ScreenshotPolicy.Format.fromString(xmlParameters.getOrDefault("screenshotFormat", "png"));
+        }
+        catch (IllegalArgumentException e) {
+            LOG.error(e.getMessage());
+            
+            throw e;
+        }
+        
+        ScreenshotPolicy screenshotPolicy = new ScreenshotPolicy(maxWidth, maxHeight, format, quality, grayscale);
+        LOG.info("Using Screenshot Policy [{}].", screenshotPolicy);
+        
+        return screenshotPolicy;
+    }
+    
+    /**
+     * Reads and returns the value of the {@code screenshotMode} parameter, if one is provided, otherwise a default
+     * value is set.
+     *
+     * @return The enumerated ScreenshotMode.
+     */
+    public ScreenshotMode validateScreenshotMode() {
+        ScreenshotMode screenshotMode = ScreenshotMode.EACH;
+        if (xmlParameters.containsKey("screenshotMode")) {
+            try {
+                screenshotMode = ScreenshotMode.fromString(xmlParameters.get("screenshotMode"));
+            }
+            catch (IllegalArgumentException e) {
+                LOG.error(e.getMessage());
+                
+                throw e;
+            }
+        }
+        LOG.info("Capturing Failure Screenshots [{}].", screenshotMode.getName());
+        
+        return screenshotMode;
+    }
+    
+    /**
+     * Reads and returns the value of the {@code screenshotOutput} parameter, if one is provided, otherwise a default
+     * value is set.
+     *
+     * @return The enumerated ScreenshotOutput.
+     */
+    public ScreenshotOutput validateScreenshotOutput() {
+        ScreenshotOutput screenshotOutput = ScreenshotOutput.EMBEDDED;
+        if (xmlParameters.containsKey("screenshotOutput")) {
+            try {
+                screenshotOutput = ScreenshotOutput.fromString(xmlParameters.get("screenshotOutput"));
+            }
+            catch (IllegalArgumentException e) {
+                LOG.error(e.getMessage());
+                
+                throw e;
+            }
+        }
+        LOG.info("Writing Screenshots to Report as [{}].", screenshotOutput.getName());
+        
+        return screenshotOutput;
+    }
+    
+    /**
+     * Reads the {@code runHistoryFile} parameter, along with the {@code runHistoryWindow} and
+     * {@code runHistoryThreshold} parameters, and builds the store that records test durations across runs. The run
+     * history is disabled unless a file is given.
+     *
+     * @return The RunHistory, or null if disabled.
+     */
+    public RunHistory validateRunHistory() {
+        if (!xmlParameters.containsKey("runHistoryFile")) {
+            LOG.info("No Run History File declared, durations will not be recorded.");
+            
+            return null;
+        }
+        
+        int window = getInteger("runHistoryWindow", 20, 1);
+        if (window < RunHistory.MIN_RUNS) {
+            String message = "Run History Window must be at least " + RunHistory.MIN_RUNS +
+                    ", the fewest passed runs a duration trend is calculated from.";
+            LOG.error(message);
+            
+            throw new IllegalArgumentException(message);
+        }
+        
+        double threshold = Double.parseDouble(xmlParameters.getOrDefault("runHistoryThreshold", "1.5"));
+        if (threshold < 1) {
+            String message = "Run History Threshold must be at least 1.";
+            LOG.error(message);
+            
+            throw new IllegalArgumentException(message);
+        }
+        
+        RunHistory runHistory = new RunHistory(Paths.get(xmlParameters.get("runHistoryFile")), window, threshold);
+        LOG.info("Using Run History [{}].", runHistory);
+        
+        return runHistory;
+    }
+    
+    private Duration getMillis(String parameter, long defaultMillis) {
+        if (!xmlParameters.containsKey(parameter)) {
+            return Duration.ofMillis(defaultMillis);
+        }
+        
+        String xmlMillis = xmlParameters.get(parameter);
+        long millis;
+        try {
+            millis = Long.parseLong(xmlMillis);
+        }
+        catch (NumberFormatException e) {
+            throw invalidValue(parameter, xmlMillis);
+        }
+        if (millis <= 0) {
+            throw invalidValue(parameter, xmlMillis);
+        }
+        
+        return Duration.ofMillis(millis);
+    }
+    
+    private int getInteger(String parameter, int defaultValue, int minValue) {
+        if (!xmlParameters.containsKey(parameter)) {
+            return defaultValue;
+        }
+        
+        String xmlValue = xmlParameters.get(parameter);
+        int value;
+        try {
+            value = Integer.parseInt(xmlValue);
+        }
+        catch (NumberFormatException e) {
+            throw invalidValue(parameter, xmlValue);
+        }
+        if (value < minValue) {
+            throw invalidValue(parameter, xmlValue);
+        }
+        
+        return value;
+    }
+    
+    private float getFloat(String parameter, float defaultValue, float minValue, float maxValue) {
+        if (!xmlParameters.containsKey(parameter)) {
+            return defaultValue;
+        }
+        
+        String xmlValue = xmlParameters.get(parameter);
+        float value;
+        try {
+            value = Float.parseFloat(xmlValue);
+        }
+        catch (NumberFormatException e) {
+            throw invalidValue(parameter, xmlValue);
+        }
+        if (!(value >= minValue && value <= maxValue)) {
+            throw invalidValue(parameter, xmlValue);
+        }
+        
+        return value;
+    }
+    
+    private IllegalArgumentException invalidValue(String parameter, String xmlValue) {
+        String message = "Invalid value [" + xmlValue + "] for parameter [" + parameter + "].";
+        LOG.error(message);
+        
+        return new IllegalArgumentException(message);
+    }
 }
@@ -0,0 +1,75 @@
+/*
+Copyright Tim Slifer
+
+Licensed under the PolyForm Internal Use License, Version 1.0.0 (the "License");
+you may not use this file except in compliance with the License.
+A copy of the License may be obtained at
+
+https://polyformproject.org/licenses/internal-use/1.0.0/
+ */
+package dev.qadenz.automation.logs;
+
+/**
+ * A single log event captured for a test, holding the fields of the Logback event rather than a formatted line.
+ *
+ * @author Tim Slifer
+ */
+public class LogEvent {
+    
+    private final int stepId;
+    private final long timestamp;
+    private final String level;
+    private final String logger;
+    private final String message;
+    private final String result;
+    private String screenshotId;
+    
+    /**
+     * @param stepId The position of the event within the log of its test, starting at one.
+     * @param timestamp The time of the event, in milliseconds since the epoch.
+     * @param level The name of the logging level.
+     * @param logger The name of the logger.
+     * @param message The formatted message.
+     * @param result The result of a validation, if the event was marked with one, otherwise null.
+     */
+    public LogEvent(int stepId, long timestamp, String level, String logger, String message, String result) {
+        this.stepId = stepId;
+        this.timestamp = timestamp;
+        this.level = level;
+        this.logger = logger;
+        this.message = message;
+        this.result = result;
+    }
+    
+    public int getStepId() {
+        return stepId;
+    }
+    
+    public long getTimestamp() {
+        return timestamp;
+    }
+    
+    public String getLevel() {
+        return level;
+    }
+    
+    public String getLogger() {
+        return logger;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+    
+    public String getResult() {
+        return result;
+    }
+    
+    public String getScreenshotId() {
+        return screenshotId;
+    }
+    
+    void setScreenshotId(String screenshotId) {
+        this.screenshotId = screenshotId;
+    }
+}
@@ -11,6 +11,8 @@ package dev.qadenz.automation.logs;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
 
 /**
  * A convenience class that provides quick access to various loggers.
@@ -19,6 +21,21 @@ import org.slf4j.LoggerFactory;
  */
 public class Loggers {
     
+    /**
+     * Marks the log event reporting a passed validation.
+     */
+    public static final Marker PASS = MarkerFactory.getMarker("PASS");
+    
+    /**
+     * Marks the log event reporting a failed validation.
+     */
+    public static final Marker FAIL = MarkerFactory.getMarker("FAIL");
+    
+    /**
+     * Marks the log event reporting a validation that could not be evaluated.
+     */
+    public static final Marker ERROR = MarkerFactory.getMarker("ERROR");
+    
     public static Logger getSuiteLogger() {
         return LoggerFactory.getLogger("SUITE");
     }
@@ -0,0 +1,131 @@
+/*
+Copyright Tim Slifer
+
+Licensed under the PolyForm Internal Use License, Version 1.0.0 (the "License");
+you may not use this file except in compliance with the License.
+A copy of the License may be obtained at
+
+https://polyformproject.org/licenses/internal-use/1.0.0/
+ */
+package dev.qadenz.automation.logs;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import org.slf4j.Marker;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Holds the structured log events of a single test or configuration method. The log is stored as an attribute of the
+ * TestNG result it belongs to, so that events logged by tests running in parallel are never interleaved, and
+ * screenshots are attached directly to the event they illustrate.
+ *
+ * @author Tim Slifer
+ */
+public class TestLog {
+    
+    private static final String ATTRIBUTE = TestLog.class.getName();
+    
+    private final List<LogEvent> events = new ArrayList<>();
+    
+    /**
+     * Retrieves the log of the given result.
+     *
+     * @param result The TestNG result.
+     *
+     * @return The log, or null if nothing has been logged for the result.
+     */
+    public static TestLog of(ITestResult result) {
+        return (TestLog) result.getAttribute(ATTRIBUTE);
+    }
+    
+    /**
+     * Retrieves the log of the method currently running on this thread, creating it if necessary.
+     *
+     * @return The log, or null if no TestNG method is running on this thread.
+     */
+    public static TestLog getCurrent() {
+        ITestResult result = Reporter.getCurrentTestResult();
+        if (result == null) {
+            return null;
+        }
+        
+        synchronized (result) {
+            TestLog testLog = of(result);
+            if (testLog == null) {
+                testLog = new TestLog();
+                result.setAttribute(ATTRIBUTE, testLog);
+            }
+            
+            return testLog;
+        }
+    }
+    
+    /**
+     * Attaches a screenshot to the most recent event logged by the method currently running on this thread.
+     *
+     * @param screenshotId The identifier of the screenshot.
+     */
+    public static void attachScreenshot(String screenshotId) {
+        TestLog testLog = getCurrent();
+        if (testLog != null) {
+            testLog.attach(screenshotId);
+        }
+    }
+    
+    /**
+     * Records a Logback event.
+     *
+     * @param event The Logback event.
+     */
+    public synchronized void add(ILoggingEvent event) {
+        events.add(new LogEvent(events.size() + 1, event.getTimeStamp(), event.getLevel().toString(),
+                event.getLoggerName(), event.getFormattedMessage(), getResult(event)));
+    }
+    
+    /**
+     * Attaches a screenshot to the most recent event. If that event already holds a screenshot, or nothing has been
+     * logged yet, the screenshot is recorded on an event of its own.
+     *
+     * @param screenshotId The identifier of the screenshot.
+     */
+    public synchronized void attach(String screenshotId) {
+        LogEvent last = events.isEmpty() ? null : events.get(events.size() - 1);
+        if (last == null || last.getScreenshotId() != null) {
+            last = new LogEvent(events.size() + 1, System.currentTimeMillis(), "INFO", "Screenshot", "", null);
+            events.add(last);
+        }
+        
+        last.setScreenshotId(screenshotId);
+    }
+    
+    /**
+     * @return The step ID the next logged event will be given.
+     */
+    public synchronized int getNextStepId() {
+        return events.size() + 1;
+    }
+    
+    /**
+     * @return A copy of the events logged so far, in the order they were logged.
+     */
+    public synchronized List<LogEvent> getEvents() {
+        return new ArrayList<>(events);
+    }
+    
+    private String getResult(ILoggingEvent event) {
+        if (event.getMarkerList() == null) {
+            return null;
+        }
+        
+        for (Marker marker : event.getMarkerList()) {
+            if (marker == Loggers.PASS || marker == Loggers.FAIL || marker == Loggers.ERROR) {
+                return marker.getName();
+            }
+        }
+        
+        return null;
+    }
+}
@@ -0,0 +1,30 @@
+/*
+Copyright Tim Slifer
+
+Licensed under the PolyForm Internal Use License, Version 1.0.0 (the "License");
+you may not use this file except in compliance with the License.
+A copy of the License may be obtained at
+
+https://polyformproject.org/licenses/internal-use/1.0.0/
+ */
+package dev.qadenz.automation.logs;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+
+/**
+ * A Logback appender that records each event in the {@link TestLog} of the TestNG method running on the logging
+ * thread. Events logged outside of a TestNG method are ignored.
+ *
+ * @author Tim Slifer
+ */
+public class TestLogAppender extends AppenderBase<ILoggingEvent> {
+    
+    @Override
+    protected void append(ILoggingEvent event) {
+        TestLog testLog = TestLog.getCurrent();
+        if (testLog != null) {
+            testLog.add(event);
+        }
+    }
+}
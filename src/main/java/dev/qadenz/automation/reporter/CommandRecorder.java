@@ -0,0 +1,146 @@
+/*
+Copyright Tim Slifer
+
+Licensed under the PolyForm Internal Use License, Version 1.0.0 (the "License");
+you may not use this file except in compliance with the License.
+A copy of the License may be obtained at
+
+https://polyformproject.org/licenses/internal-use/1.0.0/
+ */
+package dev.qadenz.automation.reporter;
+
+import org.testng.ITestResult;
+import org.testng.Reporter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Accumulates the number and duration of the WebDriver commands sent by each test method, by command type and by the
+ * element or group targeted by the command that sent them. Commands are reported by
+ * {@link dev.qadenz.automation.config.InstrumentedCommandExecutor} when command accounting is enabled, and are also
+ * counted against the open {@link StepRecorder} step.
+ *
+ * @author Tim Slifer
+ */
+public class CommandRecorder {
+    
+    private static final String ATTRIBUTE = CommandRecorder.class.getName();
+    
+    private CommandRecorder() {
+        // Utility
+    }
+    
+    /**
+     * The number and total duration of a set of commands.
+     */
+    public static class Total {
+        
+        private int count;
+        private long nanos;
+        
+        private Total() {
+        }
+        
+        private Total(Total total) {
+            this.count = total.count;
+            this.nanos = total.nanos;
+        }
+        
+        public int getCount() {
+            return count;
+        }
+        
+        public long getMillis() {
+            return nanos / 1_000_000;
+        }
+    }
+    
+    private static class Totals {
+        
+        private final Map<String, Total> byCommand = new LinkedHashMap<>();
+        private final Map<String, Total> byTarget = new LinkedHashMap<>();
+    }
+    
+    /**
+     * Marks that commands are being recorded, so that steps report their command count.
+     */
+    public static void enable() {
+        StepRecorder.enableCommandCount();
+    }
+    
+    /**
+     * Records a command sent by the current thread against the running test method.
+     *
+     * @param command The name of the command, such as {@code findElements} or {@code executeScript}.
+     * @param nanos The duration of the command, in nanoseconds.
+     */
+    public static void record(String command, long nanos) {
+        StepRecorder.addCommand();
+        
+        ITestResult result = Reporter.getCurrentTestResult();
+        if (result == null) {
+            return;
+        }
+        
+        Totals totals;
+        synchronized (result) {
+            totals = (Totals) result.getAttribute(ATTRIBUTE);
+            if (totals == null) {
+                totals = new Totals();
+                result.setAttribute(ATTRIBUTE, totals);
+            }
+        }
+        
+        String target = StepRecorder.getActiveTarget();
+        synchronized (totals) {
+            add(totals.byCommand, command, nanos);
+            if (target != null) {
+                add(totals.byTarget, target, nanos);
+            }
+        }
+    }
+    
+    /**
+     * Retrieves the commands sent by a test or configuration method, by command type.
+     *
+     * @param result The TestNG result.
+     *
+     * @return The totals of each command type, in the order each was first sent.
+     */
+    public static Map<String, Total> getCommandTotals(ITestResult result) {
+        return copy(result, true);
+    }
+    
+    /**
+     * Retrieves the commands sent by a test or configuration method, by the element or group targeted by the command
+     * that sent them. Commands sent outside of a command targeting an element are not included.
+     *
+     * @param result The TestNG result.
+     *
+     * @return The totals of each element or group, in the order each was first targeted.
+     */
+    public static Map<String, Total> getTargetTotals(ITestResult result) {
+        return copy(result, false);
+    }
+    
+    private static void add(Map<String, Total> totals, String key, long nanos) {
+        Total total = totals.computeIfAbsent(key, k -> new Total());
+        total.count++;
+        total.nanos += nanos;
+    }
+    
+    private static Map<String, Total> copy(ITestResult result, boolean byCommand) {
+        Map<String, Total> copy = new LinkedHashMap<>();
+        Totals totals = (Totals) result.getAttribute(ATTRIBUTE);
+        if (totals == null) {
+            return copy;
+        }
+        
+        synchronized (totals) {
+            (byCommand ? totals.byCommand : totals.byTarget).forEach((key, total) -> copy.put(key, new Total(total)));
+        }
+        
+        return copy;
+    }
+}
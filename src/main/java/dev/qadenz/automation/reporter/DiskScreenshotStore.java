@@ -0,0 +1,183 @@
+/*
+Copyright Tim Slifer
+
+Licensed under the PolyForm Internal Use License, Version 1.0.0 (the "License");
+you may not use this file except in compliance with the License.
+A copy of the License may be obtained at
+
+https://polyformproject.org/licenses/internal-use/1.0.0/
+ */
+package dev.qadenz.automation.reporter;
+
+import dev.qadenz.automation.logs.Loggers;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes screenshots to a directory on disk, named by the SHA-256 hash of the image content, so that identical images
+ * are only written once. Only the mapping of identifiers to hashes is kept on the heap, along with an optional cache of
+ * recently used images that is bounded by its total size in bytes.
+ * <p>
+ * The mapping is also appended to an index file in the directory as each image is stored, so that a store opened on
+ * the same directory in a later JVM, such as when compiling the reports from a {@link ResultJournal}, can resolve the
+ * identifiers of the earlier run.
+ *
+ * @author Tim Slifer
+ */
+public class DiskScreenshotStore implements ScreenshotStore {
+    
+    private static final Logger LOG = Loggers.getSuiteLogger();
+    private static final String INDEX_FILE_NAME = "index";
+    
+    private final Path directory;
+    private final long cacheLimit;
+    
+    private final Map<String, String> fileNames = new ConcurrentHashMap<>();
+    private final Path indexFile;
+    private final LinkedHashMap<String, byte[]> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private long cacheSize;
+    
+    /**
+     * @param directory The directory images are written to. Images already indexed in the directory remain available.
+     * @param cacheLimit The maximum total size in bytes of images held in memory, or zero to disable the cache.
+     */
+    public DiskScreenshotStore(Path directory, long cacheLimit) {
+        this.directory = directory;
+        this.cacheLimit = cacheLimit;
+        this.indexFile = directory.resolve(INDEX_FILE_NAME);
+        
+        try {
+            Files.createDirectories(directory);
+            if (Files.exists(indexFile)) {
+                readIndex(Files.readAllLines(indexFile, StandardCharsets.UTF_8));
+            }
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    @Override
+    public void put(String id, byte[] image) {
+        String hash = hash(image);
+        String fileName = hash + ScreenshotPolicy.Format.of(image).getExtension();
+        Path path = directory.resolve(fileName);
+        
+        try {
+            if (!Files.exists(path)) {
+                Path tempFile = Files.createTempFile(directory, hash, ".tmp");
+                Files.write(tempFile, image);
+                Files.move(tempFile, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+        }
+        catch (IOException e) {
+            LOG.error("Error writing image.", e);
+            
+            throw new UncheckedIOException(e);
+        }
+        
+        fileNames.put(id, fileName);
+        writeIndex(id, fileName);
+        cache(fileName, image);
+    }
+    
+    @Override
+    public byte[] get(String id) {
+        String fileName = fileNames.get(id);
+        if (fileName == null) {
+            return null;
+        }
+        
+        synchronized (cache) {
+            byte[] image = cache.get(fileName);
+            if (image != null) {
+                return image;
+            }
+        }
+        
+        try {
+            byte[] image = Files.readAllBytes(directory.resolve(fileName));
+            cache(fileName, image);
+            
+            return image;
+        }
+        catch (IOException e) {
+            LOG.error("Error reading image.", e);
+            
+            return null;
+        }
+    }
+    
+    public Path getDirectory() {
+        return directory;
+    }
+    
+    private void readIndex(List<String> lines) {
+        for (String line : lines) {
+            // A line left incomplete by a run that was killed is skipped.
+            String[] entry = line.split(" ", 2);
+            if (entry.length == 2 && !entry[1].isEmpty()) {
+                fileNames.put(entry[0], entry[1]);
+            }
+        }
+    }
+    
+    private void writeIndex(String id, String fileName) {
+        try {
+            synchronized (indexFile) {
+                Files.write(indexFile, List.of(id + " " + fileName), StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+        }
+        catch (IOException e) {
+            LOG.error("Error writing screenshot index.", e);
+        }
+    }
+    
+    private void cache(String fileName, byte[] image) {
+        if (image.length > cacheLimit) {
+            return;
+        }
+        
+        synchronized (cache) {
+            if (cache.put(fileName, image) == null) {
+                cacheSize += image.length;
+            }
+            
+            Iterator<byte[]> iterator = cache.values().iterator();
+            while (cacheSize > cacheLimit && iterator.hasNext()) {
+                cacheSize -= iterator.next().length;
+                iterator.remove();
+            }
+        }
+    }
+    
+    private String hash(byte[] image) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(image);
+            StringBuilder hash = new StringBuilder();
+            for (byte b : digest) {
+                hash.append(String.format("%02x", b));
+            }
+            
+            return hash.toString();
+        }
+        catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -11,69 +11,93 @@ package dev.qadenz.automation.reporter;
 
 import dev.qadenz.automation.logs.Loggers;
 import dev.qadenz.automation.reporter.model.JsonClass;
+import dev.qadenz.automation.reporter.model.JsonCommandTotal;
+import dev.qadenz.automation.reporter.model.JsonDurationTrend;
 import dev.qadenz.automation.reporter.model.JsonLogEvent;
 import dev.qadenz.automation.reporter.model.JsonMethod;
 import dev.qadenz.automation.reporter.model.JsonReport;
+import dev.qadenz.automation.reporter.model.JsonStep;
 import dev.qadenz.automation.reporter.model.JsonTest;
-import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
-import org.jsoup.nodes.DataNode;
-import org.jsoup.nodes.Document;
-import org.jsoup.nodes.Element;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Entities;
 import org.slf4j.Logger;
 
+import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
 
 /**
  * Constructs and writes a pre-designed HTML visualization of the Suite configuration, logging events for each test, and
  * embedded screenshots for failed and stopped tests. This report was built in the spirit of TestNG's emailable-report,
  * which provides a simple, single-file view of relevant test result data. This report adds a few UI conveniences such
  * as expanding and collapsing results sections, distinction between failed and stopped tests (assertion fails vs other
- * exceptions), as well as embedded screenshots on all non-passing tests.
+ * exceptions), as well as embedded screenshots on all non-passing tests. The report is streamed to the file section by
+ * section as the results are read, rather than being assembled in memory first.
  *
  * @author Tim Slifer
  */
 public class HtmlReporter {
     
     private static final Logger LOG = Loggers.getReporterLogger();
+    private static final int MAX_COMMAND_TOTALS = 5;
     
     private JsonReport jsonReport;
-    private Document document;
+    private Writer writer;
     
     public HtmlReporter(JsonReport jsonReport) {
         this.jsonReport = jsonReport;
-        this.document = Document.createShell("");
     }
     
     public void generateReport(String outputPath, String fileName) {
-        writeComment();
-        writeHead();
-        writeSummary();
-        for (JsonTest jsonTest : jsonReport.getTests()) {
-            writeTestSection(jsonTest);
+        File file = new File(outputPath, fileName + ".html");
+        try (Writer fileWriter = new BufferedWriter(
+                new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+            writer = fileWriter;
+            
+            writeComment();
+            write("<html>");
+            writeHead();
+            write("<body>");
+            writeSummary();
+            for (JsonTest jsonTest : jsonReport.getTests()) {
+                writeTestSection(jsonTest);
+            }
+            
+            writeScreenshotModal();
+            writeAccordionScript();
+            writeModalScript();
+            write("</body></html>");
+        }
+        catch (Exception exception) {
+            LOG.error("Error writing HTML file :: {}: {}", exception.getClass().getSimpleName(),
+                    exception.getMessage());
+        }
+        finally {
+            writer = null;
         }
-        
-        writeScreenshotModal();
-        writeAccordionScript();
-        writeModalScript();
-        
-        writeHtmlFile(outputPath, fileName);
     }
     
-    private void writeHead() {
-        Element head = document.head();
-        head.appendElement("meta").attr("charset", "UTF-8");
-        head.appendElement("title").text("Test Report");
-        head.appendElement("link")
-            .attr("href", "https://fonts.googleapis.com/css2?family=Source+Sans+Pro:wght@600&display=swap")
-            .attr("rel", "stylesheet");
-        head.appendElement("link")
-            .attr("href", "https://fonts.googleapis.com/css2?family=Source+Sans+Pro:wght@900&display=swap")
-            .attr("rel", "stylesheet");
-        head.appendElement("style").text(loadAndCompressCss());
+    private void writeHead() throws IOException {
+        write("<head>");
+        write("<meta charset=\"UTF-8\">");
+        writeElement("title", null, "Test Report");
+        write("<link href=\"https://fonts.googleapis.com/css2?family=Source+Sans+Pro:wght@600&amp;display=swap\" " +
+                "rel=\"stylesheet\">");
+        write("<link href=\"https://fonts.googleapis.com/css2?family=Source+Sans+Pro:wght@900&amp;display=swap\" " +
+                "rel=\"stylesheet\">");
+        write("<style>" + loadAndCompressCss() + "</style>");
+        write("</head>");
     }
     
     private String loadAndCompressCss() {
@@ -90,40 +114,38 @@ public class HtmlReporter {
         return contents.replace("    ", "").replace(" {", "{").replace(": ", ":").replaceAll("\n", "");
     }
     
-    private void writeTestSection(JsonTest jsonTest) {
+    private void writeTestSection(JsonTest jsonTest) throws IOException {
         String testName = jsonTest.getTestName() + " Results";
         
-        document.body().appendElement("div").addClass("test-section bordered");
-        Element section = document.body().getElementsByClass("test-section bordered").last();
-        section.appendElement("div").addClass("test-name bordered").text(testName);
+        openDiv("test-section bordered");
+        writeElement("div", "test-name bordered", testName);
         
         if (!jsonTest.getFailedConfigurations().isEmpty()) {
-            writeResultsSection(section, jsonTest.getFailedConfigurations(), HtmlResult.FAILED_CONFIGS);
+            writeResultsSection(jsonTest.getFailedConfigurations(), HtmlResult.FAILED_CONFIGS);
         }
         if (!jsonTest.getSkippedConfigurations().isEmpty()) {
-            writeResultsSection(section, jsonTest.getSkippedConfigurations(), HtmlResult.SKIPPED_CONFIGS);
+            writeResultsSection(jsonTest.getSkippedConfigurations(), HtmlResult.SKIPPED_CONFIGS);
         }
         if (!jsonTest.getFailedTests().isEmpty()) {
-            writeResultsSection(section, jsonTest.getFailedTests(), HtmlResult.FAILED_TESTS);
+            writeResultsSection(jsonTest.getFailedTests(), HtmlResult.FAILED_TESTS);
         }
         if (!jsonTest.getStoppedTests().isEmpty()) {
-            writeResultsSection(section, jsonTest.getStoppedTests(), HtmlResult.STOPPED_TESTS);
+            writeResultsSection(jsonTest.getStoppedTests(), HtmlResult.STOPPED_TESTS);
         }
         if (!jsonTest.getSkippedTests().isEmpty()) {
-            writeResultsSection(section, jsonTest.getSkippedTests(), HtmlResult.SKIPPED_TESTS);
+            writeResultsSection(jsonTest.getSkippedTests(), HtmlResult.SKIPPED_TESTS);
         }
         if (!jsonTest.getPassedTests().isEmpty()) {
-            writeResultsSection(section, jsonTest.getPassedTests(), HtmlResult.PASSED_TESTS);
+            writeResultsSection(jsonTest.getPassedTests(), HtmlResult.PASSED_TESTS);
         }
         
-        document.body().appendElement("br");
+        closeDiv();
+        write("<br>");
     }
     
-    private void writeSummary() {
-        document.body().appendElement("div").addClass("suite-summary bordered");
-        
-        Element summary = document.body().getElementsByClass("suite-summary bordered").get(0);
-        summary.appendElement("div").addClass("suite-name bordered").text(jsonReport.getSuiteName());
+    private void writeSummary() throws IOException {
+        openDiv("suite-summary bordered");
+        writeElement("div", "suite-name bordered", jsonReport.getSuiteName());
         
         int failed = 0;
         for (JsonTest jsonTest : jsonReport.getTests()) {
@@ -147,33 +169,32 @@ public class HtmlReporter {
         
         int total = failed + stopped + skipped + passed;
         
-        writeSummaryItem(summary, true, "Launched", "", jsonReport.getSuiteStartDate());
-        writeSummaryItem(summary, false, "Total Tests", "", String.valueOf(total));
-        writeSummaryItem(summary, HtmlResult.PASSED_TESTS, String.valueOf(passed));
-        writeSummaryItem(summary, HtmlResult.FAILED_TESTS, String.valueOf(failed));
-        writeSummaryItem(summary, HtmlResult.STOPPED_TESTS, String.valueOf(stopped));
-        writeSummaryItem(summary, HtmlResult.SKIPPED_TESTS, String.valueOf(skipped));
-        writeSummaryItem(summary, true, "Execution Time", "", jsonReport.getSuiteExecutionTime());
+        writeSummaryItem(true, "Launched", "", jsonReport.getSuiteStartDate());
+        writeSummaryItem(false, "Total Tests", "", String.valueOf(total));
+        writeSummaryItem(HtmlResult.PASSED_TESTS, String.valueOf(passed));
+        writeSummaryItem(HtmlResult.FAILED_TESTS, String.valueOf(failed));
+        writeSummaryItem(HtmlResult.STOPPED_TESTS, String.valueOf(stopped));
+        writeSummaryItem(HtmlResult.SKIPPED_TESTS, String.valueOf(skipped));
+        writeSummaryItem(true, "Execution Time", "", jsonReport.getSuiteExecutionTime());
         
-        document.body().appendElement("br");
+        closeDiv();
+        write("<br>");
     }
     
-    private void writeSummaryItem(Element summary, HtmlResult result, String value) {
-        writeSummaryItem(summary, false, result.getSummaryItemLabel(), result.getSummaryItemValueStyle(), value);
+    private void writeSummaryItem(HtmlResult result, String value) throws IOException {
+        writeSummaryItem(false, result.getSummaryItemLabel(), result.getSummaryItemValueStyle(), value);
     }
     
-    private void writeSummaryItem(Element summary, boolean wide, String label, String style, String value) {
-        String attribute = (wide) ? "summary-item bordered wide" : "summary-item bordered";
-        summary.appendElement("div").addClass(attribute);
-        Element totalTestsItem = summary.getElementsByClass(attribute).last();
-        totalTestsItem.appendElement("div").addClass("summary-item-label").text(label);
-        totalTestsItem.appendElement("div").addClass("summary-item-value " + style).text(value);
+    private void writeSummaryItem(boolean wide, String label, String style, String value) throws IOException {
+        openDiv((wide) ? "summary-item bordered wide" : "summary-item bordered");
+        writeElement("div", "summary-item-label", label);
+        writeElement("div", "summary-item-value " + style, value);
+        closeDiv();
     }
     
-    private void writeResultsSection(Element testSection, List<JsonClass> jsonClasses, HtmlResult result) {
+    private void writeResultsSection(List<JsonClass> jsonClasses, HtmlResult result) throws IOException {
         // write main section structure
-        testSection.appendElement("div").addClass("results-section");
-        Element section = document.body().getElementsByClass("results-section").last();
+        openDiv("results-section");
         
         int methodCount = 0;
         for (JsonClass jsonClass : jsonClasses) {
@@ -181,82 +202,155 @@ public class HtmlReporter {
         }
         String header = methodCount + " " + result.getResultsSectionLabel();
         
-        section.appendElement("div").addClass("section-name bordered " + result.getResultsSectionStyle()).text(header);
-        section.appendElement("div").addClass("test-classes bordered");
-        Element classes = section.getElementsByClass("test-classes bordered").last();
+        writeElement("div", "section-name bordered " + result.getResultsSectionStyle(), header);
+        openDiv("test-classes bordered");
         
         for (JsonClass jsonClass : jsonClasses) {
             // write a new class entry
-            Element testClass;
-            classes.appendElement("div").addClass("test-class");
-            testClass = classes.getElementsByClass("test-class").last();
-            testClass.appendElement("div").addClass("class-name accordion").text(jsonClass.getClassName());
-            testClass.appendElement("div").addClass("test-methods panel hide");
+            openDiv("test-class");
+            writeElement("div", "class-name accordion", jsonClass.getClassName());
+            openDiv("test-methods panel hide");
             
             for (JsonMethod jsonMethod : jsonClass.getMethods()) {
                 // write a new test method entry
-                Element testMethods = testClass.getElementsByClass("test-methods panel hide").last();
-                testMethods.appendElement("div").addClass("test-method");
-                Element method = testMethods.getElementsByClass("test-method").last();
+                openDiv("test-method");
                 String methodName = (jsonMethod.getParameters() == null) ? jsonMethod.getMethodName() :
                         jsonMethod.getMethodName() + " | " + jsonMethod.getParameters();
-                method.appendElement("div").addClass("method-name accordion").text(methodName);
-                method.appendElement("div").addClass("method-details panel hide");
+                writeElement("div", "method-name accordion", methodName);
+                openDiv("method-details panel hide");
                 
                 // write the method details
-                Element methodDetails = method.getElementsByClass("method-details panel hide").last();
-                writeMethodDetailItem(methodDetails, "Start Time: ", jsonMethod.getTestStartTime());
-                writeMethodDetailItem(methodDetails, "Duration: ", jsonMethod.getTestExecutionTime());
+                writeMethodDetailItem("Start Time: ", jsonMethod.getTestStartTime());
+                writeMethodDetailItem("Duration: ", jsonMethod.getTestExecutionTime());
+                if (jsonMethod.getDurationTrend() != null) {
+                    writeDurationTrend(jsonMethod.getDurationTrend());
+                }
+                if (jsonMethod.getCommandTotals() != null && !jsonMethod.getCommandTotals().isEmpty()) {
+                    writeCommandTotals(jsonMethod);
+                }
                 
                 // write the logging output for the test method
-                methodDetails.appendElement("div").addClass("method-logs");
-                Element methodLogs = method.getElementsByClass("method-logs").last();
+                openDiv("method-logs");
+                Map<Integer, JsonStep> steps = new HashMap<>();
+                if (jsonMethod.getSteps() != null) {
+                    jsonMethod.getSteps().forEach(jsonStep -> steps.put(jsonStep.getStepId(), jsonStep));
+                }
                 for (JsonLogEvent jsonLogEvent : jsonMethod.getLogEvents()) {
-                    writeMethodLogs(jsonLogEvent, methodLogs);
+                    writeMethodLogs(jsonLogEvent, steps.get(jsonLogEvent.getStepId()));
                 }
+                closeDiv();
+                
+                closeDiv();
+                closeDiv();
             }
+            
+            closeDiv();
+            closeDiv();
         }
+        
+        closeDiv();
+        closeDiv();
     }
     
-    private void writeMethodDetailItem(Element methodDetails, String label, String value) {
-        methodDetails.appendElement("span").addClass("method-detail");
-        Element duration = methodDetails.getElementsByClass("method-detail").last();
-        duration.appendElement("span").addClass("method-detail-label").text(label);
-        duration.appendElement("span").addClass("method-detail-value").text(value);
+    private void writeMethodDetailItem(String label, String value) throws IOException {
+        write("<span class=\"method-detail\">");
+        writeElement("span", "method-detail-label", label);
+        writeElement("span", "method-detail-value", value);
+        write("</span>");
     }
     
-    private void writeMethodLogs(JsonLogEvent jsonLogEvent, Element methodLogs) {
-        String message = jsonLogEvent.getLogMessage().replace("\n", "<br>");
-        if (jsonLogEvent.getLogMessage().contains("| WARN |")) {
-            methodLogs.appendElement("div").addClass("log-entry bold").html(message);
+    private void writeDurationTrend(JsonDurationTrend trend) throws IOException {
+        String value = String.format("p50 %.2fs / p95 %.2fs over %d runs",
+                trend.getP50Millis() / 1000.0, trend.getP95Millis() / 1000.0, trend.getRuns());
+        writeMethodDetailItem("Trend: ", value);
+        if (trend.isRegressed()) {
+            writeElement("span", "method-detail log-fail", "Slower than previous runs");
         }
-        else if (jsonLogEvent.getLogMessage().contains("| Result - PASS")) {
-            methodLogs.appendElement("div").addClass("log-entry log-pass").html(message);
+    }
+    
+    private void writeCommandTotals(JsonMethod jsonMethod) throws IOException {
+        int count = jsonMethod.getCommandTotals().stream().mapToInt(JsonCommandTotal::getCount).sum();
+        long millis = jsonMethod.getCommandTotals().stream().mapToLong(JsonCommandTotal::getTotalMillis).sum();
+        writeMethodDetailItem("WebDriver Commands: ", String.format("%d in %.2fs (%s)", count, millis / 1000.0,
+                summarize(jsonMethod.getCommandTotals())));
+        
+        if (jsonMethod.getTargetCommandTotals() != null && !jsonMethod.getTargetCommandTotals().isEmpty()) {
+            writeMethodDetailItem("By Element: ", summarize(jsonMethod.getTargetCommandTotals()));
         }
-        else if (jsonLogEvent.getLogMessage().contains("| Result - FAIL")) {
-            methodLogs.appendElement("div").addClass("log-entry log-fail").html(message);
+    }
+    
+    private String summarize(List<JsonCommandTotal> commandTotals) {
+        StringJoiner joiner = new StringJoiner(", ");
+        commandTotals.stream().limit(MAX_COMMAND_TOTALS).forEach(commandTotal -> joiner.add(
+                String.format("%s x%d %.2fs", commandTotal.getName(), commandTotal.getCount(),
+                        commandTotal.getTotalMillis() / 1000.0)));
+        
+        return joiner.toString();
+    }
+    
+    private void writeMethodLogs(JsonLogEvent jsonLogEvent, JsonStep jsonStep) throws IOException {
+        String message = Jsoup.parseBodyFragment(jsonLogEvent.getLogMessage().replace("\n", "<br>")).body().html();
+        if (jsonStep != null) {
+            message += " <span class=\"step-timing\">" + getStepTiming(jsonStep) + "</span>";
+        }
+        if ("WARN".equals(jsonLogEvent.getLevel())) {
+            writeHtmlElement("div", "log-entry bold", message);
+        }
+        else if ("PASS".equals(jsonLogEvent.getResult())) {
+            writeHtmlElement("div", "log-entry log-pass", message);
+        }
+        else if ("FAIL".equals(jsonLogEvent.getResult())) {
+            writeHtmlElement("div", "log-entry log-fail", message);
         }
         else {
-            methodLogs.appendElement("div").addClass("log-entry").html(message);
+            writeHtmlElement("div", "log-entry", message);
         }
         
-        if (jsonLogEvent.getScreenshot() != null) {
-            methodLogs.appendElement("div").addClass("log-entry screenshot").text("View Screenshot");
-            Element screenshot = methodLogs.getElementsMatchingText("View Screenshot").last();
-            screenshot.appendElement("img").addClass("image")
-                      .attr("style", "display: none")
-                      .attr("src", "data:image/png;base64, " + jsonLogEvent.getScreenshot());
+        if (jsonLogEvent.getScreenshotFile() != null) {
+            openDiv("log-entry screenshot");
+            write("View Screenshot");
+            write("<img class=\"image\" style=\"display: block; max-width: 320px; cursor: pointer\" loading=\"lazy\" " +
+                    "src=\"" + Entities.escape(jsonLogEvent.getThumbnailFile()) + "\" " +
+                    "data-src=\"" + Entities.escape(jsonLogEvent.getScreenshotFile()) + "\">");
+            closeDiv();
+            
+            return;
+        }
+        
+        String image = jsonLogEvent.getScreenshot();
+        if (image != null) {
+            // The stored bytes carry their own format, which may predate a change of the policy.
+            byte[] signature = Base64.getDecoder().decode(image.substring(0, Math.min(4, image.length())));
+            String mediaType = ScreenshotPolicy.Format.of(signature).getMediaType();
+            openDiv("log-entry screenshot");
+            write("View Screenshot");
+            write("<img class=\"image\" style=\"display: none\" src=\"data:" + mediaType + ";base64, ");
+            write(image);
+            write("\">");
+            closeDiv();
         }
     }
     
-    private void writeScreenshotModal() {
-        document.body().appendElement("div").attr("id", "modal");
-        Element modal = document.getElementById("modal");
-        modal.appendElement("span").addClass("close").html("&times;");
-        modal.appendElement("img").addClass("modal-content").attr("id", "modal-img");
+    private String getStepTiming(JsonStep jsonStep) {
+        String timing = String.format("(%.2fs", jsonStep.getWallMillis() / 1000.0);
+        if (jsonStep.getWaitMillis() > 0) {
+            timing += String.format(", waited %.2fs", jsonStep.getWaitMillis() / 1000.0);
+        }
+        if (jsonStep.getCommandCount() != null) {
+            timing += ", " + jsonStep.getCommandCount() + " commands";
+        }
+        
+        return timing + ")";
+    }
+    
+    private void writeScreenshotModal() throws IOException {
+        write("<div id=\"modal\">");
+        write("<span class=\"close\">&times;</span>");
+        write("<img class=\"modal-content\" id=\"modal-img\">");
+        closeDiv();
     }
     
-    private void writeAccordionScript() {
+    private void writeAccordionScript() throws IOException {
         String js = "<script>var acc = document.getElementsByClassName(\"accordion\");" +
                 "for (var i = 0; i < acc.length; i++) {" +
                 "acc[i].addEventListener(\"click\", function () {" +
@@ -265,11 +359,10 @@ public class HtmlReporter {
                 "if (panel.style.display === \"block\") {" +
                 "panel.style.display = \"none\";}" +
                 "else {panel.style.display = \"block\";}});}</script>";
-        DataNode script = new DataNode(js);
-        document.body().appendChild(script);
+        write(js);
     }
     
-    private void writeModalScript() {
+    private void writeModalScript() throws IOException {
         String js = "<script>var modal = document.getElementById(\"modal\");" +
                 "var scr = document.getElementsByClassName(\"screenshot\");" +
                 "for (var i = 0; i < scr.length; i++) {" +
@@ -277,15 +370,14 @@ public class HtmlReporter {
                 "modal.style.display = \"block\";" +
                 "var modalImg = document.getElementById(\"modal-img\");" +
                 "var imgSrc = this.getElementsByClassName(\"image\")[0];" +
-                "modalImg.src = imgSrc.src;});}" +
+                "modalImg.src = imgSrc.dataset.src || imgSrc.src;});}" +
                 "var span = document.getElementsByClassName(\"close\")[0];" +
                 "span.onclick = function () {" +
                 "modal.style.display = \"none\";};</script>";
-        DataNode script = new DataNode(js);
-        document.body().appendChild(script);
+        write(js);
     }
     
-    private void writeComment() {
+    private void writeComment() throws IOException {
         String comment = "<!--\n" +
                 "This report was generated by Qadenz.\n\n" +
                 "Copyright Tim Slifer\n\n" +
@@ -295,18 +387,29 @@ public class HtmlReporter {
                 "https://polyformproject.org/licenses/internal-use/1.0.0/\n" +
                 "-->";
         
-        document.select("html").before(comment);
+        write(comment);
     }
     
-    private void writeHtmlFile(String outputPath, String fileName) {
-        try {
-            File file = new File(outputPath, fileName + ".html");
-            FileUtils.writeStringToFile(file, document.outerHtml(), StandardCharsets.UTF_8);
-        }
-        catch (Exception exception) {
-            LOG.error("Error writing HTML file :: {}: {}", exception.getClass().getSimpleName(),
-                    exception.getMessage());
-        }
+    private void openDiv(String classes) throws IOException {
+        write("<div class=\"" + Entities.escape(classes) + "\">");
+    }
+    
+    private void closeDiv() throws IOException {
+        write("</div>");
+    }
+    
+    private void writeElement(String tag, String classes, String text) throws IOException {
+        writeHtmlElement(tag, classes, (text == null) ? "" : Entities.escape(text));
+    }
+    
+    private void writeHtmlElement(String tag, String classes, String html) throws IOException {
+        write("<" + tag + ((classes == null) ? "" : " class=\"" + Entities.escape(classes) + "\"") + ">");
+        write(html);
+        write("</" + tag + ">");
+    }
+    
+    private void write(String html) throws IOException {
+        writer.write(html);
     }
     
     private enum HtmlResult {
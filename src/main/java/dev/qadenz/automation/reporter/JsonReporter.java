@@ -9,19 +9,24 @@ https://polyformproject.org/licenses/internal-use/1.0.0/
  */
 package dev.qadenz.automation.reporter;
 
-import dev.qadenz.automation.config.WebConfig;
+import dev.qadenz.automation.logs.LogEvent;
+import dev.qadenz.automation.logs.TestLog;
+import dev.qadenz.automation.reporter.model.JournalEntry;
+import dev.qadenz.automation.reporter.model.JournalEntry.Category;
 import dev.qadenz.automation.reporter.model.JsonClass;
+import dev.qadenz.automation.reporter.model.JsonCommandTotal;
 import dev.qadenz.automation.reporter.model.JsonLogEvent;
 import dev.qadenz.automation.reporter.model.JsonMethod;
 import dev.qadenz.automation.reporter.model.JsonReport;
+import dev.qadenz.automation.reporter.model.JsonStep;
 import dev.qadenz.automation.reporter.model.JsonTest;
 import dev.qadenz.automation.reporter.testng.ClassResult;
 import dev.qadenz.automation.reporter.testng.MethodResult;
 import dev.qadenz.automation.reporter.testng.SuiteResult;
 import dev.qadenz.automation.reporter.testng.TestResult;
 import org.testng.ISuite;
+import org.testng.ITestContext;
 import org.testng.ITestResult;
-import org.testng.Reporter;
 import org.testng.internal.Utils;
 
 import java.time.Duration;
@@ -31,9 +36,18 @@ import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.regex.Pattern;
+import java.util.function.Function;
+import java.util.function.LongBinaryOperator;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
 
 /**
  * Combines logging output from Logback, with data elements from this library, along with results data extracted from
@@ -46,34 +60,70 @@ import java.util.regex.Pattern;
 public class JsonReporter {
     
     private ISuite suite;
+    private String suiteName;
+    private List<JournalEntry> journal;
     private JsonReport jsonReport;
     
-    private static final Pattern UUID_PATTERN =
-            Pattern.compile("^[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}$");
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm:ss:SSS");
+    
+    private static final Comparator<JournalEntry> JOURNAL_COMPARATOR =
+            Comparator.comparing(JournalEntry::getClassName)
+                      .thenComparing(entry -> entry.getMethod().getMethodName())
+                      .thenComparing(entry -> Objects.toString(entry.getMethod().getParameters(), ""));
     
     public JsonReporter(ISuite suite) {
         this.suite = suite;
+        this.suiteName = suite.getName();
+        this.jsonReport = new JsonReport();
+    }
+    
+    /**
+     * Compiles the report from the entries of a {@link ResultJournal} rather than from the TestNG Suite.
+     *
+     * @param suiteName The name of the Suite.
+     * @param journal The journaled entries of the Suite, in the order the methods completed.
+     */
+    public JsonReporter(String suiteName, List<JournalEntry> journal) {
+        this.suiteName = suiteName;
+        this.journal = journal;
         this.jsonReport = new JsonReport();
     }
     
     public JsonReport compileJsonReport() {
+        if (journal != null) {
+            setSuiteHeaderDetails();
+            processJournalEntries();
+            
+            return jsonReport;
+        }
+        
         SuiteResult suiteResult = new SuiteResult(suite);
         
-        setSuiteHeaderDetails(suiteResult);
+        setSuiteHeaderDetails();
         processSuiteResults(suiteResult);
         
         return jsonReport;
     }
     
-    private void setSuiteHeaderDetails(SuiteResult suiteResult) {
-        jsonReport.setSuiteName(suiteResult.getSuiteName());
+    private void setSuiteHeaderDetails() {
+        jsonReport.setSuiteName(suiteName);
+        
+        // Each Suite is timed by its own results, as several Suites may run in the same JVM.
+        long suiteStartMillis = (journal != null) ? getJournalMillis(journal, Math::min, JournalEntry::getStartMillis) :
+                getSuiteMillis(suite, Math::min, ITestContext::getStartDate);
+        long suiteEndMillis = (journal != null) ? getJournalMillis(journal, Math::max, JournalEntry::getEndMillis) :
+                getSuiteMillis(suite, Math::max, ITestContext::getEndDate);
+        LocalDateTime suiteStartDate = toLocalDateTime(suiteStartMillis);
+        LocalDateTime suiteEndDate = toLocalDateTime(suiteEndMillis);
+        
+        jsonReport.setSuiteStartMillis(suiteStartMillis);
         
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
-        String startDate = WebConfig.suiteStartDate.format(formatter);
+        String startDate = suiteStartDate.format(formatter);
         
         jsonReport.setSuiteStartDate(startDate);
         
-        Duration duration = Duration.between(WebConfig.suiteStartDate, WebConfig.suiteEndDate);
+        Duration duration = Duration.between(suiteStartDate, suiteEndDate);
         String executionTime = String.format("%02dh %02dm %02d.%02ds",
                 duration.toHoursPart(), duration.toMinutesPart(), duration.toSecondsPart(), duration.toMillisPart());
         
@@ -87,24 +137,79 @@ public class JsonReporter {
     }
     
     private void processSuiteResults(SuiteResult suiteResult) {
-        List<JsonTest> jsonTests = new ArrayList<>();
-        for (TestResult testResult : suiteResult.getTestResults()) {
-            jsonTests.add(processTestResults(testResult));
-        }
+        // Each <test> is independent, and is compiled on the common fork-join pool.
+        List<JsonTest> jsonTests = suiteResult.getTestResults().parallelStream()
+                                              .map(this::processTestResults)
+                                              .collect(Collectors.toList());
         
         jsonReport.setTests(jsonTests);
     }
     
     private JsonTest processTestResults(TestResult testResult) {
+        Map<Category, List<JsonClass>> jsonClasses = new EnumMap<>(Category.class);
+        jsonClasses.put(Category.FAILED_CONFIGURATION, processClassResults(testResult.getFailedConfigurationResults()));
+        jsonClasses.put(Category.FAILED_TEST, processClassResults(testResult.getFailedTestResults()));
+        jsonClasses.put(Category.STOPPED_TEST, processClassResults(testResult.getStoppedTestResults()));
+        jsonClasses.put(Category.SKIPPED_CONFIGURATION,
+                processClassResults(testResult.getSkippedConfigurationResults()));
+        jsonClasses.put(Category.SKIPPED_TEST, processClassResults(testResult.getSkippedTestResults()));
+        jsonClasses.put(Category.PASSED_TEST, processClassResults(testResult.getPassedTestResults()));
+        
+        return buildJsonTest(testResult.getTestName(), jsonClasses);
+    }
+    
+    private void processJournalEntries() {
+        Map<String, List<JournalEntry>> entriesByTest = new LinkedHashMap<>();
+        journal.forEach(entry -> entriesByTest.computeIfAbsent(entry.getTestName(), key -> new ArrayList<>())
+                                              .add(entry));
+        
+        List<JsonTest> jsonTests = entriesByTest.entrySet().parallelStream()
+                                                .map(entries -> processJournalEntries(entries.getKey(),
+                                                        entries.getValue()))
+                                                .collect(Collectors.toList());
+        
+        jsonReport.setTests(jsonTests);
+    }
+    
+    private JsonTest processJournalEntries(String testName, List<JournalEntry> entries) {
+        Map<Category, List<JsonClass>> jsonClasses = new EnumMap<>(Category.class);
+        for (Category category : Category.values()) {
+            jsonClasses.put(category, groupJournalEntries(entries, category));
+        }
+        
+        return buildJsonTest(testName, jsonClasses);
+    }
+    
+    private List<JsonClass> groupJournalEntries(List<JournalEntry> entries, Category category) {
+        Map<String, List<JsonMethod>> methodsByClass = new LinkedHashMap<>();
+        entries.stream()
+               .filter(entry -> entry.getCategory() == category)
+               .sorted(JOURNAL_COMPARATOR)
+               .forEach(entry -> methodsByClass.computeIfAbsent(entry.getClassName(), key -> new ArrayList<>())
+                                               .add(entry.getMethod()));
+        
+        List<JsonClass> jsonClasses = new ArrayList<>();
+        methodsByClass.forEach((className, methods) -> {
+            JsonClass jsonClass = new JsonClass();
+            jsonClass.setClassName(className);
+            jsonClass.setMethods(methods);
+            
+            jsonClasses.add(jsonClass);
+        });
+        
+        return jsonClasses;
+    }
+    
+    private JsonTest buildJsonTest(String testName, Map<Category, List<JsonClass>> jsonClasses) {
         JsonTest jsonTest = new JsonTest();
-        jsonTest.setTestName(testResult.getTestName());
+        jsonTest.setTestName(testName);
         
-        List<JsonClass> failedConfigurations = processClassResults(testResult.getFailedConfigurationResults());
-        List<JsonClass> failedTests = processClassResults(testResult.getFailedTestResults());
-        List<JsonClass> stoppedTests = processClassResults(testResult.getStoppedTestResults());
-        List<JsonClass> skippedConfigurations = processClassResults(testResult.getSkippedConfigurationResults());
-        List<JsonClass> skippedTests = processClassResults(testResult.getSkippedTestResults());
-        List<JsonClass> passedTests = processClassResults(testResult.getPassedTestResults());
+        List<JsonClass> failedConfigurations = jsonClasses.get(Category.FAILED_CONFIGURATION);
+        List<JsonClass> failedTests = jsonClasses.get(Category.FAILED_TEST);
+        List<JsonClass> stoppedTests = jsonClasses.get(Category.STOPPED_TEST);
+        List<JsonClass> skippedConfigurations = jsonClasses.get(Category.SKIPPED_CONFIGURATION);
+        List<JsonClass> skippedTests = jsonClasses.get(Category.SKIPPED_TEST);
+        List<JsonClass> passedTests = jsonClasses.get(Category.PASSED_TEST);
         
         AtomicInteger totalFailedConfigurations = new AtomicInteger();
         failedConfigurations.forEach(jsonClass -> totalFailedConfigurations.addAndGet(jsonClass.getMethods().size()));
@@ -153,43 +258,74 @@ public class JsonReporter {
     }
     
     private List<JsonMethod> processMethodResults(List<MethodResult> methodResults) {
-        List<JsonMethod> jsonMethods = new ArrayList<>();
-        
-        methodResults.forEach(methodResult -> {
-            List<ITestResult> results = methodResult.getResults();
-            results.forEach(result -> {
-                JsonMethod jsonMethod = new JsonMethod();
-                jsonMethod.setMethodName(result.getName());
-                jsonMethod.setParameters(processParameters(result));
-                
-                LocalDateTime startDateMillis =
-                        Instant.ofEpochMilli(result.getStartMillis()).atZone(ZoneId.systemDefault()).toLocalDateTime();
-                DateTimeFormatter formatter = DateTimeFormatter.ofPattern("HH:mm:ss:SSS");
-                String testStartTime = startDateMillis.format(formatter);
-                jsonMethod.setTestStartTime(testStartTime);
-                
-                LocalDateTime endDateMillis =
-                        Instant.ofEpochMilli(result.getEndMillis()).atZone(ZoneId.systemDefault()).toLocalDateTime();
-                Duration duration = Duration.between(startDateMillis, endDateMillis);
-                String testExecutionTime = String.format("%02dm %02d.%02ds",
-                        duration.toMinutesPart(), duration.toSecondsPart(), duration.toMillisPart());
-                jsonMethod.setTestExecutionTime(testExecutionTime);
-                
-                List<JsonLogEvent> logEvents = processLogOutput(Reporter.getOutput(result));
-                jsonMethod.setLogEvents(logEvents);
-                
-                if (result.getThrowable() != null && !(result.getThrowable() instanceof AssertionError)) {
-                    jsonMethod.setStackTrace(Utils.shortStackTrace(result.getThrowable(), false));
-                }
-                
-                jsonMethods.add(jsonMethod);
-            });
-        });
+        return methodResults.parallelStream()
+                            .flatMap(methodResult -> methodResult.getResults().stream())
+                            .map(JsonReporter::processMethodResult)
+                            .collect(Collectors.toList());
+    }
+    
+    /**
+     * Converts the result of a single test or configuration method, along with its log output, to a JsonMethod.
+     *
+     * @param result The TestNG result.
+     *
+     * @return The JsonMethod.
+     */
+    static JsonMethod processMethodResult(ITestResult result) {
+        JsonMethod jsonMethod = new JsonMethod();
+        jsonMethod.setMethodName(result.getName());
+        jsonMethod.setParameters(processParameters(result));
+        
+        LocalDateTime startDateMillis =
+                Instant.ofEpochMilli(result.getStartMillis()).atZone(ZoneId.systemDefault()).toLocalDateTime();
+        String testStartTime = startDateMillis.format(TIME_FORMATTER);
+        jsonMethod.setTestStartTime(testStartTime);
+        
+        LocalDateTime endDateMillis =
+                Instant.ofEpochMilli(result.getEndMillis()).atZone(ZoneId.systemDefault()).toLocalDateTime();
+        Duration duration = Duration.between(startDateMillis, endDateMillis);
+        String testExecutionTime = String.format("%02dm %02d.%02ds",
+                duration.toMinutesPart(), duration.toSecondsPart(), duration.toMillisPart());
+        jsonMethod.setTestExecutionTime(testExecutionTime);
+        jsonMethod.setDurationMillis(result.getEndMillis() - result.getStartMillis());
+        
+        List<JsonLogEvent> logEvents = processLogEvents(result);
+        jsonMethod.setLogEvents(logEvents);
+        jsonMethod.setSteps(processSteps(result));
+        jsonMethod.setCommandTotals(processCommandTotals(CommandRecorder.getCommandTotals(result)));
+        jsonMethod.setTargetCommandTotals(processCommandTotals(CommandRecorder.getTargetTotals(result)));
+        
+        if (result.getThrowable() != null && !(result.getThrowable() instanceof AssertionError)) {
+            jsonMethod.setStackTrace(Utils.shortStackTrace(result.getThrowable(), false));
+        }
+        
+        return jsonMethod;
+    }
+    
+    private static long getJournalMillis(List<JournalEntry> entries, LongBinaryOperator operator,
+            ToLongFunction<JournalEntry> millis) {
+        if (entries == null) {
+            return System.currentTimeMillis();
+        }
         
-        return jsonMethods;
+        return entries.stream().mapToLong(millis).reduce(operator).orElse(System.currentTimeMillis());
+    }
+    
+    private static long getSuiteMillis(ISuite suite, LongBinaryOperator operator,
+            Function<ITestContext, Date> date) {
+        return suite.getResults().values().stream()
+                    .map(suiteResult -> date.apply(suiteResult.getTestContext()))
+                    .filter(Objects::nonNull)
+                    .mapToLong(Date::getTime)
+                    .reduce(operator)
+                    .orElse(System.currentTimeMillis());
     }
     
-    private String processParameters(ITestResult testResult) {
+    private static LocalDateTime toLocalDateTime(long millis) {
+        return Instant.ofEpochMilli(millis).atZone(ZoneId.systemDefault()).toLocalDateTime();
+    }
+    
+    private static String processParameters(ITestResult testResult) {
         if (testResult.getParameters().length > 0) {
             
             return Arrays.toString(testResult.getParameters());
@@ -204,46 +340,63 @@ public class JsonReporter {
         }
     }
     
-    private List<JsonLogEvent> processLogOutput(List<String> logOutput) {
-        List<String> logs = siftAndTrim(logOutput);
-        List<JsonLogEvent> logEvents = new ArrayList<>();
+    private static List<JsonLogEvent> processLogEvents(ITestResult result) {
+        TestLog testLog = TestLog.of(result);
+        if (testLog == null) {
+            
+            return new ArrayList<>();
+        }
         
-        for (int i = 0; i < logs.size(); i++) {
-            String logMessage = logs.get(i);
-            String screenshot = null;
+        List<JsonLogEvent> logEvents = new ArrayList<>();
+        for (LogEvent logEvent : testLog.getEvents()) {
+            String loggerName = logEvent.getLogger().substring(logEvent.getLogger().lastIndexOf(".") + 1);
+            String time = toLocalDateTime(logEvent.getTimestamp()).format(TIME_FORMATTER);
+            String logMessage = logEvent.getMessage().isEmpty() ? "" :
+                    time + " | " + logEvent.getLevel() + " | " + loggerName + " | " + logEvent.getMessage();
             
-            if ((i + 1) < logs.size()) {
-                if (checkForUuid(logs.get(i + 1))) {
-                    screenshot = ScreenshotData.getInstance().get(logs.get(i + 1));
-                    i++;
-                }
-            }
+            JsonLogEvent jsonLogEvent = new JsonLogEvent(logMessage, logEvent.getScreenshotId());
+            jsonLogEvent.setStepId(logEvent.getStepId());
+            jsonLogEvent.setTimestamp(logEvent.getTimestamp());
+            jsonLogEvent.setLevel(logEvent.getLevel());
+            jsonLogEvent.setLogger(logEvent.getLogger());
+            jsonLogEvent.setMessage(logEvent.getMessage());
+            jsonLogEvent.setResult(logEvent.getResult());
             
-            logEvents.add(new JsonLogEvent(logMessage, screenshot));
+            logEvents.add(jsonLogEvent);
         }
         
         return logEvents;
     }
     
-    private List<String> siftAndTrim(List<String> input) {
-        List<String> output = new ArrayList<>();
-        input.forEach(item -> {
-            // Yes, the reporter layout could be changed to accommodate this,
-            // but the console output will not be wrapped.
-            if (!item.isEmpty()) {
-                output.add(item.trim());
-            }
-        });
+    private static List<JsonStep> processSteps(ITestResult result) {
+        List<JsonStep> steps = new ArrayList<>();
+        for (StepTiming stepTiming : StepRecorder.getSteps(result)) {
+            JsonStep jsonStep = new JsonStep();
+            jsonStep.setStepId(stepTiming.getStepId());
+            jsonStep.setName(stepTiming.getName());
+            jsonStep.setTarget(stepTiming.getTarget());
+            jsonStep.setWallMillis(stepTiming.getWallMillis());
+            jsonStep.setWaitMillis(stepTiming.getWaitMillis());
+            jsonStep.setCommandCount(stepTiming.getCommandCount());
+            
+            steps.add(jsonStep);
+        }
         
-        return output;
+        return steps;
     }
     
-    private boolean checkForUuid(String input) {
-        if (input == null) {
+    private static List<JsonCommandTotal> processCommandTotals(Map<String, CommandRecorder.Total> totals) {
+        List<JsonCommandTotal> commandTotals = new ArrayList<>();
+        totals.forEach((name, total) -> {
+            JsonCommandTotal commandTotal = new JsonCommandTotal();
+            commandTotal.setName(name);
+            commandTotal.setCount(total.getCount());
+            commandTotal.setTotalMillis(total.getMillis());
             
-            return false;
-        }
+            commandTotals.add(commandTotal);
+        });
+        commandTotals.sort(Comparator.comparingLong(JsonCommandTotal::getTotalMillis).reversed());
         
-        return UUID_PATTERN.matcher(input).matches();
+        return commandTotals;
     }
 }
@@ -0,0 +1,34 @@
+/*
+Copyright Tim Slifer
+
+Licensed under the PolyForm Internal Use License, Version 1.0.0 (the "License");
+you may not use this file except in compliance with the License.
+A copy of the License may be obtained at
+
+https://polyformproject.org/licenses/internal-use/1.0.0/
+ */
+package dev.qadenz.automation.reporter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds every screenshot on the heap for the duration of the Suite. Suitable only for small Suites, or where the
+ * filesystem cannot be written to.
+ *
+ * @author Tim Slifer
+ */
+public class MemoryScreenshotStore implements ScreenshotStore {
+    
+    private final Map<String, byte[]> images = new ConcurrentHashMap<>();
+    
+    @Override
+    public void put(String id, byte[] image) {
+        images.put(id, image);
+    }
+    
+    @Override
+    public byte[] get(String id) {
+        return images.get(id);
+    }
+}
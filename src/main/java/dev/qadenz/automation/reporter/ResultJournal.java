@@ -0,0 +1,230 @@
+/*
+Copyright Tim Slifer
+
+Licensed under the PolyForm Internal Use License, Version 1.0.0 (the "License");
+you may not use this file except in compliance with the License.
+A copy of the License may be obtained at
+
+https://polyformproject.org/licenses/internal-use/1.0.0/
+ */
+package dev.qadenz.automation.reporter;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.qadenz.automation.logs.Loggers;
+import dev.qadenz.automation.reporter.model.JournalEntry;
+import dev.qadenz.automation.reporter.model.JsonLogEvent;
+import org.slf4j.Logger;
+import org.testng.IConfigurationListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Appends each finished test and configuration method to a JSON-lines journal in the Suite output directory as soon as
+ * the method completes. Every line is flushed when written, so the results of completed methods survive a run that is
+ * killed before TestNG calls the {@link TestReporter}. The journal is the source from which the JSON and HTML reports
+ * are compiled, and may be used to compile the reports of an interrupted run.
+ * <p>
+ * Screenshots are journaled by identifier only, the images themselves remain in the {@link ScreenshotStore}. Unless
+ * another directory is given, the {@link DiskScreenshotStore} writes the images and its index of identifiers to the
+ * screenshot directory beside the journal, from which they are resolved when compiling the reports of an interrupted
+ * run.
+ *
+ * @author Tim Slifer
+ */
+public class ResultJournal implements ISuiteListener, ITestListener, IConfigurationListener {
+    
+    private static final Logger LOG = Loggers.getSuiteLogger();
+    private static final String FILE_NAME = "suite-results.jsonl";
+    private static final String SCREENSHOT_DIRECTORY_NAME = "screenshots";
+    
+    private static final ObjectMapper objectMapper = new ObjectMapper()
+            .addMixIn(JsonLogEvent.class, JournaledLogEvent.class)
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    
+    private static final Map<File, BufferedWriter> journals = new HashMap<>();
+    
+    /**
+     * Excludes the Base64 image data from journaled log events.
+     */
+    @JsonIgnoreProperties({"screenshot"})
+    private abstract static class JournaledLogEvent {
+        
+    }
+    
+    /**
+     * Locates the journal written for the given Suite.
+     *
+     * @param suite The TestNG Suite.
+     *
+     * @return The journal file, which may not exist.
+     */
+    public static File getJournalFile(ISuite suite) {
+        return new File(suite.getOutputDirectory(), FILE_NAME);
+    }
+    
+    /**
+     * Locates the default directory of the {@link DiskScreenshotStore} for a Suite, beside its journal.
+     *
+     * @param suiteOutputDirectory The output directory of the Suite, which holds the journal.
+     *
+     * @return The screenshot directory, which may not exist.
+     */
+    public static File getScreenshotDirectory(String suiteOutputDirectory) {
+        return new File(suiteOutputDirectory, SCREENSHOT_DIRECTORY_NAME);
+    }
+    
+    /**
+     * Reads the entries of a journal. A line that cannot be read, such as one left incomplete by a run that was killed
+     * while writing, is logged and skipped.
+     *
+     * @param journalFile The journal file.
+     *
+     * @return The journaled entries, in the order the methods completed.
+     */
+    public static List<JournalEntry> read(File journalFile) {
+        List<JournalEntry> entries = new ArrayList<>();
+        
+        try (BufferedReader reader = Files.newBufferedReader(journalFile.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                
+                try {
+                    entries.add(objectMapper.readValue(line, JournalEntry.class));
+                }
+                catch (IOException e) {
+                    LOG.error("Skipping unreadable journal entry :: {}", e.getMessage());
+                }
+            }
+        }
+        catch (IOException e) {
+            LOG.error("Error reading results journal [{}].", journalFile, e);
+        }
+        
+        return entries;
+    }
+    
+    @Override
+    public void onStart(ISuite suite) {
+        File journalFile = getJournalFile(suite);
+        close(journalFile);
+        open(journalFile, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+    
+    @Override
+    public void onFinish(ISuite suite) {
+        close(getJournalFile(suite));
+    }
+    
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        append(result, JournalEntry.Category.PASSED_TEST);
+    }
+    
+    @Override
+    public void onTestFailure(ITestResult result) {
+        append(result, (result.getThrowable() instanceof AssertionError) ?
+                JournalEntry.Category.FAILED_TEST : JournalEntry.Category.STOPPED_TEST);
+    }
+    
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        append(result, result.wasRetried() ?
+                JournalEntry.Category.RETRIED_TEST : JournalEntry.Category.SKIPPED_TEST);
+    }
+    
+    @Override
+    public void onConfigurationFailure(ITestResult result) {
+        append(result, JournalEntry.Category.FAILED_CONFIGURATION);
+    }
+    
+    @Override
+    public void onConfigurationSkip(ITestResult result) {
+        append(result, JournalEntry.Category.SKIPPED_CONFIGURATION);
+    }
+    
+    private void append(ITestResult result, JournalEntry.Category category) {
+        ITestContext testContext = result.getTestContext();
+        if (testContext == null) {
+            return;
+        }
+        
+        JournalEntry entry = new JournalEntry();
+        entry.setSuiteName(testContext.getSuite().getName());
+        entry.setTestName(testContext.getName());
+        entry.setClassName(result.getTestClass().getName());
+        entry.setCategory(category);
+        entry.setStartMillis(result.getStartMillis());
+        entry.setEndMillis(result.getEndMillis());
+        entry.setMethod(JsonReporter.processMethodResult(result));
+        
+        File journalFile = getJournalFile(testContext.getSuite());
+        try {
+            String line = objectMapper.writeValueAsString(entry);
+            
+            synchronized (journals) {
+                BufferedWriter writer = journals.get(journalFile);
+                if (writer == null && (writer = open(journalFile, StandardOpenOption.APPEND)) == null) {
+                    return;
+                }
+                writer.write(line);
+                writer.newLine();
+                writer.flush();
+            }
+        }
+        catch (IOException e) {
+            LOG.error("Error writing results journal entry for [{}].", result.getName(), e);
+        }
+    }
+    
+    private static BufferedWriter open(File journalFile, StandardOpenOption mode) {
+        synchronized (journals) {
+            try {
+                Files.createDirectories(journalFile.toPath().toAbsolutePath().getParent());
+                BufferedWriter writer = Files.newBufferedWriter(journalFile.toPath(), StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE, mode);
+                journals.put(journalFile, writer);
+                
+                return writer;
+            }
+            catch (IOException e) {
+                LOG.error("Error opening results journal [{}].", journalFile, e);
+                
+                return null;
+            }
+        }
+    }
+    
+    private static void close(File journalFile) {
+        synchronized (journals) {
+            BufferedWriter writer = journals.remove(journalFile);
+            if (writer != null) {
+                try {
+                    writer.close();
+                }
+                catch (IOException e) {
+                    LOG.error("Error closing results journal [{}].", journalFile, e);
+                }
+            }
+        }
+    }
+}
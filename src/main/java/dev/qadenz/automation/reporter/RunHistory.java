@@ -0,0 +1,224 @@
+/*
+Copyright Tim Slifer
+
+Licensed under the PolyForm Internal Use License, Version 1.0.0 (the "License");
+you may not use this file except in compliance with the License.
+A copy of the License may be obtained at
+
+https://polyformproject.org/licenses/internal-use/1.0.0/
+ */
+package dev.qadenz.automation.reporter;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.qadenz.automation.logs.Loggers;
+import dev.qadenz.automation.reporter.model.JsonClass;
+import dev.qadenz.automation.reporter.model.JsonDurationTrend;
+import dev.qadenz.automation.reporter.model.JsonHistoryRecord;
+import dev.qadenz.automation.reporter.model.JsonMethod;
+import dev.qadenz.automation.reporter.model.JsonReport;
+import dev.qadenz.automation.reporter.model.JsonTest;
+import org.slf4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Keeps an append-only JSON-lines file of the outcome, duration, and number of recorded steps of every test method, one
+ * line per method per run, so that durations can be compared across runs. When a report is recorded, each passed
+ * method is given the median and 95th percentile of its durations in recent passed runs, and is flagged as regressed
+ * if it ran slower than both the 95th percentile and the median multiplied by the regression threshold.
+ *
+ * @author Tim Slifer
+ */
+public class RunHistory {
+    
+    /**
+     * The fewest passed runs of a method its trend is calculated from.
+     */
+    public static final int MIN_RUNS = 5;
+    
+    private static final Logger LOG = Loggers.getSuiteLogger();
+    
+    private static final String PASSED = "passed";
+    
+    private static final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    
+    private Path file;
+    private int window;
+    private double threshold;
+    
+    /**
+     * @param file The history file.
+     * @param window The number of recent passed runs of a method its trend is calculated from, at least
+     *         {@link #MIN_RUNS}.
+     * @param threshold The factor of the median duration beyond which a method is flagged as regressed.
+     */
+    public RunHistory(Path file, int window, double threshold) {
+        this.file = file;
+        this.window = window;
+        this.threshold = threshold;
+    }
+    
+    /**
+     * Sets the duration trend of each test method in the report from the history, then appends the methods of the
+     * report to the history.
+     *
+     * @param jsonReport The compiled report.
+     */
+    public synchronized void record(JsonReport jsonReport) {
+        Map<String, Deque<Long>> durations = readDurations();
+        
+        String runDate = Instant.ofEpochMilli(jsonReport.getSuiteStartMillis())
+                                .atZone(ZoneId.systemDefault())
+                                .toLocalDateTime().toString();
+        List<JsonHistoryRecord> records = new ArrayList<>();
+        int regressions = 0;
+        
+        for (JsonTest jsonTest : jsonReport.getTests()) {
+            collect(jsonReport, runDate, "failed", jsonTest.getFailedTests(), records);
+            collect(jsonReport, runDate, "stopped", jsonTest.getStoppedTests(), records);
+            collect(jsonReport, runDate, PASSED, jsonTest.getPassedTests(), records);
+            
+            for (JsonClass jsonClass : jsonTest.getPassedTests()) {
+                for (JsonMethod jsonMethod : jsonClass.getMethods()) {
+                    Deque<Long> history = durations.get(getKey(jsonClass.getClassName(), jsonMethod.getMethodName(),
+                            jsonMethod.getParameters()));
+                    if (history != null && history.size() >= MIN_RUNS) {
+                        JsonDurationTrend trend = getTrend(new ArrayList<>(history), jsonMethod.getDurationMillis());
+                        jsonMethod.setDurationTrend(trend);
+                        regressions += trend.isRegressed() ? 1 : 0;
+                    }
+                }
+            }
+        }
+        
+        write(records);
+        if (regressions > 0) {
+            LOG.warn("[{}] test methods ran notably slower than in previous runs.", regressions);
+        }
+    }
+    
+    private void collect(JsonReport jsonReport, String runDate, String result, List<JsonClass> jsonClasses,
+            List<JsonHistoryRecord> records) {
+        for (JsonClass jsonClass : jsonClasses) {
+            for (JsonMethod jsonMethod : jsonClass.getMethods()) {
+                JsonHistoryRecord record = new JsonHistoryRecord();
+                record.setRunDate(runDate);
+                record.setSuiteName(jsonReport.getSuiteName());
+                record.setClassName(jsonClass.getClassName());
+                record.setMethodName(jsonMethod.getMethodName());
+                record.setParameters(jsonMethod.getParameters());
+                record.setResult(result);
+                record.setDurationMillis(jsonMethod.getDurationMillis());
+                record.setStepCount((jsonMethod.getSteps() == null) ? 0 : jsonMethod.getSteps().size());
+                
+                records.add(record);
+            }
+        }
+    }
+    
+    private JsonDurationTrend getTrend(List<Long> history, long duration) {
+        history.sort(null);
+        long p50 = getPercentile(history, 50);
+        long p95 = getPercentile(history, 95);
+        
+        JsonDurationTrend trend = new JsonDurationTrend();
+        trend.setRuns(history.size());
+        trend.setP50Millis(p50);
+        trend.setP95Millis(p95);
+        trend.setRegressed(duration > p95 && duration > p50 * threshold);
+        
+        return trend;
+    }
+    
+    private long getPercentile(List<Long> sortedValues, int percentile) {
+        // Nearest-rank method.
+        int rank = (int) Math.ceil(percentile / 100.0 * sortedValues.size());
+        
+        return sortedValues.get(Math.max(0, rank - 1));
+    }
+    
+    private Map<String, Deque<Long>> readDurations() {
+        Map<String, Deque<Long>> durations = new HashMap<>();
+        if (!Files.exists(file)) {
+            return durations;
+        }
+        
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                
+                JsonHistoryRecord record;
+                try {
+                    record = objectMapper.readValue(line, JsonHistoryRecord.class);
+                }
+                catch (IOException e) {
+                    LOG.error("Skipping unreadable run history entry :: {}", e.getMessage());
+                    continue;
+                }
+                
+                if (PASSED.equals(record.getResult())) {
+                    String key = getKey(record.getClassName(), record.getMethodName(), record.getParameters());
+                    Deque<Long> history = durations.computeIfAbsent(key, k -> new ArrayDeque<>());
+                    history.addLast(record.getDurationMillis());
+                    if (history.size() > window) {
+                        history.removeFirst();
+                    }
+                }
+            }
+        }
+        catch (IOException e) {
+            LOG.error("Error reading run history [{}].", file, e);
+        }
+        
+        return durations;
+    }
+    
+    private void write(List<JsonHistoryRecord> records) {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                for (JsonHistoryRecord record : records) {
+                    writer.write(objectMapper.writeValueAsString(record));
+                    writer.newLine();
+                }
+            }
+        }
+        catch (IOException e) {
+            LOG.error("Error writing run history [{}].", file, e);
+        }
+    }
+    
+    private String getKey(String className, String methodName, String parameters) {
+        return className + "|" + methodName + "|" + Objects.toString(parameters, "");
+    }
+    
+    @Override
+    public String toString() {
+        return file.toAbsolutePath() + ", over " + window + " runs, flagging at x" + threshold;
+    }
+}
@@ -11,16 +11,11 @@ package dev.qadenz.automation.reporter;
 
 import dev.qadenz.automation.config.WebDriverProvider;
 import dev.qadenz.automation.logs.Loggers;
+import dev.qadenz.automation.logs.TestLog;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.slf4j.Logger;
-import org.testng.Reporter;
 
-import javax.imageio.ImageIO;
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayOutputStream;
-import java.io.File;
-import java.util.Base64;
 import java.util.UUID;
 
 /**
@@ -38,39 +33,75 @@ public class Screenshot {
      */
     public static final boolean SKIP = false;
     
+    private static final ThreadLocal<String> lastCapture = new ThreadLocal<>();
+    private static final ThreadLocal<String> replacedCapture = new ThreadLocal<>();
+    
     /**
-     * Captures and stores a screenshot of the current browser.
+     * Captures a screenshot of the current browser and queues it to be stored. Only the retrieval of the image from the
+     * browser happens on the calling thread, the image is encoded and stored in the background.
      */
     public void capture() {
         String uuid = UUID.randomUUID().toString();
         
-        String screenshot;
-        try {
-            File rawCapture = ((TakesScreenshot) WebDriverProvider.getWebDriver()).getScreenshotAs(OutputType.FILE);
-            BufferedImage convertedCapture = ImageIO.read(rawCapture);
-            screenshot = convertToBase64(convertedCapture);
+        byte[] capture = getCapture();
+        
+        TestLog.attachScreenshot(uuid);
+        ScreenshotProcessor.getInstance().submit(uuid, capture);
+        lastCapture.set(uuid);
+    }
+    
+    /**
+     * Checks whether a screenshot has been captured during the current test.
+     *
+     * @return True if a screenshot has been captured.
+     */
+    public boolean hasCapture() {
+        return lastCapture.get() != null;
+    }
+    
+    /**
+     * Logs a reference to the most recent screenshot captured during the current test, without capturing a new image.
+     * A new screenshot is captured if none exists yet.
+     */
+    public void reference() {
+        if (lastCapture.get() == null) {
+            capture();
         }
-        catch (Exception e) {
-            LOG.error("Error capturing image.", e);
-            
-            throw new RuntimeException(e);
+        else {
+            TestLog.attachScreenshot(lastCapture.get());
+        }
+    }
+    
+    /**
+     * Captures a screenshot of the current browser under an identifier shared by every call during the current test,
+     * replacing the image of the previous call, so that each reference shows the most recent capture. The reference is
+     * only logged once the image has been retrieved from the browser.
+     */
+    public void replace() {
+        byte[] capture = getCapture();
+        
+        if (replacedCapture.get() == null) {
+            replacedCapture.set(UUID.randomUUID().toString());
         }
         
-        Reporter.log(uuid);
-        ScreenshotData.getInstance().put(uuid, screenshot);
+        TestLog.attachScreenshot(replacedCapture.get());
+        ScreenshotProcessor.getInstance().submit(replacedCapture.get(), capture);
     }
     
-    private String convertToBase64(BufferedImage resizedCapture) {
-        LOG.debug("Converting to Base64.");
+    /**
+     * Clears the screenshots tracked for the current test.
+     */
+    public static void reset() {
+        lastCapture.remove();
+        replacedCapture.remove();
+    }
+    
+    private static byte[] getCapture() {
         try {
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            ImageIO.write(resizedCapture, "png", outputStream);
-            byte[] bytes = outputStream.toByteArray();
-            
-            return Base64.getEncoder().encodeToString(bytes);
+            return ((TakesScreenshot) WebDriverProvider.getWebDriver()).getScreenshotAs(OutputType.BYTES);
         }
         catch (Exception e) {
-            LOG.error("Error converting image.", e);
+            LOG.error("Error capturing image.", e);
             
             throw new RuntimeException(e);
         }
@@ -0,0 +1,119 @@
+/*
+Copyright Tim Slifer
+
+Licensed under the PolyForm Internal Use License, Version 1.0.0 (the "License");
+you may not use this file except in compliance with the License.
+A copy of the License may be obtained at
+
+https://polyformproject.org/licenses/internal-use/1.0.0/
+ */
+package dev.qadenz.automation.reporter;
+
+import dev.qadenz.automation.logs.Loggers;
+import dev.qadenz.automation.reporter.model.JsonClass;
+import dev.qadenz.automation.reporter.model.JsonLogEvent;
+import dev.qadenz.automation.reporter.model.JsonMethod;
+import dev.qadenz.automation.reporter.model.JsonReport;
+import dev.qadenz.automation.reporter.model.JsonTest;
+import org.slf4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the screenshots referenced by a {@link JsonReport} as files to a directory next to the report, along with a
+ * small thumbnail of each, and points each log event at its files. Screenshots shared by several log events are only
+ * written once.
+ *
+ * @author Tim Slifer
+ */
+public class ScreenshotExporter {
+    
+    private static final Logger LOG = Loggers.getReporterLogger();
+    
+    private static final ScreenshotPolicy THUMBNAIL_POLICY =
+            new ScreenshotPolicy(320, 0, ScreenshotPolicy.Format.JPEG, 0.7f, false);
+    
+    private File directory;
+    private String directoryName;
+    private Map<String, String[]> exported = new HashMap<>();
+    
+    /**
+     * @param outputDirectory The directory the report is written to.
+     * @param directoryName The name of the directory created within it to hold the screenshots.
+     */
+    public ScreenshotExporter(String outputDirectory, String directoryName) {
+        this.directory = new File(outputDirectory, directoryName);
+        this.directoryName = directoryName;
+    }
+    
+    /**
+     * Exports every screenshot referenced by the report.
+     *
+     * @param jsonReport The compiled report.
+     */
+    public void export(JsonReport jsonReport) {
+        if (!directory.exists() && !directory.mkdirs()) {
+            LOG.error("Could not create screenshot directory [{}].", directory);
+            
+            return;
+        }
+        
+        for (JsonTest jsonTest : jsonReport.getTests()) {
+            export(jsonTest.getFailedConfigurations());
+            export(jsonTest.getSkippedConfigurations());
+            export(jsonTest.getFailedTests());
+            export(jsonTest.getStoppedTests());
+            export(jsonTest.getSkippedTests());
+            export(jsonTest.getPassedTests());
+        }
+        LOG.info("Exported [{}] screenshots to [{}].", exported.size(), directory);
+    }
+    
+    private void export(List<JsonClass> jsonClasses) {
+        for (JsonClass jsonClass : jsonClasses) {
+            for (JsonMethod jsonMethod : jsonClass.getMethods()) {
+                for (JsonLogEvent jsonLogEvent : jsonMethod.getLogEvents()) {
+                    if (jsonLogEvent.getScreenshotId() != null) {
+                        export(jsonLogEvent);
+                    }
+                }
+            }
+        }
+    }
+    
+    private void export(JsonLogEvent jsonLogEvent) {
+        String[] files = exported.computeIfAbsent(jsonLogEvent.getScreenshotId(), this::writeFiles);
+        if (files != null) {
+            jsonLogEvent.setScreenshotFile(files[0]);
+            jsonLogEvent.setThumbnailFile(files[1]);
+        }
+    }
+    
+    private String[] writeFiles(String id) {
+        byte[] image = ScreenshotStoreProvider.getScreenshotStore().get(id);
+        if (image == null) {
+            return null;
+        }
+        
+        try {
+            String imageName = id + ScreenshotPolicy.Format.of(image).getExtension();
+            Files.write(new File(directory, imageName).toPath(), image);
+            
+            String thumbnailName = id + "-thumb" + ScreenshotPolicy.Format.JPEG.getExtension();
+            Files.write(new File(directory, thumbnailName).toPath(), THUMBNAIL_POLICY.apply(image));
+            
+            return new String[] {directoryName + "/" + imageName, directoryName + "/" + thumbnailName};
+        }
+        catch (IOException exception) {
+            LOG.error("Error writing screenshot [{}] :: {}: {}", id, exception.getClass().getSimpleName(),
+                    exception.getMessage());
+            
+            return null;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+Copyright Tim Slifer
+
+Licensed under the PolyForm Internal Use License, Version 1.0.0 (the "License");
+you may not use this file except in compliance with the License.
+A copy of the License may be obtained at
+
+https://polyformproject.org/licenses/internal-use/1.0.0/
+ */
+package dev.qadenz.automation.reporter;
+
+/**
+ * Determines how many screenshots are captured for failed Conditions during {@code check()} and {@code verify()}.
+ * Failures that do not trigger a new capture are logged with a reference to the image already captured, so that each
+ * failure on the report still shows a screenshot.
+ *
+ * @author Tim Slifer
+ */
+public enum ScreenshotMode {
+    
+    /**
+     * A screenshot is captured for every failed Condition.
+     */
+    EACH("each"),
+    
+    /**
+     * A screenshot is captured for the first failed Condition of each {@code check()} or {@code verify()}.
+     */
+    PER_VALIDATION("perValidation"),
+    
+    /**
+     * A screenshot is captured for the first failed Condition of the test.
+     */
+    FIRST("first"),
+    
+    /**
+     * A screenshot is captured for every failed Condition, replacing the previous capture of the test, so that every
+     * failed Condition of the test shows the capture of the last.
+     */
+    LAST("last");
+    
+    private String name;
+    
+    ScreenshotMode(String name) {
+        this.name = name;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    /**
+     * Finds the ScreenshotMode matching the given name, ignoring case.
+     *
+     * @param name The name of the mode.
+     *
+     * @return The matching ScreenshotMode.
+     *
+     * @throws IllegalArgumentException if no ScreenshotMode matches the given name.
+     */
+    public static ScreenshotMode fromString(String name) {
+        for (ScreenshotMode mode : values()) {
+            if (mode.getName().equalsIgnoreCase(name)) {
+                return mode;
+            }
+        }
+        
+        throw new IllegalArgumentException("Unrecognized Screenshot Mode [" + name + "].");
+    }
+}
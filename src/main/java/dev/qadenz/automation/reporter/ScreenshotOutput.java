@@ -0,0 +1,58 @@
+/*
+Copyright Tim Slifer
+
+Licensed under the PolyForm Internal Use License, Version 1.0.0 (the "License");
+you may not use this file except in compliance with the License.
+A copy of the License may be obtained at
+
+https://polyformproject.org/licenses/internal-use/1.0.0/
+ */
+package dev.qadenz.automation.reporter;
+
+/**
+ * Determines how screenshots are delivered with the report.
+ *
+ * @author Tim Slifer
+ */
+public enum ScreenshotOutput {
+    
+    /**
+     * Screenshots are embedded in the JSON and HTML reports as Base64 data.
+     */
+    EMBEDDED("embedded"),
+    
+    /**
+     * Screenshots are written as files to a directory next to the reports, along with thumbnails. The reports
+     * reference the files by path, and the HTML report loads the full images only when opened.
+     */
+    EXTERNAL("external");
+    
+    private String name;
+    
+    ScreenshotOutput(String name) {
+        this.name = name;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    /**
+     * Finds the ScreenshotOutput matching the given name, ignoring case.
+     *
+     * @param name The name of the output.
+     *
+     * @return The matching ScreenshotOutput.
+     *
+     * @throws IllegalArgumentException if no ScreenshotOutput matches the given name.
+     */
+    public static ScreenshotOutput fromString(String name) {
+        for (ScreenshotOutput output : values()) {
+            if (output.getName().equalsIgnoreCase(name)) {
+                return output;
+            }
+        }
+        
+        throw new IllegalArgumentException("Unrecognized Screenshot Output [" + name + "].");
+    }
+}
@@ -0,0 +1,216 @@
+/*
+Copyright Tim Slifer
+
+Licensed under the PolyForm Internal Use License, Version 1.0.0 (the "License");
+you may not use this file except in compliance with the License.
+A copy of the License may be obtained at
+
+https://polyformproject.org/licenses/internal-use/1.0.0/
+ */
+package dev.qadenz.automation.reporter;
+
+import org.imgscalr.Scalr;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * Describes how captured screenshots are processed before being stored. Images may be scaled down to fit within a
+ * maximum width and height, converted to grayscale, and encoded as JPEG at a given quality. The default policy stores
+ * the PNG returned by the browser as-is, without decoding it.
+ *
+ * @author Tim Slifer
+ */
+public class ScreenshotPolicy {
+    
+    private int maxWidth;
+    private int maxHeight;
+    private Format format;
+    private float quality;
+    private boolean grayscale;
+    
+    /**
+     * The formats images may be stored in.
+     */
+    public enum Format {
+        PNG("png", "image/png", ".png"),
+        JPEG("jpeg", "image/jpeg", ".jpg");
+        
+        private String name;
+        private String mediaType;
+        private String extension;
+        
+        Format(String name, String mediaType, String extension) {
+            this.name = name;
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+        
+        public String getName() {
+            return name;
+        }
+        
+        public String getMediaType() {
+            return mediaType;
+        }
+        
+        public String getExtension() {
+            return extension;
+        }
+        
+        /**
+         * Determines the Format of encoded image bytes from the leading signature.
+         *
+         * @param image The encoded image.
+         *
+         * @return JPEG if the image carries the JPEG signature, otherwise PNG.
+         */
+        public static Format of(byte[] image) {
+            boolean jpeg = image.length > 1 && image[0] == (byte) 0xFF && image[1] == (byte) 0xD8;
+            
+            return jpeg ? JPEG : PNG;
+        }
+        
+        /**
+         * Finds the Format matching the given name, ignoring case. Both {@code jpg} and {@code jpeg} are accepted.
+         *
+         * @param name The name of the format.
+         *
+         * @return The matching Format.
+         *
+         * @throws IllegalArgumentException if no Format matches the given name.
+         */
+        public static Format fromString(String name) {
+            if (name.equalsIgnoreCase("jpg")) {
+                return JPEG;
+            }
+            for (Format format : values()) {
+                if (format.getName().equalsIgnoreCase(name)) {
+                    return format;
+                }
+            }
+            
+            throw new IllegalArgumentException("Unrecognized Screenshot Format [" + name + "].");
+        }
+    }
+    
+    /**
+     * @param maxWidth The maximum width of a stored image in pixels, or zero for no limit.
+     * @param maxHeight The maximum height of a stored image in pixels, or zero for no limit.
+     * @param format The format images are stored in.
+     * @param quality The JPEG compression quality, between 0 and 1.
+     * @param grayscale Whether images are converted to grayscale.
+     */
+    public ScreenshotPolicy(int maxWidth, int maxHeight, Format format, float quality, boolean grayscale) {
+        this.maxWidth = maxWidth;
+        this.maxHeight = maxHeight;
+        this.format = format;
+        this.quality = quality;
+        this.grayscale = grayscale;
+    }
+    
+    /**
+     * @return A policy that stores the PNG returned by the browser without any processing.
+     */
+    public static ScreenshotPolicy original() {
+        return new ScreenshotPolicy(0, 0, Format.PNG, 1, false);
+    }
+    
+    public Format getFormat() {
+        return format;
+    }
+    
+    /**
+     * Applies this policy to a captured image.
+     *
+     * @param capture The PNG image returned by the browser.
+     *
+     * @return The processed image bytes.
+     *
+     * @throws IOException if the image cannot be decoded or encoded.
+     */
+    public byte[] apply(byte[] capture) throws IOException {
+        if (format == Format.PNG && maxWidth <= 0 && maxHeight <= 0 && !grayscale) {
+            return capture;
+        }
+        
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(capture));
+        
+        if (exceedsBounds(image)) {
+            int targetWidth = (maxWidth > 0) ? maxWidth : Integer.MAX_VALUE;
+            int targetHeight = (maxHeight > 0) ? maxHeight : Integer.MAX_VALUE;
+            double scale = Math.min((double) targetWidth / image.getWidth(), (double) targetHeight / image.getHeight());
+            
+            image = Scalr.resize(image, Scalr.Method.BALANCED, Scalr.Mode.FIT_EXACT,
+                    Math.max(1, (int) (image.getWidth() * scale)), Math.max(1, (int) (image.getHeight() * scale)));
+        }
+        
+        if (grayscale) {
+            image = convert(image, BufferedImage.TYPE_BYTE_GRAY);
+        }
+        
+        return (format == Format.JPEG) ? writeJpeg(image) : writePng(image);
+    }
+    
+    private boolean exceedsBounds(BufferedImage image) {
+        return (maxWidth > 0 && image.getWidth() > maxWidth) || (maxHeight > 0 && image.getHeight() > maxHeight);
+    }
+    
+    private BufferedImage convert(BufferedImage image, int imageType) {
+        if (image.getType() == imageType) {
+            return image;
+        }
+        
+        BufferedImage converted = new BufferedImage(image.getWidth(), image.getHeight(), imageType);
+        Graphics2D graphics = converted.createGraphics();
+        graphics.drawImage(image, 0, 0, null);
+        graphics.dispose();
+        
+        return converted;
+    }
+    
+    private byte[] writePng(BufferedImage image) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", outputStream);
+        
+        return outputStream.toByteArray();
+    }
+    
+    private byte[] writeJpeg(BufferedImage image) throws IOException {
+        // JPEG has no alpha channel.
+        if (image.getType() != BufferedImage.TYPE_BYTE_GRAY) {
+            image = convert(image, BufferedImage.TYPE_INT_RGB);
+        }
+        
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(quality);
+        
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (ImageOutputStream imageOutputStream = ImageIO.createImageOutputStream(outputStream)) {
+            writer.setOutput(imageOutputStream);
+            writer.write(null, new IIOImage(image, null, null), param);
+        }
+        finally {
+            writer.dispose();
+        }
+        
+        return outputStream.toByteArray();
+    }
+    
+    @Override
+    public String toString() {
+        return format.getName() + ((format == Format.JPEG) ? " at quality " + quality : "") +
+                ((maxWidth > 0 || maxHeight > 0) ? ", max " + maxWidth + "x" + maxHeight : "") +
+                (grayscale ? ", grayscale" : "");
+    }
+}
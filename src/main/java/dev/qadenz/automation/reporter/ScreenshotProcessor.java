@@ -0,0 +1,128 @@
+/*
+Copyright Tim Slifer
+
+Licensed under the PolyForm Internal Use License, Version 1.0.0 (the "License");
+you may not use this file except in compliance with the License.
+A copy of the License may be obtained at
+
+https://polyformproject.org/licenses/internal-use/1.0.0/
+ */
+package dev.qadenz.automation.reporter;
+
+import dev.qadenz.automation.logs.Loggers;
+import org.slf4j.Logger;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Processes captured screenshots according to the {@link ScreenshotPolicy} and stores them on a small pool of
+ * background threads, so that the test thread is only held for as long as it takes to retrieve the raw image from the
+ * browser. The queue of pending images is bounded. When it is full, the capturing thread processes its own image, which
+ * limits the memory held by raw captures when tests fail faster than images can be stored.
+ *
+ * @author Tim Slifer
+ */
+public class ScreenshotProcessor {
+    
+    private static final Logger LOG = Loggers.getSuiteLogger();
+    
+    private static final int THREADS = 2;
+    private static final int QUEUE_CAPACITY = 32;
+    
+    private static ScreenshotProcessor instance;
+    
+    private final ThreadPoolExecutor executor;
+    private volatile ScreenshotPolicy policy = ScreenshotPolicy.original();
+    private final AtomicLong submissions = new AtomicLong();
+    private final Map<String, Long> latestSubmissions = new ConcurrentHashMap<>();
+    private int pending;
+    
+    private ScreenshotProcessor() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(THREADS, THREADS, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY), runnable -> {
+            Thread thread = new Thread(runnable, "qadenz-screenshot-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            
+            return thread;
+        }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+    
+    public static synchronized ScreenshotProcessor getInstance() {
+        if (instance == null) {
+            instance = new ScreenshotProcessor();
+        }
+        
+        return instance;
+    }
+    
+    public ScreenshotPolicy getPolicy() {
+        return policy;
+    }
+    
+    public void setPolicy(ScreenshotPolicy policy) {
+        this.policy = policy;
+    }
+    
+    /**
+     * Queues a raw PNG capture to be processed and stored under the given identifier. When several captures are
+     * submitted under the same identifier, the store holds the last.
+     *
+     * @param uuid The identifier logged for the screenshot.
+     * @param capture The raw PNG image bytes.
+     */
+    public void submit(String uuid, byte[] capture) {
+        long sequence = submissions.incrementAndGet();
+        synchronized (this) {
+            pending++;
+        }
+        latestSubmissions.put(uuid, sequence);
+        
+        executor.execute(() -> {
+            try {
+                byte[] image = policy.apply(capture);
+                
+                // An image replaced by a later submission under the same identifier is discarded.
+                latestSubmissions.computeIfPresent(uuid, (id, latest) -> {
+                    if (latest != sequence) {
+                        return latest;
+                    }
+                    ScreenshotStoreProvider.getScreenshotStore().put(id, image);
+                    
+                    return null;
+                });
+            }
+            catch (Exception e) {
+                LOG.error("Error storing image.", e);
+            }
+            finally {
+                complete();
+            }
+        });
+    }
+    
+    /**
+     * Blocks until every queued screenshot has been stored. Called by the reporter before the stored images are read.
+     */
+    public synchronized void awaitCompletion() {
+        try {
+            while (pending > 0) {
+                wait();
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private synchronized void complete() {
+        pending--;
+        notifyAll();
+    }
+}
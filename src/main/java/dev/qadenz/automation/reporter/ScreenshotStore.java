@@ -0,0 +1,37 @@
+/*
+Copyright Tim Slifer
+
+Licensed under the PolyForm Internal Use License, Version 1.0.0 (the "License");
+you may not use this file except in compliance with the License.
+A copy of the License may be obtained at
+
+https://polyformproject.org/licenses/internal-use/1.0.0/
+ */
+package dev.qadenz.automation.reporter;
+
+/**
+ * Stores captured screenshots as encoded image bytes under the identifier logged for each image, for retrieval by the
+ * reporter. The bytes are PNG or JPEG, as set by the {@link ScreenshotPolicy} in effect at capture, and their format is
+ * read from their signature with {@link ScreenshotPolicy.Format#of(byte[])}.
+ *
+ * @author Tim Slifer
+ */
+public interface ScreenshotStore {
+    
+    /**
+     * Stores an image.
+     *
+     * @param id The identifier logged for the screenshot.
+     * @param image The encoded image bytes.
+     */
+    void put(String id, byte[] image);
+    
+    /**
+     * Retrieves a stored image.
+     *
+     * @param id The identifier logged for the screenshot.
+     *
+     * @return The encoded image bytes, or null if no image is stored for the identifier.
+     */
+    byte[] get(String id);
+}
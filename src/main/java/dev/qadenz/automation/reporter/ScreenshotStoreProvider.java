@@ -0,0 +1,47 @@
+/*
+Copyright Tim Slifer
+
+Licensed under the PolyForm Internal Use License, Version 1.0.0 (the "License");
+you may not use this file except in compliance with the License.
+A copy of the License may be obtained at
+
+https://polyformproject.org/licenses/internal-use/1.0.0/
+ */
+package dev.qadenz.automation.reporter;
+
+import org.apache.commons.io.FileUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Provides a centralized location for accessibility to the {@link ScreenshotStore}. Unless another store is set, images
+ * are written to a temporary directory with no in-memory cache, which is deleted when the JVM exits.
+ *
+ * @author Tim Slifer
+ */
+public class ScreenshotStoreProvider {
+    
+    private static ScreenshotStore store;
+    
+    public static synchronized void setScreenshotStore(ScreenshotStore screenshotStore) {
+        store = screenshotStore;
+    }
+    
+    public static synchronized ScreenshotStore getScreenshotStore() {
+        if (store == null) {
+            try {
+                Path directory = Files.createTempDirectory("qadenz-screenshots");
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> FileUtils.deleteQuietly(directory.toFile())));
+                store = new DiskScreenshotStore(directory, 0);
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        
+        return store;
+    }
+}
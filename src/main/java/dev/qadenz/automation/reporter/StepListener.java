@@ -0,0 +1,26 @@
+/*
+Copyright Tim Slifer
+
+Licensed under the PolyForm Internal Use License, Version 1.0.0 (the "License");
+you may not use this file except in compliance with the License.
+A copy of the License may be obtained at
+
+https://polyformproject.org/licenses/internal-use/1.0.0/
+ */
+package dev.qadenz.automation.reporter;
+
+/**
+ * Receives the timing of each command once it completes. Listeners are registered with
+ * {@link StepRecorder#addListener(StepListener)}, and are called on the thread that ran the command.
+ *
+ * @author Tim Slifer
+ */
+public interface StepListener {
+    
+    /**
+     * Called when a command completes, whether or not it succeeded.
+     *
+     * @param stepTiming The timing of the command.
+     */
+    void onStepFinished(StepTiming stepTiming);
+}
@@ -0,0 +1,220 @@
+/*
+Copyright Tim Slifer
+
+Licensed under the PolyForm Internal Use License, Version 1.0.0 (the "License");
+you may not use this file except in compliance with the License.
+A copy of the License may be obtained at
+
+https://polyformproject.org/licenses/internal-use/1.0.0/
+ */
+package dev.qadenz.automation.reporter;
+
+import dev.qadenz.automation.logs.Loggers;
+import dev.qadenz.automation.logs.TestLog;
+import org.slf4j.Logger;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Times the commands of {@link dev.qadenz.automation.commands.WebCommander},
+ * {@link dev.qadenz.automation.commands.WebInspector}, {@link dev.qadenz.automation.commands.Browser}, and the
+ * validations of {@link dev.qadenz.automation.commands.Commands}. Each command opens a {@link Step} for its duration.
+ * Time spent waiting and WebDriver commands sent while the step is open are added to it. A command called from within
+ * another command, such as an inspection made while evaluating a Condition, is counted as part of the outer step.
+ * <p>
+ * Completed steps are kept with the TestNG result of the running method for the report, and passed to any registered
+ * {@link StepListener}s.
+ *
+ * @author Tim Slifer
+ */
+public class StepRecorder {
+    
+    private static final Logger LOG = Loggers.getSuiteLogger();
+    
+    private static final String ATTRIBUTE = StepRecorder.class.getName();
+    
+    private static final List<StepListener> listeners = new CopyOnWriteArrayList<>();
+    private static final ThreadLocal<Step> activeStep = new ThreadLocal<>();
+    private static volatile boolean countingCommands;
+    
+    private StepRecorder() {
+        // Utility
+    }
+    
+    /**
+     * A command in progress. Closing the step records its timing.
+     */
+    public static class Step implements AutoCloseable {
+        
+        private final String name;
+        private final String target;
+        private final int stepId;
+        private final long startMillis = System.currentTimeMillis();
+        private final long startNanos = System.nanoTime();
+        private long waitNanos;
+        private int waitDepth;
+        private int commandCount;
+        
+        private Step(String name, String target, int stepId) {
+            this.name = name;
+            this.target = target;
+            this.stepId = stepId;
+        }
+        
+        @Override
+        public void close() {
+            if (this == NESTED) {
+                return;
+            }
+            activeStep.remove();
+            
+            long wallMillis = (System.nanoTime() - startNanos) / 1_000_000;
+            StepTiming stepTiming = new StepTiming(name, target, stepId, startMillis, wallMillis,
+                    waitNanos / 1_000_000, countingCommands ? commandCount : null);
+            finish(stepTiming);
+        }
+    }
+    
+    private static final Step NESTED = new Step(null, null, 0);
+    
+    /**
+     * Registers a listener to be called as each step completes.
+     *
+     * @param listener The StepListener.
+     */
+    public static void addListener(StepListener listener) {
+        listeners.add(listener);
+    }
+    
+    /**
+     * Removes a registered listener.
+     *
+     * @param listener The StepListener.
+     */
+    public static void removeListener(StepListener listener) {
+        listeners.remove(listener);
+    }
+    
+    /**
+     * Opens a step for a command on the current thread. If a step is already open, the command is counted as part of
+     * it, and the returned step does nothing when closed.
+     *
+     * @param name The name of the command.
+     * @param target The name of the element or group the command acts on, or null.
+     *
+     * @return The Step, to be closed when the command completes.
+     */
+    public static Step start(String name, String target) {
+        if (activeStep.get() != null) {
+            return NESTED;
+        }
+        
+        TestLog testLog = TestLog.getCurrent();
+        Step step = new Step(name, target, (testLog == null) ? 0 : testLog.getNextStepId());
+        activeStep.set(step);
+        
+        return step;
+    }
+    
+    /**
+     * Marks the start of a wait on the current thread. Waits nested within another wait, such as finding an element
+     * while waiting for a Condition, are only counted once.
+     *
+     * @return The start time of the wait, to be passed to {@link #endWait(long)}.
+     */
+    public static long beginWait() {
+        Step step = activeStep.get();
+        if (step != null) {
+            step.waitDepth++;
+        }
+        
+        return System.nanoTime();
+    }
+    
+    /**
+     * Marks the end of a wait on the current thread, adding its duration to the open step, if any.
+     *
+     * @param startNanos The start time returned by {@link #beginWait()}.
+     */
+    public static void endWait(long startNanos) {
+        Step step = activeStep.get();
+        if (step != null && --step.waitDepth == 0) {
+            step.waitNanos += System.nanoTime() - startNanos;
+        }
+    }
+    
+    /**
+     * Marks that WebDriver commands are being counted, so that completed steps report a command count.
+     */
+    public static void enableCommandCount() {
+        countingCommands = true;
+    }
+    
+    /**
+     * Counts a WebDriver command sent by the current thread against the open step, if any.
+     */
+    public static void addCommand() {
+        Step step = activeStep.get();
+        if (step != null) {
+            step.commandCount++;
+        }
+    }
+    
+    /**
+     * @return The name of the element or group targeted by the step open on the current thread, or null.
+     */
+    public static String getActiveTarget() {
+        Step step = activeStep.get();
+        
+        return (step != null) ? step.target : null;
+    }
+    
+    /**
+     * Retrieves the steps recorded for a test or configuration method.
+     *
+     * @param result The TestNG result.
+     *
+     * @return The recorded steps, in the order they completed.
+     */
+    @SuppressWarnings("unchecked")
+    public static List<StepTiming> getSteps(ITestResult result) {
+        List<StepTiming> steps = (List<StepTiming>) result.getAttribute(ATTRIBUTE);
+        if (steps == null) {
+            return new ArrayList<>();
+        }
+        
+        synchronized (steps) {
+            return new ArrayList<>(steps);
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static void finish(StepTiming stepTiming) {
+        ITestResult result = Reporter.getCurrentTestResult();
+        if (result != null) {
+            synchronized (result) {
+                List<StepTiming> steps = (List<StepTiming>) result.getAttribute(ATTRIBUTE);
+                if (steps == null) {
+                    steps = new ArrayList<>();
+                    result.setAttribute(ATTRIBUTE, steps);
+                }
+                synchronized (steps) {
+                    steps.add(stepTiming);
+                }
+            }
+        }
+        
+        for (StepListener listener : listeners) {
+            try {
+                listener.onStepFinished(stepTiming);
+            }
+            catch (Exception e) {
+                LOG.error("Error notifying step listener.", e);
+            }
+        }
+    }
+}
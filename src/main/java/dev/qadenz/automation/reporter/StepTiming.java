@@ -0,0 +1,82 @@
+/*
+Copyright Tim Slifer
+
+Licensed under the PolyForm Internal Use License, Version 1.0.0 (the "License");
+you may not use this file except in compliance with the License.
+A copy of the License may be obtained at
+
+https://polyformproject.org/licenses/internal-use/1.0.0/
+ */
+package dev.qadenz.automation.reporter;
+
+/**
+ * The timing of a single command. The wall time covers the whole command, of which the wait time was spent waiting
+ * for elements or conditions. The command count is the number of WebDriver commands sent during the step, and is only
+ * known when WebDriver commands are instrumented.
+ *
+ * @author Tim Slifer
+ */
+public class StepTiming {
+    
+    private final String name;
+    private final String target;
+    private final int stepId;
+    private final long startMillis;
+    private final long wallMillis;
+    private final long waitMillis;
+    private final Integer commandCount;
+    
+    /**
+     * @param name The name of the command.
+     * @param target The name of the element or group the command acted on, or null.
+     * @param stepId The step ID of the first log event of the command within its test.
+     * @param startMillis The time the command started, in milliseconds since the epoch.
+     * @param wallMillis The duration of the command.
+     * @param waitMillis The time spent waiting during the command.
+     * @param commandCount The number of WebDriver commands sent, or null if not instrumented.
+     */
+    public StepTiming(String name, String target, int stepId, long startMillis, long wallMillis, long waitMillis,
+            Integer commandCount) {
+        this.name = name;
+        this.target = target;
+        this.stepId = stepId;
+        this.startMillis = startMillis;
+        this.wallMillis = wallMillis;
+        this.waitMillis = waitMillis;
+        this.commandCount = commandCount;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public String getTarget() {
+        return target;
+    }
+    
+    public int getStepId() {
+        return stepId;
+    }
+    
+    public long getStartMillis() {
+        return startMillis;
+    }
+    
+    public long getWallMillis() {
+        return wallMillis;
+    }
+    
+    public long getWaitMillis() {
+        return waitMillis;
+    }
+    
+    public Integer getCommandCount() {
+        return commandCount;
+    }
+    
+    @Override
+    public String toString() {
+        return name + ((target != null) ? " [" + target + "]" : "") + " in " + wallMillis + "ms, waited " +
+                waitMillis + "ms" + ((commandCount != null) ? ", " + commandCount + " commands" : "");
+    }
+}
@@ -11,7 +11,9 @@ package dev.qadenz.automation.reporter;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
+import dev.qadenz.automation.config.WebConfig;
 import dev.qadenz.automation.logs.Loggers;
+import dev.qadenz.automation.reporter.model.JournalEntry;
 import dev.qadenz.automation.reporter.model.JsonReport;
 import org.slf4j.Logger;
 import org.testng.IReporter;
@@ -20,6 +22,7 @@ import org.testng.xml.XmlSuite;
 
 import java.io.File;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * Compiles Suite results using a JSON model to store data, and a custom stand-alone HTML report that presents the
@@ -35,13 +38,63 @@ public class TestReporter implements IReporter {
     @Override
     public void generateReport(List<XmlSuite> xmlSuites, List<ISuite> suites, String outputDirectory) {
         
+        ScreenshotProcessor.getInstance().awaitCompletion();
+        
         LOG.info("Starting JSON Compilation.");
-        JsonReporter jsonReporter = new JsonReporter(suites.get(0));
-        JsonReport jsonReport = jsonReporter.compileJsonReport();
+        List<JsonReport> jsonReports = suites.parallelStream()
+                                             .map(TestReporter::compileJsonReport)
+                                             .collect(Collectors.toList());
+        
+        for (int i = 0; i < suites.size(); i++) {
+            // A single Suite keeps the plain file name, multiple Suites are told apart by name.
+            String fileName = (suites.size() == 1) ? FILE_NAME : FILE_NAME + "-" + getFileSafeName(suites.get(i));
+            if (WebConfig.runHistory != null) {
+                WebConfig.runHistory.record(jsonReports.get(i));
+            }
+            writeReport(jsonReports.get(i), outputDirectory, fileName);
+        }
+    }
+    
+    /**
+     * Compiles the JSON and HTML reports from a {@link ResultJournal} alone. Intended for recovering the results of a
+     * run that was interrupted before TestNG called the reporter. Screenshots are read from the screenshot directory
+     * beside the journal, where the {@link DiskScreenshotStore} writes them by default.
+     *
+     * @param journalFile The journal written during the run.
+     * @param outputDirectory The directory the reports are written to.
+     */
+    public static void generateReport(File journalFile, String outputDirectory) {
+        File screenshotDirectory = ResultJournal.getScreenshotDirectory(journalFile.getAbsoluteFile().getParent());
+        if (screenshotDirectory.isDirectory()) {
+            ScreenshotStoreProvider.setScreenshotStore(new DiskScreenshotStore(screenshotDirectory.toPath(), 0));
+        }
+        
+        List<JournalEntry> journal = ResultJournal.read(journalFile);
+        String suiteName = journal.isEmpty() ? journalFile.getParentFile().getName() : journal.get(0).getSuiteName();
+        
+        writeReport(new JsonReporter(suiteName, journal).compileJsonReport(), outputDirectory, FILE_NAME);
+    }
+    
+    private static JsonReport compileJsonReport(ISuite suite) {
+        File journalFile = ResultJournal.getJournalFile(suite);
+        JsonReporter jsonReporter = journalFile.exists() ?
+                new JsonReporter(suite.getName(), ResultJournal.read(journalFile)) : new JsonReporter(suite);
+        
+        return jsonReporter.compileJsonReport();
+    }
+    
+    private static String getFileSafeName(ISuite suite) {
+        return suite.getName().replaceAll("[^A-Za-z0-9._-]+", "_");
+    }
+    
+    private static void writeReport(JsonReport jsonReport, String outputDirectory, String fileName) {
+        if (WebConfig.screenshotOutput == ScreenshotOutput.EXTERNAL) {
+            new ScreenshotExporter(outputDirectory, fileName + "-screenshots").export(jsonReport);
+        }
         
         try {
             ObjectWriter objectWriter = new ObjectMapper().writer().withDefaultPrettyPrinter();
-            objectWriter.writeValue(new File(outputDirectory, FILE_NAME + ".json"), jsonReport);
+            objectWriter.writeValue(new File(outputDirectory, fileName + ".json"), jsonReport);
         }
         catch (Exception exception) {
             LOG.error("Error writing JSON file :: {}: {}", exception.getClass().getSimpleName(),
@@ -49,6 +102,6 @@ public class TestReporter implements IReporter {
         }
         
         HtmlReporter htmlReporter = new HtmlReporter(jsonReport);
-        htmlReporter.generateReport(outputDirectory, FILE_NAME);
+        htmlReporter.generateReport(outputDirectory, fileName);
     }
 }
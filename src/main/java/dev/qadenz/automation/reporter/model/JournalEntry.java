@@ -0,0 +1,98 @@
+/*
+Copyright Tim Slifer
+
+Licensed under the PolyForm Internal Use License, Version 1.0.0 (the "License");
+you may not use this file except in compliance with the License.
+A copy of the License may be obtained at
+
+https://polyformproject.org/licenses/internal-use/1.0.0/
+ */
+package dev.qadenz.automation.reporter.model;
+
+/**
+ * Models a single line of the results journal. Each entry holds one finished test or configuration method, along with
+ * the Suite, {@code <test>}, and class it belongs to and the category it is reported under.
+ *
+ * @author Tim Slifer
+ */
+public class JournalEntry {
+    
+    private String suiteName;
+    private String testName;
+    private String className;
+    private Category category;
+    
+    private long startMillis;
+    private long endMillis;
+    
+    private JsonMethod method;
+    
+    /**
+     * The sections of a {@link JsonTest} a method may be reported under.
+     */
+    public enum Category {
+        FAILED_CONFIGURATION,
+        SKIPPED_CONFIGURATION,
+        FAILED_TEST,
+        STOPPED_TEST,
+        SKIPPED_TEST,
+        RETRIED_TEST,
+        PASSED_TEST
+    }
+    
+    public String getSuiteName() {
+        return suiteName;
+    }
+    
+    public void setSuiteName(String suiteName) {
+        this.suiteName = suiteName;
+    }
+    
+    public String getTestName() {
+        return testName;
+    }
+    
+    public void setTestName(String testName) {
+        this.testName = testName;
+    }
+    
+    public String getClassName() {
+        return className;
+    }
+    
+    public void setClassName(String className) {
+        this.className = className;
+    }
+    
+    public Category getCategory() {
+        return category;
+    }
+    
+    public void setCategory(Category category) {
+        this.category = category;
+    }
+    
+    public long getStartMillis() {
+        return startMillis;
+    }
+    
+    public void setStartMillis(long startMillis) {
+        this.startMillis = startMillis;
+    }
+    
+    public long getEndMillis() {
+        return endMillis;
+    }
+    
+    public void setEndMillis(long endMillis) {
+        this.endMillis = endMillis;
+    }
+    
+    public JsonMethod getMethod() {
+        return method;
+    }
+    
+    public void setMethod(JsonMethod method) {
+        this.method = method;
+    }
+}
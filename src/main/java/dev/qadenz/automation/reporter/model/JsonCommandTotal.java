@@ -0,0 +1,47 @@
+/*
+Copyright Tim Slifer
+
+Licensed under the PolyForm Internal Use License, Version 1.0.0 (the "License");
+you may not use this file except in compliance with the License.
+A copy of the License may be obtained at
+
+https://polyformproject.org/licenses/internal-use/1.0.0/
+ */
+package dev.qadenz.automation.reporter.model;
+
+/**
+ * Models the number and total duration of the WebDriver commands of one type, or sent for one element, within a test
+ * method.
+ *
+ * @author Tim Slifer
+ */
+public class JsonCommandTotal {
+    
+    private String name;
+    private int count;
+    private long totalMillis;
+    
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+    
+    public int getCount() {
+        return count;
+    }
+    
+    public void setCount(int count) {
+        this.count = count;
+    }
+    
+    public long getTotalMillis() {
+        return totalMillis;
+    }
+    
+    public void setTotalMillis(long totalMillis) {
+        this.totalMillis = totalMillis;
+    }
+}
@@ -0,0 +1,55 @@
+/*
+Copyright Tim Slifer
+
+Licensed under the PolyForm Internal Use License, Version 1.0.0 (the "License");
+you may not use this file except in compliance with the License.
+A copy of the License may be obtained at
+
+https://polyformproject.org/licenses/internal-use/1.0.0/
+ */
+package dev.qadenz.automation.reporter.model;
+
+/**
+ * Models the duration of a test method across previous runs, and whether the current run is notably slower.
+ *
+ * @author Tim Slifer
+ */
+public class JsonDurationTrend {
+    
+    private int runs;
+    private long p50Millis;
+    private long p95Millis;
+    private boolean regressed;
+    
+    public int getRuns() {
+        return runs;
+    }
+    
+    public void setRuns(int runs) {
+        this.runs = runs;
+    }
+    
+    public long getP50Millis() {
+        return p50Millis;
+    }
+    
+    public void setP50Millis(long p50Millis) {
+        this.p50Millis = p50Millis;
+    }
+    
+    public long getP95Millis() {
+        return p95Millis;
+    }
+    
+    public void setP95Millis(long p95Millis) {
+        this.p95Millis = p95Millis;
+    }
+    
+    public boolean isRegressed() {
+        return regressed;
+    }
+    
+    public void setRegressed(boolean regressed) {
+        this.regressed = regressed;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+Copyright Tim Slifer
+
+Licensed under the PolyForm Internal Use License, Version 1.0.0 (the "License");
+you may not use this file except in compliance with the License.
+A copy of the License may be obtained at
+
+https://polyformproject.org/licenses/internal-use/1.0.0/
+ */
+package dev.qadenz.automation.reporter.model;
+
+/**
+ * Models a single line of the run history, holding the outcome and duration of one test method in one run.
+ *
+ * @author Tim Slifer
+ */
+public class JsonHistoryRecord {
+    
+    private String runDate;
+    private String suiteName;
+    private String className;
+    private String methodName;
+    private String parameters;
+    private String result;
+    private long durationMillis;
+    private int stepCount;
+    
+    public String getRunDate() {
+        return runDate;
+    }
+    
+    public void setRunDate(String runDate) {
+        this.runDate = runDate;
+    }
+    
+    public String getSuiteName() {
+        return suiteName;
+    }
+    
+    public void setSuiteName(String suiteName) {
+        this.suiteName = suiteName;
+    }
+    
+    public String getClassName() {
+        return className;
+    }
+    
+    public void setClassName(String className) {
+        this.className = className;
+    }
+    
+    public String getMethodName() {
+        return methodName;
+    }
+    
+    public void setMethodName(String methodName) {
+        this.methodName = methodName;
+    }
+    
+    public String getParameters() {
+        return parameters;
+    }
+    
+    public void setParameters(String parameters) {
+        this.parameters = parameters;
+    }
+    
+    public String getResult() {
+        return result;
+    }
+    
+    public void setResult(String result) {
+        this.result = result;
+    }
+    
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+    
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+    
+    public int getStepCount() {
+        return stepCount;
+    }
+    
+    public void setStepCount(int stepCount) {
+        this.stepCount = stepCount;
+    }
+}
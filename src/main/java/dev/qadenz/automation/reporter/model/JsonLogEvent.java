@@ -9,26 +9,128 @@ https://polyformproject.org/licenses/internal-use/1.0.0/
  */
 package dev.qadenz.automation.reporter.model;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import dev.qadenz.automation.reporter.ScreenshotStoreProvider;
+
+import java.util.Base64;
+
 /**
- * Models individual logging events as test steps, along with Base64 encoded screenshots of failures and errors.
+ * Models individual logging events as test steps, along with Base64 encoded screenshots of failures and errors. Along
+ * with the formatted log line, each event carries its position within the test, timestamp, level, logger, message, and
+ * the result of the validation it reports, if any. The screenshot is read from the
+ * {@link dev.qadenz.automation.reporter.ScreenshotStore} each time it is requested, so that images are not held in
+ * memory by the report model. When screenshots are written to files alongside the report, the event references the
+ * files by path instead, and no Base64 data is included.
  *
  * @author Tim Slifer
  */
 public class JsonLogEvent {
     
     private String logMessage;
-    private String screenshot;
     
-    public JsonLogEvent(String logMessage, String screenshot) {
+    private int stepId;
+    private long timestamp;
+    private String level;
+    private String logger;
+    private String message;
+    private String result;
+    
+    private String screenshotId;
+    private String screenshotFile;
+    private String thumbnailFile;
+    
+    @JsonCreator
+    public JsonLogEvent(@JsonProperty("logMessage") String logMessage,
+            @JsonProperty("screenshotId") String screenshotId) {
         this.logMessage = logMessage;
-        this.screenshot = screenshot;
+        this.screenshotId = screenshotId;
     }
     
     public String getLogMessage() {
         return logMessage;
     }
     
+    public int getStepId() {
+        return stepId;
+    }
+    
+    public void setStepId(int stepId) {
+        this.stepId = stepId;
+    }
+    
+    public long getTimestamp() {
+        return timestamp;
+    }
+    
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+    
+    public String getLevel() {
+        return level;
+    }
+    
+    public void setLevel(String level) {
+        this.level = level;
+    }
+    
+    public String getLogger() {
+        return logger;
+    }
+    
+    public void setLogger(String logger) {
+        this.logger = logger;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+    
+    public void setMessage(String message) {
+        this.message = message;
+    }
+    
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public String getResult() {
+        return result;
+    }
+    
+    public void setResult(String result) {
+        this.result = result;
+    }
+    
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public String getScreenshotId() {
+        return screenshotId;
+    }
+    
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public String getScreenshotFile() {
+        return screenshotFile;
+    }
+    
+    public void setScreenshotFile(String screenshotFile) {
+        this.screenshotFile = screenshotFile;
+    }
+    
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public String getThumbnailFile() {
+        return thumbnailFile;
+    }
+    
+    public void setThumbnailFile(String thumbnailFile) {
+        this.thumbnailFile = thumbnailFile;
+    }
+    
     public String getScreenshot() {
-        return screenshot;
+        if (screenshotId == null || screenshotFile != null) {
+            return null;
+        }
+        
+        byte[] image = ScreenshotStoreProvider.getScreenshotStore().get(screenshotId);
+        
+        return (image == null) ? null : Base64.getEncoder().encodeToString(image);
     }
 }
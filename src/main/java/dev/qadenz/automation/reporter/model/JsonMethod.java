@@ -9,6 +9,8 @@ https://polyformproject.org/licenses/internal-use/1.0.0/
  */
 package dev.qadenz.automation.reporter.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.util.List;
 
 /**
@@ -23,8 +25,13 @@ public class JsonMethod {
     
     private String testStartTime;
     private String testExecutionTime;
+    private long durationMillis;
+    private JsonDurationTrend durationTrend;
     
     private List<JsonLogEvent> logEvents;
+    private List<JsonStep> steps;
+    private List<JsonCommandTotal> commandTotals;
+    private List<JsonCommandTotal> targetCommandTotals;
     
     private String stackTrace;
     
@@ -60,6 +67,23 @@ public class JsonMethod {
         this.testExecutionTime = testExecutionTime;
     }
     
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+    
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+    
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public JsonDurationTrend getDurationTrend() {
+        return durationTrend;
+    }
+    
+    public void setDurationTrend(JsonDurationTrend durationTrend) {
+        this.durationTrend = durationTrend;
+    }
+    
     public List<JsonLogEvent> getLogEvents() {
         return logEvents;
     }
@@ -68,6 +92,33 @@ public class JsonMethod {
         this.logEvents = logEvents;
     }
     
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    public List<JsonStep> getSteps() {
+        return steps;
+    }
+    
+    public void setSteps(List<JsonStep> steps) {
+        this.steps = steps;
+    }
+    
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    public List<JsonCommandTotal> getCommandTotals() {
+        return commandTotals;
+    }
+    
+    public void setCommandTotals(List<JsonCommandTotal> commandTotals) {
+        this.commandTotals = commandTotals;
+    }
+    
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    public List<JsonCommandTotal> getTargetCommandTotals() {
+        return targetCommandTotals;
+    }
+    
+    public void setTargetCommandTotals(List<JsonCommandTotal> targetCommandTotals) {
+        this.targetCommandTotals = targetCommandTotals;
+    }
+    
     public String getStackTrace() {
         return stackTrace;
     }
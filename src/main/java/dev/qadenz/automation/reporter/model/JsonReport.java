@@ -20,6 +20,7 @@ public class JsonReport {
     
     private String suiteName;
     private String suiteStartDate;
+    private long suiteStartMillis;
     private String suiteExecutionTime;
     
     private String browser;
@@ -46,6 +47,14 @@ public class JsonReport {
         this.suiteStartDate = suiteStartDate;
     }
     
+    public long getSuiteStartMillis() {
+        return suiteStartMillis;
+    }
+    
+    public void setSuiteStartMillis(long suiteStartMillis) {
+        this.suiteStartMillis = suiteStartMillis;
+    }
+    
     public String getSuiteExecutionTime() {
         return suiteExecutionTime;
     }
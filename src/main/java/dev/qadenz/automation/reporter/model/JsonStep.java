@@ -0,0 +1,78 @@
+/*
+Copyright Tim Slifer
+
+Licensed under the PolyForm Internal Use License, Version 1.0.0 (the "License");
+you may not use this file except in compliance with the License.
+A copy of the License may be obtained at
+
+https://polyformproject.org/licenses/internal-use/1.0.0/
+ */
+package dev.qadenz.automation.reporter.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Models the timing of a single command within a test method. The step ID matches the log event the command began
+ * with.
+ *
+ * @author Tim Slifer
+ */
+public class JsonStep {
+    
+    private int stepId;
+    private String name;
+    private String target;
+    private long wallMillis;
+    private long waitMillis;
+    private Integer commandCount;
+    
+    public int getStepId() {
+        return stepId;
+    }
+    
+    public void setStepId(int stepId) {
+        this.stepId = stepId;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+    
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public String getTarget() {
+        return target;
+    }
+    
+    public void setTarget(String target) {
+        this.target = target;
+    }
+    
+    public long getWallMillis() {
+        return wallMillis;
+    }
+    
+    public void setWallMillis(long wallMillis) {
+        this.wallMillis = wallMillis;
+    }
+    
+    public long getWaitMillis() {
+        return waitMillis;
+    }
+    
+    public void setWaitMillis(long waitMillis) {
+        this.waitMillis = waitMillis;
+    }
+    
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public Integer getCommandCount() {
+        return commandCount;
+    }
+    
+    public void setCommandCount(Integer commandCount) {
+        this.commandCount = commandCount;
+    }
+}
@@ -36,14 +36,15 @@ SOFTWARE.
 package dev.qadenz.automation.ui;
 
 import org.openqa.selenium.By;
-import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.InvalidSelectorException;
+import org.openqa.selenium.JavascriptException;
 import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.SearchContext;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -67,24 +68,37 @@ public abstract class BySizzle extends By {
         return new BySizzleCssSelector(sizzleCssSelector);
     }
     
+    /**
+     * Find elements via the injected Sizzle CSS engine, resolving each selector only within the elements matched by the
+     * selector before it.
+     *
+     * @param sizzleCssSelectors CSS expressions, from the outermost scope inward.
+     *
+     * @return A By which locates elements by scoped Sizzle CSS.
+     */
+    public static By scoped(final List<String> sizzleCssSelectors) {
+        if (sizzleCssSelectors == null || sizzleCssSelectors.isEmpty()) {
+            throw new IllegalArgumentException("The selectors cannot be empty.");
+        }
+        return new BySizzleScopedSelector(sizzleCssSelectors);
+    }
+    
     public static class BySizzleCssSelector extends By implements Serializable {
         
+        private static final String QUERY_SCRIPT = "return Sizzle(arguments[0]);";
+        
         private String selector;
-        private String sizzleScript;
         
         public BySizzleCssSelector(String selector) {
             this.selector = selector;
-            this.sizzleScript = SizzleScript.getInstance().getScript();
         }
         
         @Override
         public WebElement findElement(SearchContext context) {
-            WebDriver driver = getWebDriver(context);
-            injectSizzleIfNeeded(driver);
-            List elements = runSizzle(driver);
+            List<WebElement> elements = findElements(context);
             
             if (!elements.isEmpty()) {
-                return (WebElement) elements.get(0);
+                return elements.get(0);
             }
             else {
                 throw new NoSuchElementException("Unable to locate element: [" + selector + "]");
@@ -94,34 +108,84 @@ public abstract class BySizzle extends By {
         @Override
         @SuppressWarnings({"unchecked"}) // Yeah, I don't like this either.
         public List<WebElement> findElements(SearchContext context) {
+            if (context instanceof WebElement) {
+                return new BySizzleScopedSelector(List.of(selector)).findElements(context);
+            }
+            
             WebDriver driver = getWebDriver(context);
-            injectSizzleIfNeeded(driver);
             
-            return runSizzle(driver);
+            if (SelectorClassifier.isNative(selector)) {
+                try {
+                    return driver.findElements(By.cssSelector(selector));
+                }
+                catch (InvalidSelectorException | JavascriptException e) {
+                    if (e instanceof JavascriptException && !SizzleSession.isRejectedSelector(e)) {
+                        throw e;
+                    }
+                    SelectorClassifier.reject(selector);
+                }
+            }
+            
+            return (List<WebElement>) SizzleSession.forDriver(driver).execute(QUERY_SCRIPT, selector);
         }
         
         @Override
         public String toString() {
             return "BySizzle.css: [" + selector + "]";
         }
+    }
+    
+    public static class BySizzleScopedSelector extends By implements Serializable {
         
-        private void injectSizzleIfNeeded(WebDriver driver) {
-            if (!isSizzleLoaded(driver)) {
-                ((JavascriptExecutor) driver).executeScript(sizzleScript);
-            }
+        private static final long serialVersionUID = 1L;
+        
+        private static final String SCOPED_QUERY_SCRIPT = "var selectors = arguments[0], scope = arguments[1]," +
+                "found = scope ? Sizzle(selectors[0], scope) : Sizzle(selectors[0]);" +
+                "for (var i = 1; i < selectors.length && found.length > 0; i++) {" +
+                "var next = [];" +
+                "for (var j = 0; j < found.length; j++) {" +
+                "var matches = Sizzle(selectors[i], found[j]);" +
+                "for (var k = 0; k < matches.length; k++) {" +
+                "if (found.length === 1 || next.indexOf(matches[k]) < 0) { next.push(matches[k]); } } }" +
+                "found = next; }" +
+                "return found;";
+        
+        private List<String> selectors;
+        
+        public BySizzleScopedSelector(List<String> selectors) {
+            this.selectors = new ArrayList<>(selectors);
         }
         
-        private Boolean isSizzleLoaded(WebDriver driver) {
-            try {
-                return (Boolean) ((JavascriptExecutor) driver).executeScript("return Sizzle() != null");
+        @Override
+        public WebElement findElement(SearchContext context) {
+            List<WebElement> elements = findElements(context);
+            
+            if (!elements.isEmpty()) {
+                return elements.get(0);
+            }
+            else {
+                throw new NoSuchElementException("Unable to locate element: " + this);
             }
-            catch (WebDriverException e) {
-                return false;
+        }
+        
+        @Override
+        @SuppressWarnings({"unchecked"})
+        public List<WebElement> findElements(SearchContext context) {
+            SizzleSession session = SizzleSession.forDriver(getWebDriver(context));
+            WebElement scope = (context instanceof WebElement) ? (WebElement) context : null;
+            
+            List<String> scoped = (scope == null) ? selectors.subList(1, selectors.size()) : selectors;
+            if (scoped.stream().anyMatch(scopedSelector -> scopedSelector.contains(","))) {
+                // A selector list cannot be anchored to its scope natively, so it is left to Sizzle.
+                return (List<WebElement>) session.execute(SCOPED_QUERY_SCRIPT, selectors, scope);
             }
+            
+            return (List<WebElement>) session.executeFor(selectors, SCOPED_QUERY_SCRIPT, selectors, scope);
         }
         
-        private List runSizzle(WebDriver driver) {
-            return (List) ((JavascriptExecutor) driver).executeScript("return Sizzle(\"" + selector + "\")");
+        @Override
+        public String toString() {
+            return "BySizzle.scoped: [" + String.join("] [", selectors) + "]";
         }
     }
 }
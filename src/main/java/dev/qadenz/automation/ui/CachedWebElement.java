@@ -0,0 +1,236 @@
+/*
+Copyright Tim Slifer
+
+Licensed under the PolyForm Internal Use License, Version 1.0.0 (the "License");
+you may not use this file except in compliance with the License.
+A copy of the License may be obtained at
+
+https://polyformproject.org/licenses/internal-use/1.0.0/
+ */
+package dev.qadenz.automation.ui;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.WrapsElement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * A WebElement held in the {@link ElementCache}. Should the element go stale, it is found again and the call is
+ * repeated once against the new element.
+ *
+ * @author Tim Slifer
+ */
+class CachedWebElement implements WebElement, WrapsElement, WrapsDriver {
+    
+    private static final Logger LOG = LoggerFactory.getLogger(CachedWebElement.class);
+    
+    private final String name;
+    private volatile Supplier<WebElement> finder;
+    private volatile WebElement webElement;
+    
+    CachedWebElement(String name, WebElement webElement, Supplier<WebElement> finder) {
+        this.name = name;
+        this.webElement = unwrap(webElement);
+        this.finder = finder;
+    }
+    
+    /**
+     * @param finder Resolves the element should it go stale.
+     */
+    void setFinder(Supplier<WebElement> finder) {
+        this.finder = finder;
+    }
+    
+    /**
+     * @param condition The state the element must be in.
+     *
+     * @return True if the element meets the condition, or false if it does not or has gone stale.
+     */
+    boolean meets(Predicate<WebElement> condition) {
+        try {
+            return condition.test(webElement);
+        }
+        catch (StaleElementReferenceException e) {
+            return false;
+        }
+    }
+    
+    @Override
+    public void click() {
+        run(WebElement::click);
+    }
+    
+    @Override
+    public void submit() {
+        run(WebElement::submit);
+    }
+    
+    @Override
+    public void sendKeys(CharSequence... keysToSend) {
+        run(element -> element.sendKeys(keysToSend));
+    }
+    
+    @Override
+    public void clear() {
+        run(WebElement::clear);
+    }
+    
+    @Override
+    public String getTagName() {
+        return call(WebElement::getTagName);
+    }
+    
+    @Override
+    public String getDomProperty(String name) {
+        return call(element -> element.getDomProperty(name));
+    }
+    
+    @Override
+    public String getDomAttribute(String name) {
+        return call(element -> element.getDomAttribute(name));
+    }
+    
+    @Override
+    @SuppressWarnings("deprecation")
+    public String getAttribute(String name) {
+        return call(element -> element.getAttribute(name));
+    }
+    
+    @Override
+    public String getAriaRole() {
+        return call(WebElement::getAriaRole);
+    }
+    
+    @Override
+    public String getAccessibleName() {
+        return call(WebElement::getAccessibleName);
+    }
+    
+    @Override
+    public boolean isSelected() {
+        return call(WebElement::isSelected);
+    }
+    
+    @Override
+    public boolean isEnabled() {
+        return call(WebElement::isEnabled);
+    }
+    
+    @Override
+    public String getText() {
+        return call(WebElement::getText);
+    }
+    
+    @Override
+    public List<WebElement> findElements(By by) {
+        return call(element -> element.findElements(by));
+    }
+    
+    @Override
+    public WebElement findElement(By by) {
+        return call(element -> element.findElement(by));
+    }
+    
+    @Override
+    public SearchContext getShadowRoot() {
+        return call(WebElement::getShadowRoot);
+    }
+    
+    @Override
+    public boolean isDisplayed() {
+        return call(WebElement::isDisplayed);
+    }
+    
+    @Override
+    public Point getLocation() {
+        return call(WebElement::getLocation);
+    }
+    
+    @Override
+    public Dimension getSize() {
+        return call(WebElement::getSize);
+    }
+    
+    @Override
+    public Rectangle getRect() {
+        return call(WebElement::getRect);
+    }
+    
+    @Override
+    public String getCssValue(String propertyName) {
+        return call(element -> element.getCssValue(propertyName));
+    }
+    
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target) {
+        return call(element -> element.getScreenshotAs(target));
+    }
+    
+    @Override
+    public WebElement getWrappedElement() {
+        return webElement;
+    }
+    
+    @Override
+    public WebDriver getWrappedDriver() {
+        return ((WrapsDriver) webElement).getWrappedDriver();
+    }
+    
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof WebElement && webElement.equals(unwrap((WebElement) other));
+    }
+    
+    @Override
+    public int hashCode() {
+        return webElement.hashCode();
+    }
+    
+    @Override
+    public String toString() {
+        return "Cached [" + name + "]: " + webElement;
+    }
+    
+    private void run(Consumer<WebElement> action) {
+        call(element -> {
+            action.accept(element);
+            
+            return null;
+        });
+    }
+    
+    private <T> T call(Function<WebElement, T> action) {
+        try {
+            return action.apply(webElement);
+        }
+        catch (StaleElementReferenceException e) {
+            LOG.debug("Cached element [{}] is stale, finding it again.", name);
+            webElement = unwrap(finder.get());
+            
+            return action.apply(webElement);
+        }
+    }
+    
+    private static WebElement unwrap(WebElement webElement) {
+        while (webElement instanceof WrapsElement) {
+            webElement = ((WrapsElement) webElement).getWrappedElement();
+        }
+        
+        return webElement;
+    }
+}
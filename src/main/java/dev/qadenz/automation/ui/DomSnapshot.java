@@ -0,0 +1,486 @@
+/*
+Copyright Tim Slifer
+
+Licensed under the PolyForm Internal Use License, Version 1.0.0 (the "License");
+you may not use this file except in compliance with the License.
+A copy of the License may be obtained at
+
+https://polyformproject.org/licenses/internal-use/1.0.0/
+ */
+package dev.qadenz.automation.ui;
+
+import dev.qadenz.automation.config.WebDriverProvider;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+import org.jsoup.nodes.TextNode;
+import org.jsoup.select.Elements;
+import org.jsoup.select.Selector;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebElement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A copy of the page, or of a single container element, taken with one script execution and parsed with jsoup, so that
+ * the text, attributes, count, and presence of elements can be read without a WebDriver command for each element.
+ * <p>
+ * While a snapshot is open, {@link dev.qadenz.automation.commands.WebInspector} reads from it on the same thread. The
+ * current values of form fields are copied into the snapshot, and elements that are not rendered are marked so that
+ * text is read as it is displayed. The snapshot answers only what it can answer faithfully. A selector using a Sizzle
+ * extension jsoup cannot evaluate the same way, a locator with no match, or a hidden element, is read from the browser
+ * as usual. Reading from a snapshot does not wait for elements, so it is meant for pages that have finished loading.
+ * <p>
+ * A snapshot of a container holds only the container and its descendants, so it reads only the Locators defined within
+ * the container, by their selectors relative to it. Any other Locator is read from the browser.
+ *
+ * @author Tim Slifer
+ */
+public class DomSnapshot implements AutoCloseable {
+    
+    private static final Logger LOG = LoggerFactory.getLogger(DomSnapshot.class);
+    
+    static final String HIDDEN_ATTRIBUTE = "data-qadenz-hidden";
+    static final String ROOT_ATTRIBUTE = "data-qadenz-root";
+    
+    private static final String CAPTURE_SCRIPT = "var root = arguments[0] || document.documentElement;" +
+            "var clone = root.cloneNode(true);" +
+            "var live = [root].concat(Array.prototype.slice.call(root.querySelectorAll('*')));" +
+            "var copies = [clone].concat(Array.prototype.slice.call(clone.querySelectorAll('*')));" +
+            "for (var i = 0; i < live.length; i++) {" +
+            "var e = live[i], c = copies[i], tag = e.tagName;" +
+            "if (tag === 'INPUT') { c.setAttribute('value', e.value);" +
+            "if (e.checked) { c.setAttribute('checked', ''); } else { c.removeAttribute('checked'); } }" +
+            "else if (tag === 'TEXTAREA') { c.textContent = e.value; }" +
+            "else if (tag === 'OPTION') {" +
+            "if (e.selected) { c.setAttribute('selected', ''); } else { c.removeAttribute('selected'); } }" +
+            "if (tag !== 'OPTION' && tag !== 'OPTGROUP' && tag !== 'BR' && (e.getClientRects().length === 0 || " +
+            "window.getComputedStyle(e).visibility === 'hidden')) {" +
+            "c.setAttribute('" + HIDDEN_ATTRIBUTE + "', ''); } }" +
+            "if (arguments[0]) { clone.setAttribute('" + ROOT_ATTRIBUTE + "', ''); }" +
+            "return [document.URL, clone.outerHTML];";
+    
+    private static final Set<String> SNAPSHOT_EXTENSIONS = Set.of("contains", "has", "not");
+    private static final Pattern LIVE_STATE = Pattern.compile(":(focus|lang|target|root)(?![\\w-])");
+    private static final Pattern CONTAINS = Pattern.compile(":contains\\((\"|'?)(.*?)\\1\\)");
+    private static final Pattern LEADING_TAG = Pattern.compile("^\\s*<([a-zA-Z]+)");
+    
+    // The ancestors a fragment must be parsed within, for elements that are dropped when found outside of them.
+    private static final Map<String, String[]> FRAGMENT_CONTEXTS = Map.of(
+            "caption", new String[] {"<table>", "</table>"},
+            "colgroup", new String[] {"<table>", "</table>"},
+            "col", new String[] {"<table><colgroup>", "</colgroup></table>"},
+            "thead", new String[] {"<table>", "</table>"},
+            "tbody", new String[] {"<table>", "</table>"},
+            "tfoot", new String[] {"<table>", "</table>"},
+            "tr", new String[] {"<table><tbody>", "</tbody></table>"},
+            "td", new String[] {"<table><tbody><tr>", "</tr></tbody></table>"},
+            "th", new String[] {"<table><tbody><tr>", "</tr></tbody></table>"},
+            "option", new String[] {"<select>", "</select>"});
+    
+    private static final Set<String> BOOLEAN_ATTRIBUTES = Set.of("async", "autofocus", "autoplay", "checked",
+            "controls", "default", "defer", "disabled", "formnovalidate", "hidden", "ismap", "loop", "multiple",
+            "muted", "novalidate", "open", "readonly", "required", "reversed", "selected");
+    private static final Set<String> URL_ATTRIBUTES = Set.of("href", "src", "action", "formaction", "cite", "poster");
+    private static final Set<String> LAYOUT_PROPERTIES = Set.of("width", "height");
+    
+    private static final ThreadLocal<DomSnapshot> active = new ThreadLocal<>();
+    private static final Map<String, String> translations = new ConcurrentHashMap<>();
+    
+    private final Document document;
+    private final Locator container;
+    private final Element root;
+    
+    /**
+     * @param html The HTML of the page.
+     * @param baseUri The URL of the page, against which relative links are resolved.
+     */
+    public DomSnapshot(String html, String baseUri) {
+        this(html, baseUri, null);
+    }
+    
+    /**
+     * @param html The HTML of the page, or of the container element.
+     * @param baseUri The URL of the page, against which relative links are resolved.
+     * @param container The mapped container element, or null for a snapshot of the whole page.
+     */
+    public DomSnapshot(String html, String baseUri, Locator container) {
+        this.document = parse(html, baseUri);
+        this.container = container;
+        
+        Element marked = document.selectFirst("[" + ROOT_ATTRIBUTE + "]");
+        if (marked != null) {
+            marked.removeAttr(ROOT_ATTRIBUTE);
+        }
+        this.root = (container == null) ? null : (marked != null) ? marked : document.body().firstElementChild();
+    }
+    
+    /**
+     * Takes a snapshot of the page, or of a container element, and makes it the active snapshot of this thread until
+     * it is closed.
+     *
+     * @param container The mapped container element, or null to take a snapshot of the whole page.
+     *
+     * @return The DomSnapshot.
+     */
+    @SuppressWarnings("unchecked")
+    public static DomSnapshot capture(Locator container) {
+        WebElement root = (container == null) ? null : new WebFinder().findWhenPresent(container);
+        
+        JavascriptExecutor javascriptExecutor = (JavascriptExecutor) WebDriverProvider.getWebDriver();
+        List<String> capture = (List<String>) javascriptExecutor.executeScript(CAPTURE_SCRIPT, root);
+        
+        DomSnapshot domSnapshot = new DomSnapshot(capture.get(1), capture.get(0), container);
+        active.set(domSnapshot);
+        
+        return domSnapshot;
+    }
+    
+    /**
+     * @return The snapshot open on the current thread, or null.
+     */
+    public static DomSnapshot getActive() {
+        return active.get();
+    }
+    
+    @Override
+    public void close() {
+        if (active.get() == this) {
+            active.remove();
+        }
+    }
+    
+    /**
+     * Finds every instance of an element in the snapshot.
+     *
+     * @param locator The mapped UI element.
+     *
+     * @return The matching elements, in document order, or null if the selector cannot be evaluated by the snapshot.
+     */
+    public Elements select(Locator locator) {
+        String scoped = getScopedSelector(locator);
+        String selector = (scoped == null) ? null : translate(scoped);
+        if (selector == null) {
+            return null;
+        }
+        
+        try {
+            // Within a container, :root matches the element the search starts from.
+            return (root == null) ? document.select(selector) : root.select(":root" + selector);
+        }
+        catch (Selector.SelectorParseException e) {
+            LOG.debug("Selector [{}] cannot be read from a snapshot :: {}", locator.getSelector(), e.getMessage());
+            translations.put(scoped, "");
+            
+            return null;
+        }
+    }
+    
+    /**
+     * Finds the selector of a Locator relative to the container of the snapshot, being the relative selectors of the
+     * Locator and each of its parents below the container.
+     *
+     * @return The selector, or null if the Locator is not defined within the container, so it may match elements
+     *         outside of the snapshot.
+     */
+    private String getScopedSelector(Locator locator) {
+        if (container == null) {
+            return locator.getSelector();
+        }
+        
+        Locator child = locator;
+        while (child.getParent() != null && child.getParent() != container) {
+            child = child.getParent();
+        }
+        if (child.getParent() == null || !child.isWithinParent()) {
+            return null;
+        }
+        
+        // A selector list would be scoped only in its first selector.
+        String relative = locator.getSelector().substring(container.getSelector().length());
+        
+        return relative.contains(",") ? null : relative;
+    }
+    
+    /**
+     * @param locator The mapped UI element.
+     *
+     * @return The number of instances of the element, or null if the snapshot cannot tell.
+     */
+    public Integer getCount(Locator locator) {
+        Elements elements = select(locator);
+        
+        return (elements == null) ? null : elements.size();
+    }
+    
+    /**
+     * @param locator The mapped UI element.
+     *
+     * @return The visible text of the first instance of the element, or null if it is not found or not visible.
+     */
+    public String getText(Locator locator) {
+        Element element = first(locator);
+        
+        return (element == null) ? null : getText(element);
+    }
+    
+    /**
+     * @param locator The mapped UI element.
+     *
+     * @return The visible text of each instance of the element, or null if any is not visible or none are found.
+     */
+    public List<String> getTexts(Locator locator) {
+        Elements elements = all(locator);
+        if (elements == null) {
+            return null;
+        }
+        
+        List<String> texts = new ArrayList<>();
+        elements.forEach(element -> texts.add(getText(element)));
+        
+        return texts;
+    }
+    
+    /**
+     * @param locator The mapped UI element.
+     *
+     * @return The direct text of the first instance of the element, or null if it is not found or not visible.
+     */
+    public String getDirectText(Locator locator) {
+        Element element = first(locator);
+        
+        return (element == null) ? null : getDirectText(element);
+    }
+    
+    /**
+     * @param locator The mapped UI element.
+     *
+     * @return The direct text of each instance of the element, or null if any is not visible or none are found.
+     */
+    public List<String> getDirectTexts(Locator locator) {
+        Elements elements = all(locator);
+        if (elements == null) {
+            return null;
+        }
+        
+        List<String> texts = new ArrayList<>();
+        elements.forEach(element -> texts.add(getDirectText(element)));
+        
+        return texts;
+    }
+    
+    /**
+     * Determines whether an attribute of the first instance of an element can be read from the snapshot. Only
+     * attributes are read, so the names of DOM properties that differ from any attribute, such as {@code innerHTML},
+     * are left to the browser.
+     *
+     * @param locator The mapped UI element.
+     * @param attributeName The name of the attribute.
+     *
+     * @return True if the element is found and visible, and the name is that of an attribute.
+     */
+    public boolean canReadAttribute(Locator locator, String attributeName) {
+        return isAttribute(attributeName) && first(locator) != null;
+    }
+    
+    /**
+     * Reads an attribute of the first instance of an element. Boolean attributes read as {@code "true"} when present,
+     * and links are resolved against the URL of the page, as the browser reports them.
+     *
+     * @param locator The mapped UI element.
+     * @param attributeName The name of the attribute.
+     *
+     * @return The attribute value, or null if the attribute is absent or the element is not found.
+     */
+    public String getAttribute(Locator locator, String attributeName) {
+        Element element = first(locator);
+        
+        return (element == null) ? null : getAttribute(element, attributeName);
+    }
+    
+    /**
+     * Reads an attribute of every instance of an element, whether visible or not.
+     *
+     * @param locator The mapped UI element.
+     * @param attributeName The name of the attribute.
+     *
+     * @return The attribute values, holding null for each instance without the attribute, or null if the snapshot
+     *         cannot tell.
+     */
+    public List<String> getAttributes(Locator locator, String attributeName) {
+        if (!isAttribute(attributeName)) {
+            return null;
+        }
+        
+        Elements elements = select(locator);
+        if (elements == null) {
+            return null;
+        }
+        
+        List<String> values = new ArrayList<>();
+        elements.forEach(element -> values.add(getAttribute(element, attributeName)));
+        
+        return values;
+    }
+    
+    private Element first(Locator locator) {
+        Elements elements = select(locator);
+        if (elements == null || elements.isEmpty() || isHidden(elements.first())) {
+            return null;
+        }
+        
+        return elements.first();
+    }
+    
+    private Elements all(Locator locator) {
+        Elements elements = select(locator);
+        if (elements == null || elements.isEmpty() || elements.stream().anyMatch(this::isHidden)) {
+            return null;
+        }
+        
+        return elements;
+    }
+    
+    private boolean isHidden(Element element) {
+        return element.hasAttr(HIDDEN_ATTRIBUTE);
+    }
+    
+    private boolean isAttribute(String attributeName) {
+        // Attribute names are lower case, a name with capitals can only be a DOM property.
+        return attributeName.equals(attributeName.toLowerCase()) && !LAYOUT_PROPERTIES.contains(attributeName);
+    }
+    
+    private String getAttribute(Element element, String attributeName) {
+        if (BOOLEAN_ATTRIBUTES.contains(attributeName)) {
+            return element.hasAttr(attributeName) ? "true" : null;
+        }
+        if (!element.hasAttr(attributeName)) {
+            return null;
+        }
+        if (URL_ATTRIBUTES.contains(attributeName)) {
+            String url = element.absUrl(attributeName);
+            if (!url.isEmpty()) {
+                return url;
+            }
+        }
+        
+        return element.attr(attributeName);
+    }
+    
+    /**
+     * Approximates the rendered inner text of an element, as returned by the browser. Hidden descendants are skipped,
+     * block elements and line breaks start new lines, and table cells are separated by tabs.
+     */
+    private String getText(Element element) {
+        if (element.normalName().equals("option")) {
+            return element.text().replace('\u00a0', ' ').trim();
+        }
+        
+        StringBuilder text = new StringBuilder();
+        appendText(element, text, false);
+        
+        StringBuilder lines = new StringBuilder();
+        for (String line : text.toString().replace('\u00a0', ' ').split("\n")) {
+            line = line.replaceAll(" {2,}", " ").replaceAll(" *\t *", "\t").strip();
+            if (!line.isEmpty()) {
+                lines.append((lines.length() > 0) ? "\n" : "").append(line);
+            }
+        }
+        
+        return lines.toString();
+    }
+    
+    private void appendText(Element element, StringBuilder text, boolean preformatted) {
+        for (Node node : element.childNodes()) {
+            if (node instanceof TextNode) {
+                String value = ((TextNode) node).getWholeText();
+                text.append(preformatted ? value : value.replaceAll("[ \\t\\r\\n\\f]+", " "));
+                continue;
+            }
+            if (!(node instanceof Element)) {
+                continue;
+            }
+            
+            Element child = (Element) node;
+            String tag = child.normalName();
+            if (tag.equals("br")) {
+                text.append('\n');
+            }
+            else if (isHidden(child)) {
+                continue;
+            }
+            else if (tag.equals("td") || tag.equals("th")) {
+                if (child.elementSiblingIndex() > 0) {
+                    text.append('\t');
+                }
+                appendText(child, text, preformatted);
+            }
+            else if (child.isBlock()) {
+                text.append('\n');
+                appendText(child, text, preformatted || tag.equals("pre"));
+                text.append('\n');
+            }
+            else {
+                appendText(child, text, preformatted);
+            }
+        }
+    }
+    
+    private String getDirectText(Element element) {
+        StringBuilder text = new StringBuilder();
+        element.textNodes().forEach(textNode -> text.append(textNode.getWholeText()));
+        
+        return text.toString().replaceAll("[\\s\\u00a0]+", " ").trim();
+    }
+    
+    /**
+     * Parses the page, or the HTML of a container element within the ancestors it must have to be parsed as it appears
+     * on the page, such as a table row within a table.
+     */
+    private static Document parse(String html, String baseUri) {
+        if (html.regionMatches(true, 0, "<html", 0, 5)) {
+            return Jsoup.parse(html, baseUri);
+        }
+        
+        Matcher matcher = LEADING_TAG.matcher(html);
+        String[] context = matcher.find() ? FRAGMENT_CONTEXTS.get(matcher.group(1).toLowerCase()) : null;
+        
+        return (context == null) ? Jsoup.parseBodyFragment(html, baseUri) :
+                Jsoup.parseBodyFragment(context[0] + html + context[1], baseUri);
+    }
+    
+    /**
+     * Converts a Sizzle selector to the jsoup equivalent, or null if it uses an extension jsoup evaluates differently,
+     * or a pseudo-class that depends on the state of the live document.
+     * Sizzle's {@code :contains()} is case sensitive and includes the text of descendants, which is jsoup's
+     * {@code :containsWholeText()}.
+     */
+    private static String translate(String selector) {
+        String translation = translations.computeIfAbsent(selector, s -> {
+            if (!SNAPSHOT_EXTENSIONS.containsAll(SelectorClassifier.getExtensions(s)) || LIVE_STATE.matcher(s).find()) {
+                return "";
+            }
+            
+            Matcher matcher = CONTAINS.matcher(s);
+            StringBuilder translated = new StringBuilder();
+            while (matcher.find()) {
+                matcher.appendReplacement(translated,
+                        Matcher.quoteReplacement(":containsWholeText(" + matcher.group(2) + ")"));
+            }
+            matcher.appendTail(translated);
+            
+            return translated.toString();
+        });
+        
+        return translation.isEmpty() ? null : translation;
+    }
+}
@@ -0,0 +1,124 @@
+/*
+Copyright Tim Slifer
+
+Licensed under the PolyForm Internal Use License, Version 1.0.0 (the "License");
+you may not use this file except in compliance with the License.
+A copy of the License may be obtained at
+
+https://polyformproject.org/licenses/internal-use/1.0.0/
+ */
+package dev.qadenz.automation.ui;
+
+import dev.qadenz.automation.config.WebConfig;
+import dev.qadenz.automation.config.WebDriverProvider;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Holds the elements resolved for each {@link Locator} in a single {@link WebDriver} session, so that consecutive
+ * commands on the same Locator reuse the element rather than finding it again. An element taken from the cache is
+ * checked against the condition of the lookup, such as being visible or clickable, but is not searched for and not
+ * waited on. Should it not meet the condition, it is found again with the usual wait.
+ * <p>
+ * The cache is discarded whenever a command navigates, or moves focus to another window or frame. An element that has
+ * gone stale by other means, such as a click that loads a new page, is found again transparently the next time it is
+ * used. Code that navigates or switches focus through the WebDriver directly should call {@link #reset()}.
+ *
+ * @author Tim Slifer
+ */
+public class ElementCache {
+    
+    private static final Logger LOG = LoggerFactory.getLogger(ElementCache.class);
+    
+    // Cached elements hold their driver, so the caches are discarded explicitly when a session is quit or reused.
+    private static final Map<WebDriver, ElementCache> caches = new ConcurrentHashMap<>();
+    
+    private final Map<Locator, CachedWebElement> elements = new ConcurrentHashMap<>();
+    
+    /**
+     * Retrieves the cache for the given WebDriver, creating one if this session has not been seen before.
+     *
+     * @param webDriver The WebDriver session.
+     *
+     * @return The element cache.
+     */
+    public static ElementCache forDriver(WebDriver webDriver) {
+        return caches.computeIfAbsent(webDriver, key -> new ElementCache());
+    }
+    
+    /**
+     * Discards every element cached for the current session, if element caching is enabled.
+     */
+    public static void reset() {
+        if (WebConfig.elementCache) {
+            LOG.debug("Discarding cached elements.");
+            discard(WebDriverProvider.getWebDriver());
+        }
+    }
+    
+    /**
+     * Discards every element cached for the given session. Called when the session is quit or returned to the pool.
+     *
+     * @param webDriver The WebDriver session.
+     */
+    public static void discard(WebDriver webDriver) {
+        if (webDriver != null) {
+            caches.remove(webDriver);
+        }
+    }
+    
+    /**
+     * Retrieves the cached element for the given locator, or resolves and caches it if there is none. A cached element
+     * is only returned if it still meets the condition of the current lookup, such as being clickable. Otherwise it is
+     * resolved again, so that the lookup waits for the condition. The finder of the current lookup is also the one used
+     * should the element later go stale.
+     *
+     * @param locator The mapped UI element.
+     * @param condition The state the element must be in to be returned from the cache.
+     * @param finder Resolves the element when it is not cached, does not meet the condition, or has gone stale.
+     *
+     * @return The cached WebElement.
+     */
+    public WebElement get(Locator locator, Predicate<WebElement> condition, Supplier<WebElement> finder) {
+        CachedWebElement cachedElement = elements.get(locator);
+        if (cachedElement != null) {
+            if (cachedElement.meets(condition)) {
+                LOG.debug("Using cached element [{}].", locator.getName());
+                cachedElement.setFinder(finder);
+                
+                return cachedElement;
+            }
+            
+            LOG.debug("Cached element [{}] does not meet the condition, finding it again.", locator.getName());
+            elements.remove(locator);
+        }
+        
+        cachedElement = new CachedWebElement(locator.getName(), finder.get(), finder);
+        elements.put(locator, cachedElement);
+        
+        return cachedElement;
+    }
+    
+    /**
+     * Removes the cached element for the given locator.
+     *
+     * @param locator The mapped UI element.
+     */
+    public void invalidate(Locator locator) {
+        elements.remove(locator);
+    }
+    
+    /**
+     * Removes every cached element.
+     */
+    public void clear() {
+        elements.clear();
+    }
+}
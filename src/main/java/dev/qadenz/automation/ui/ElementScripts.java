@@ -0,0 +1,294 @@
+/*
+Copyright Tim Slifer
+
+Licensed under the PolyForm Internal Use License, Version 1.0.0 (the "License");
+you may not use this file except in compliance with the License.
+A copy of the License may be obtained at
+
+https://polyformproject.org/licenses/internal-use/1.0.0/
+ */
+package dev.qadenz.automation.ui;
+
+import dev.qadenz.automation.config.WebDriverProvider;
+import org.apache.commons.io.IOUtils;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.UnexpectedTagNameException;
+import org.testng.internal.collections.Pair;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads values from, or writes values to, many elements with a single script execution, rather than issuing a separate
+ * WebDriver command for each element.
+ *
+ * @author Tim Slifer
+ */
+public class ElementScripts {
+    
+    // Follows the visible text of WebElement.getText(). An element that is not rendered has no text, where innerText
+    // would fall back to the raw text content, each line is trimmed, and the blank lines innerText leaves around
+    // paragraphs are dropped. Non-breaking spaces are kept through the trim and read as spaces.
+    private static final String TEXT = "function (e) {" +
+            "if (e.tagName === 'OPTION') { return e.text.replace(/\\s+/g, ' ').trim(); }" +
+            "if (e.getClientRects().length === 0 || window.getComputedStyle(e).visibility === 'hidden') {" +
+            "return ''; }" +
+            "var t = (typeof e.innerText === 'string') ? e.innerText : e.textContent;" +
+            "if (t == null) { return ''; }" +
+            "return t.split('\\n').map(function (l) { return l.replace(/^[^\\S\\u00a0]+|[^\\S\\u00a0]+$/g, ''); })" +
+            ".filter(function (l) { return l !== ''; }).join('\\n').replace(/\\u00a0/g, ' '); }";
+    
+    private static final String DIRECT_TEXT = "function (e) {" +
+            "var t = '';" +
+            "for (var n = e.firstChild; n; n = n.nextSibling) { if (n.nodeType === 3) { t += n.nodeValue; } }" +
+            "return t.replace(/[\\s\\u00a0]+/g, ' ').trim(); }";
+    
+    // Selenium's own atom for WebElement.getAttribute(), so that each element reads as it would on its own.
+    private static final String ATTRIBUTE = loadAtom("/org/openqa/selenium/remote/getAttribute.js");
+    
+    private static final String CSS = "function (e, name) {" +
+            "return window.getComputedStyle(e).getPropertyValue(name); }";
+    
+    private static final String VISIBILITY = "function (selector, attribute, value) {" +
+            "var attr = " + ATTRIBUTE + ", elements = Sizzle(selector);" +
+            "if (elements.length === 0) { return {count: 0, hiddenBy: 'presence'}; }" +
+            "var e = elements[0], rect = e.getBoundingClientRect(), hiddenBy = null;" +
+            "if (!(rect.width > 0 && rect.height > 0)) { hiddenBy = 'dimensions'; }" +
+            "else if (e.style.display === 'none') { hiddenBy = 'display: none;'; }" +
+            "else if (e.style.visibility === 'hidden') { hiddenBy = 'visibility: hidden;'; }" +
+            "else if (attr(e, 'hidden') !== null) { hiddenBy = 'hidden'; }" +
+            "else if (attribute != null) {" +
+            "var a = attr(e, attribute);" +
+            "if ((value == null) ? (a === null) : (a !== null && a.indexOf(value) !== -1)) {" +
+            "hiddenBy = attribute; } }" +
+            "return {count: elements.length, hiddenBy: hiddenBy}; }";
+    
+    private static final String FILL = "var f = " + TEXT + ", fields = arguments[0], targets = [], statuses = []," +
+            "ready = true;" +
+            "for (var i = 0; i < fields.length; i++) {" +
+            "var e = Sizzle(fields[i][0])[0], status = null;" +
+            "if (!e) { status = 'not present'; }" +
+            "else if (e.getClientRects().length === 0) { status = 'not visible'; }" +
+            "else if (e.disabled) { status = 'disabled'; }" +
+            "else if (e.readOnly) { status = 'read-only'; }" +
+            "else if (e.tagName === 'SELECT' && !Array.prototype.some.call(e.options, " +
+            "function (o) { return f(o) === fields[i][1]; })) { status = 'missing option'; }" +
+            "ready = ready && status === null; targets.push(e); statuses.push(status); }" +
+            "if (!ready) { return statuses; }" +
+            "for (var i = 0; i < targets.length; i++) {" +
+            "var e = targets[i], value = fields[i][1], type = (e.type || '').toLowerCase();" +
+            "if (e.tagName === 'SELECT') {" +
+            "for (var j = 0; j < e.options.length; j++) { if (f(e.options[j]) === value) { " +
+            "e.options[j].selected = true; break; } } }" +
+            "else if (type === 'checkbox' || type === 'radio') { e.checked = (value === 'true'); }" +
+            "else {" +
+            "var d = Object.getOwnPropertyDescriptor(Object.getPrototypeOf(e), 'value');" +
+            "if (d && d.set) { d.set.call(e, value); } else { e.value = value; } }" +
+            "e.dispatchEvent(new Event('input', {bubbles: true}));" +
+            "e.dispatchEvent(new Event('change', {bubbles: true})); }" +
+            "return statuses;";
+    
+    private ElementScripts() {
+        // Utility
+    }
+    
+    /**
+     * Retrieves the visible inner text of each of the given elements.
+     *
+     * @param webElements The elements to be read.
+     *
+     * @return The list of text values, in the order of the elements.
+     */
+    public static List<String> getTextValues(List<WebElement> webElements) {
+        return map(webElements, TEXT, null);
+    }
+    
+    /**
+     * Retrieves the text of each of the given elements, taken only from text nodes that are direct children of the
+     * element, excluding the text of any descendant elements.
+     *
+     * @param webElements The elements to be read.
+     *
+     * @return The list of text values, in the order of the elements.
+     */
+    public static List<String> getDirectTextValues(List<WebElement> webElements) {
+        return map(webElements, DIRECT_TEXT, null);
+    }
+    
+    /**
+     * Retrieves the value of an attribute from each of the given elements.
+     *
+     * @param webElements The elements to be read.
+     * @param attributeName The name of the attribute to inspect.
+     *
+     * @return The list of attribute values, in the order of the elements.
+     */
+    public static List<String> getAttributeValues(List<WebElement> webElements, String attributeName) {
+        return map(webElements, ATTRIBUTE, attributeName);
+    }
+    
+    /**
+     * Retrieves the computed value of a CSS property from each of the given elements.
+     *
+     * @param webElements The elements to be read.
+     * @param cssProperty The name of the CSS property to inspect.
+     *
+     * @return The list of property values, in the order of the elements.
+     */
+    public static List<String> getCssValues(List<WebElement> webElements, String cssProperty) {
+        return map(webElements, CSS, cssProperty);
+    }
+    
+    /**
+     * Locates every instance of the given locator and retrieves the value of an attribute from each, in a single script
+     * execution.
+     *
+     * @param locator The mapped UI element.
+     * @param attributeName The name of the attribute to inspect.
+     *
+     * @return The list of attribute values, in the order the instances appear on the DOM.
+     */
+    @SuppressWarnings("unchecked")
+    public static List<String> getAttributeValues(Locator locator, String attributeName) {
+        String script = "var f = " + ATTRIBUTE + ", elements = Sizzle(arguments[0]), values = [];" +
+                "for (var i = 0; i < elements.length; i++) { values.push(f(elements[i], arguments[1])); }" +
+                "return values;";
+        
+        return (List<String>) SizzleSession.forDriver(WebDriverProvider.getWebDriver())
+                                           .executeFor(List.of(locator.getSelector()), script, locator.getSelector(),
+                                                   attributeName);
+    }
+    
+    /**
+     * Evaluates the visibility of the first instance of each of the given locators, in a single script execution. For
+     * each locator, the result holds the number of instances found as {@code count}, and the name of the check that
+     * determined the element to be hidden as {@code hiddenBy}, or null if the element is visible.
+     *
+     * @param locators The mapped UI elements.
+     *
+     * @return The list of visibility results, in the order of the locators.
+     */
+    @SuppressWarnings("unchecked")
+    public static List<Map<String, Object>> getVisibility(List<Locator> locators) {
+        List<List<String>> checks = new ArrayList<>();
+        List<String> selectors = new ArrayList<>();
+        locators.forEach(locator -> {
+            selectors.add(locator.getSelector());
+            Pair<String, String> hiddenByAttribute = locator.getHiddenByAttribute();
+            checks.add(Arrays.asList(locator.getSelector(),
+                    (hiddenByAttribute == null) ? null : hiddenByAttribute.first(),
+                    (hiddenByAttribute == null) ? null : hiddenByAttribute.second()));
+        });
+        
+        String script = "var f = " + VISIBILITY + ", checks = arguments[0], results = [];" +
+                "for (var i = 0; i < checks.length; i++) {" +
+                "results.push(f(checks[i][0], checks[i][1], checks[i][2])); }" +
+                "return results;";
+        
+        return (List<Map<String, Object>>) SizzleSession.forDriver(WebDriverProvider.getWebDriver())
+                                                        .executeFor(selectors, script, checks);
+    }
+    
+    /**
+     * Sets the value of each of the given form fields, in a single script execution, and raises the {@code input} and
+     * {@code change} events on each field. A {@code <select>} element has the option with the given text selected, and
+     * a checkbox or radio button is checked for a value of {@code true}. Other fields have their value replaced. No
+     * field is set unless every field is present, visible, editable, and, for a {@code <select>}, has the option.
+     *
+     * @param locators The mapped UI elements of the fields.
+     * @param values The values to be set, in the order of the locators.
+     *
+     * @return The reason each field could not be set, or null for each field if all were set.
+     */
+    @SuppressWarnings("unchecked")
+    public static List<String> fillFields(List<Locator> locators, List<String> values) {
+        List<List<String>> fields = new ArrayList<>();
+        List<String> selectors = new ArrayList<>();
+        for (int i = 0; i < locators.size(); i++) {
+            selectors.add(locators.get(i).getSelector());
+            fields.add(Arrays.asList(locators.get(i).getSelector(), values.get(i)));
+        }
+        
+        return (List<String>) SizzleSession.forDriver(WebDriverProvider.getWebDriver())
+                                           .executeFor(selectors, FILL, fields);
+    }
+    
+    /**
+     * Retrieves the text of each {@code <option>} child of a {@code <select>} element.
+     *
+     * @param selectElement The {@code <select>} element.
+     *
+     * @return The list of option values.
+     *
+     * @throws UnexpectedTagNameException if the element is not a {@code <select>}.
+     */
+    public static List<String> getOptionTexts(WebElement selectElement) {
+        return mapOptions(selectElement, false);
+    }
+    
+    /**
+     * Retrieves the text of each currently selected {@code <option>} child of a {@code <select>} element.
+     *
+     * @param selectElement The {@code <select>} element.
+     *
+     * @return The list of selected option values.
+     *
+     * @throws UnexpectedTagNameException if the element is not a {@code <select>}.
+     */
+    public static List<String> getSelectedOptionTexts(WebElement selectElement) {
+        return mapOptions(selectElement, true);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static List<String> mapOptions(WebElement selectElement, boolean selectedOnly) {
+        // Rejects other elements the same way Selenium's Select does.
+        String tagName = selectElement.getTagName();
+        if (!"select".equalsIgnoreCase(tagName)) {
+            throw new UnexpectedTagNameException("select", tagName);
+        }
+        
+        String script = "var f = " + TEXT + ", select = arguments[0], values = [];" +
+                "for (var i = 0; i < select.options.length; i++) {" +
+                "if (!arguments[1] || select.options[i].selected) { values.push(f(select.options[i])); } }" +
+                "return values;";
+        
+        JavascriptExecutor javascriptExecutor = (JavascriptExecutor) WebDriverProvider.getWebDriver();
+        
+        return (List<String>) javascriptExecutor.executeScript(script, selectElement, selectedOnly);
+    }
+    
+    private static String loadAtom(String path) {
+        try (InputStream stream = ElementScripts.class.getResourceAsStream(path)) {
+            if (stream == null) {
+                throw new IllegalStateException("Selenium script [" + path + "] was not found on the classpath.");
+            }
+            
+            return IOUtils.toString(stream, StandardCharsets.UTF_8).trim();
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static List<String> map(List<WebElement> webElements, String function, String argument) {
+        if (webElements.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        String script = "var f = " + function + ", elements = arguments[0], values = [];" +
+                "for (var i = 0; i < elements.length; i++) { values.push(f(elements[i], arguments[1])); }" +
+                "return values;";
+        
+        JavascriptExecutor javascriptExecutor = (JavascriptExecutor) WebDriverProvider.getWebDriver();
+        
+        return (List<String>) javascriptExecutor.executeScript(script, webElements, argument);
+    }
+}
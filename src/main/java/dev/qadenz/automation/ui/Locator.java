@@ -11,8 +11,15 @@ package dev.qadenz.automation.ui;
 
 import org.testng.internal.collections.Pair;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Defines a mapped UI Element.
+ * <p>
+ * A Locator defined within a parent holds the concatenation of the parent's selector and its own. When its own selector
+ * begins with a descendant or child combinator, it is resolved in scope, by searching only within the elements matched
+ * by the parent, rather than by evaluating the full selector against the whole document.
  *
  * @author Tim Slifer
  */
@@ -21,10 +28,15 @@ public class Locator {
     private String name;
     private String selector;
     
+    private Locator parent;
+    private String relativeSelector;
+    
     private Pair<String, String> disabledByAttribute;
     private Pair<String, String> hiddenByAttribute;
     private Pair<String, String> selectedByAttribute;
     
+    private boolean keystrokesRequired;
+    
     public Locator(String name, String selector) {
         this.name = name;
         this.selector = selector;
@@ -33,6 +45,8 @@ public class Locator {
     public Locator(String name, Locator parent, String selector) {
         this.name = name;
         this.selector = parent.getSelector() + selector;
+        this.parent = parent;
+        this.relativeSelector = selector;
     }
     
     public String getName() {
@@ -43,6 +57,75 @@ public class Locator {
         return selector;
     }
     
+    public Locator getParent() {
+        return parent;
+    }
+    
+    public String getRelativeSelector() {
+        return (parent == null) ? selector : relativeSelector;
+    }
+    
+    /**
+     * Breaks the selector into the steps of a scoped search, from the outermost parent down to this Locator. Each step
+     * is resolved within the elements matched by the step before it, and a step within a parent may begin with a child
+     * combinator. A selector added to its parent's as a compound or sibling selector is joined to the parent's step.
+     * A selector list, which cannot be scoped, and a selector using one of Sizzle's positional pseudo-classes, which
+     * select from the matches across the whole document, are kept whole.
+     *
+     * @return The selectors of each step of the search.
+     */
+    public List<String> getSelectorChain() {
+        List<String> chain = new ArrayList<>();
+        if (parent == null || parent.getSelector().contains(",") || relativeSelector.contains(",") ||
+                SelectorClassifier.isPositional(relativeSelector)) {
+            chain.add(selector.trim());
+            
+            return chain;
+        }
+        
+        chain.addAll(parent.getSelectorChain());
+        if (isWithinParent()) {
+            chain.add(relativeSelector.trim());
+        }
+        else {
+            int last = chain.size() - 1;
+            chain.set(last, (chain.get(last) + relativeSelector).trim());
+        }
+        
+        return chain;
+    }
+    
+    /**
+     * Breaks the selector into the steps of a scoped search within an element matched by the parent. For a Locator
+     * without a parent, the steps are those of {@link #getSelectorChain()}, to be resolved within any element.
+     *
+     * @return The selectors of each step of the search.
+     *
+     * @throws IllegalArgumentException if the selector is not relative to the descendants of the parent, such as a
+     *         compound or sibling selector.
+     */
+    public List<String> getSelectorChainWithinParent() {
+        if (parent == null) {
+            return getSelectorChain();
+        }
+        if (!isWithinParent()) {
+            throw new IllegalArgumentException("The selector of element [" + name + "] is not relative to the " +
+                    "descendants of its parent [" + parent.getName() + "].");
+        }
+        
+        List<String> chain = new ArrayList<>();
+        chain.add(relativeSelector.trim());
+        
+        return chain;
+    }
+    
+    boolean isWithinParent() {
+        String trimmed = relativeSelector.trim();
+        
+        return !trimmed.isEmpty() && (Character.isWhitespace(relativeSelector.charAt(0)) || trimmed.startsWith(">")) &&
+                !trimmed.startsWith("+") && !trimmed.startsWith("~");
+    }
+    
     public Pair<String, String> getDisabledByAttribute() {
         return disabledByAttribute;
     }
@@ -90,4 +173,20 @@ public class Locator {
         
         return this;
     }
+    
+    public boolean isKeystrokesRequired() {
+        return keystrokesRequired;
+    }
+    
+    /**
+     * Marks the element as one that must receive real keystrokes, such as a field that reacts to key events, when its
+     * value is set as part of a form.
+     *
+     * @return This Locator.
+     */
+    public Locator setKeystrokesRequired() {
+        this.keystrokesRequired = true;
+        
+        return this;
+    }
 }
@@ -0,0 +1,189 @@
+/*
+Copyright Tim Slifer
+
+Licensed under the PolyForm Internal Use License, Version 1.0.0 (the "License");
+you may not use this file except in compliance with the License.
+A copy of the License may be obtained at
+
+https://polyformproject.org/licenses/internal-use/1.0.0/
+ */
+package dev.qadenz.automation.ui;
+
+import dev.qadenz.automation.config.WebDriverProvider;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Waits for changes on the page by installing a {@code MutationObserver} on the document and blocking inside an
+ * asynchronous script, rather than polling from the test. The wait returns as soon as a mutation satisfies the expected
+ * state, and the page is only re-checked at a short interval in the browser to catch changes made through styles alone.
+ *
+ * @author Tim Slifer
+ */
+public class MutationWait {
+    
+    private static final Logger LOG = LoggerFactory.getLogger(MutationWait.class);
+    
+    /**
+     * The longest time a single asynchronous script is allowed to block, kept well within the default WebDriver script
+     * timeout. Longer waits are made up of consecutive slices.
+     */
+    private static final long SLICE_MILLIS = 5000;
+    
+    // Driver messages for a script cut short by the page unloading or being replaced.
+    private static final List<String> NAVIGATION_ERRORS = List.of(
+            "unload", "navigat", "document was replaced", "execution context was destroyed",
+            "cannot find context with specified id");
+    
+    private static final String ELEMENT_SCRIPT = "var selector = arguments[0], state = arguments[1], " +
+            "limit = arguments[2], done = arguments[arguments.length - 1], " +
+            "finished = false, observer, timer, interval;" +
+            "var visible = function (e) {" +
+            "var r = e.getBoundingClientRect(), s = window.getComputedStyle(e);" +
+            "return r.width > 0 && r.height > 0 && s.display !== 'none' && s.visibility !== 'hidden'; };" +
+            "var evaluate = function () {" +
+            "var elements = Sizzle(selector);" +
+            "if (elements.length === 0) { return null; }" +
+            "if (state === 'PRESENT') { return [elements[0]]; }" +
+            "if (state === 'ALL_VISIBLE') {" +
+            "for (var i = 0; i < elements.length; i++) { if (!visible(elements[i])) { return null; } }" +
+            "return elements; }" +
+            "if (!visible(elements[0])) { return null; }" +
+            "if (state === 'CLICKABLE' && elements[0].disabled) { return null; }" +
+            "return [elements[0]]; };" +
+            "var finish = function (result) {" +
+            "if (finished) { return; }" +
+            "finished = true; observer.disconnect(); clearTimeout(timer); clearInterval(interval); done(result); };" +
+            "var check = function () { var result = evaluate(); if (result) { finish(result); } };" +
+            "observer = new MutationObserver(check);" +
+            "observer.observe(document.documentElement, " +
+            "{childList: true, subtree: true, attributes: true, characterData: true});" +
+            "timer = setTimeout(function () { finish(null); }, limit);" +
+            "interval = setInterval(check, 250);" +
+            "check();";
+    
+    private static final String MUTATION_SCRIPT = "var limit = arguments[0], done = arguments[arguments.length - 1], " +
+            "finished = false, observer, timer;" +
+            "var finish = function () {" +
+            "if (finished) { return; }" +
+            "finished = true; observer.disconnect(); clearTimeout(timer); done(true); };" +
+            "observer = new MutationObserver(finish);" +
+            "observer.observe(document.documentElement, " +
+            "{childList: true, subtree: true, attributes: true, characterData: true});" +
+            "timer = setTimeout(finish, limit);";
+    
+    /**
+     * The states an element can be awaited for.
+     */
+    public enum State {
+        PRESENT("presence"),
+        VISIBLE("visibility"),
+        ALL_VISIBLE("visibility of all instances"),
+        CLICKABLE("clickability");
+        
+        private String description;
+        
+        State(String description) {
+            this.description = description;
+        }
+        
+        public String getDescription() {
+            return description;
+        }
+    }
+    
+    /**
+     * Blocks until the given locator reaches the expected state, or the timeout expires.
+     *
+     * @param locator The mapped UI element.
+     * @param state The state to wait for.
+     * @param timeout The maximum amount of time to wait.
+     *
+     * @return The matching WebElements. A single element for all states except {@link State#ALL_VISIBLE}.
+     *
+     * @throws TimeoutException if the state is not reached in time.
+     */
+    @SuppressWarnings("unchecked")
+    public static List<WebElement> until(Locator locator, State state, Duration timeout) {
+        long deadline = System.currentTimeMillis() + timeout.toMillis();
+        RuntimeException lastException = null;
+        
+        long remaining;
+        while ((remaining = deadline - System.currentTimeMillis()) > 0) {
+            try {
+                List<WebElement> elements = (List<WebElement>) SizzleSession
+                        .forDriver(WebDriverProvider.getWebDriver())
+                        .executeAsyncFor(List.of(locator.getSelector()), ELEMENT_SCRIPT, locator.getSelector(),
+                                state.name(), Math.min(remaining, SLICE_MILLIS));
+                
+                if (elements != null) {
+                    return elements;
+                }
+            }
+            catch (JavascriptException | StaleElementReferenceException exception) {
+                // The document was replaced while waiting, try again on the new page. Any other error is reported.
+                if (exception instanceof JavascriptException && !isNavigation((JavascriptException) exception)) {
+                    throw exception;
+                }
+                LOG.debug("Wait for element [{}] was interrupted :: {}", locator.getName(),
+                        exception.getClass().getSimpleName());
+                lastException = exception;
+                sleep(Math.min(remaining, 100));
+            }
+        }
+        
+        throw new TimeoutException("Expected condition failed: waiting for " + state.getDescription() +
+                " of element [" + locator.getName() + "] (tried for " + timeout.getSeconds() + " second(s))",
+                lastException);
+    }
+    
+    /**
+     * Blocks until the DOM of the current page changes, or the given amount of time passes.
+     *
+     * @param limit The maximum amount of time to wait.
+     */
+    public static void awaitMutation(Duration limit) {
+        JavascriptExecutor javascriptExecutor = (JavascriptExecutor) WebDriverProvider.getWebDriver();
+        try {
+            javascriptExecutor.executeAsyncScript(MUTATION_SCRIPT, Math.min(limit.toMillis(), SLICE_MILLIS));
+        }
+        catch (JavascriptException exception) {
+            // A navigation counts as a change.
+            if (!isNavigation(exception)) {
+                throw exception;
+            }
+            LOG.debug("Wait for mutation was interrupted :: {}", exception.getClass().getSimpleName());
+        }
+    }
+    
+    /**
+     * @param exception The exception thrown by a wait script.
+     *
+     * @return True if the script was cut short by the document being unloaded or replaced.
+     */
+    static boolean isNavigation(JavascriptException exception) {
+        String message = String.valueOf(exception.getRawMessage()).toLowerCase();
+        
+        return NAVIGATION_ERRORS.stream().anyMatch(message::contains);
+    }
+    
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            
+            throw new WebDriverException(exception);
+        }
+    }
+}
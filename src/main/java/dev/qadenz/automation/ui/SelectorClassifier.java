@@ -0,0 +1,146 @@
+/*
+Copyright Tim Slifer
+
+Licensed under the PolyForm Internal Use License, Version 1.0.0 (the "License");
+you may not use this file except in compliance with the License.
+A copy of the License may be obtained at
+
+https://polyformproject.org/licenses/internal-use/1.0.0/
+ */
+package dev.qadenz.automation.ui;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Determines whether a selector uses any of the extensions Sizzle adds to CSS, such as {@code :contains()},
+ * {@code :eq()}, or {@code :visible}. A selector without extensions is plain CSS, and can be evaluated by the browser's
+ * native engine without injecting Sizzle. The classification of each selector is cached.
+ *
+ * @author Tim Slifer
+ */
+public class SelectorClassifier {
+    
+    /**
+     * The extension recorded for a selector that the browser rejected, although no extension was detected.
+     */
+    public static final String REJECTED = "rejected";
+    
+    private static final Pattern STRINGS = Pattern.compile("\"(?:\\\\.|[^\"\\\\])*\"|'(?:\\\\.|[^'\\\\])*'");
+    private static final Pattern ATTRIBUTES = Pattern.compile("\\[[^\\]]*]");
+    private static final Pattern PSEUDOS = Pattern.compile("(?<!:):([a-zA-Z-]+)(\\()?");
+    
+    private static final Set<String> SIZZLE_PSEUDOS = Set.of("contains", "eq", "lt", "gt", "first", "last", "even",
+            "odd", "nth", "visible", "hidden", "header", "input", "button", "text", "checkbox", "radio", "file",
+            "password", "image", "submit", "reset", "parent", "animated", "selected", "has");
+    
+    private static final Set<String> POSITIONAL_PSEUDOS = Set.of("first", "last", "eq", "lt", "gt", "even", "odd",
+            "nth");
+    
+    private static final Map<String, Set<String>> extensions = new ConcurrentHashMap<>();
+    
+    private SelectorClassifier() {
+        // Utility
+    }
+    
+    /**
+     * @param selector The selector.
+     *
+     * @return True if the selector is plain CSS, which the browser can evaluate natively.
+     */
+    public static boolean isNative(String selector) {
+        return getExtensions(selector).isEmpty();
+    }
+    
+    /**
+     * @param selectors The selectors.
+     *
+     * @return True if every selector is plain CSS, which the browser can evaluate natively.
+     */
+    public static boolean isNative(Collection<String> selectors) {
+        return selectors.stream().allMatch(SelectorClassifier::isNative);
+    }
+    
+    /**
+     * Lists the Sizzle extensions used by a selector, by the name of the pseudo-class, or {@code !=} for the
+     * attribute inequality operator. A {@code :not()} holding anything but a simple selector is listed as {@code not},
+     * as older browsers cannot evaluate it.
+     *
+     * @param selector The selector.
+     *
+     * @return The extensions used, or an empty Set for a plain CSS selector.
+     */
+    public static Set<String> getExtensions(String selector) {
+        return extensions.computeIfAbsent(selector, SelectorClassifier::classify);
+    }
+    
+    /**
+     * @param selector The selector.
+     *
+     * @return True if the selector uses one of Sizzle's positional pseudo-classes, such as {@code :eq()}, which select
+     *         by position within the whole set of matched elements.
+     */
+    public static boolean isPositional(String selector) {
+        return getExtensions(selector).stream().anyMatch(POSITIONAL_PSEUDOS::contains);
+    }
+    
+    /**
+     * Records that the browser's native engine rejected a selector, so that it is evaluated by Sizzle from then on.
+     *
+     * @param selector The selector.
+     */
+    public static void reject(String selector) {
+        extensions.put(selector, Set.of(REJECTED));
+    }
+    
+    private static Set<String> classify(String selector) {
+        Set<String> found = new TreeSet<>();
+        
+        // Quoted strings may hold anything, and attribute values may hold colons.
+        String unquoted = STRINGS.matcher(selector).replaceAll("\"\"");
+        Matcher attributes = ATTRIBUTES.matcher(unquoted);
+        while (attributes.find()) {
+            if (attributes.group().contains("!=")) {
+                found.add("!=");
+            }
+        }
+        String stripped = attributes.replaceAll("[]");
+        
+        Matcher pseudos = PSEUDOS.matcher(stripped);
+        while (pseudos.find()) {
+            String pseudo = pseudos.group(1).toLowerCase();
+            if (SIZZLE_PSEUDOS.contains(pseudo)) {
+                found.add(pseudo);
+            }
+            else if (pseudo.equals("not") && pseudos.group(2) != null && !isSimple(stripped, pseudos.end())) {
+                found.add("not");
+            }
+        }
+        
+        return found.isEmpty() ? Collections.emptySet() : Collections.unmodifiableSet(found);
+    }
+    
+    private static boolean isSimple(String selector, int start) {
+        int depth = 1;
+        for (int i = start; i < selector.length(); i++) {
+            char c = selector.charAt(i);
+            if (c == '(') {
+                depth++;
+            }
+            else if (c == ')' && --depth == 0) {
+                return true;
+            }
+            else if (c == ' ' || c == '>' || c == '+' || c == '~' || c == ',' || c == ':') {
+                return false;
+            }
+        }
+        
+        return false;
+    }
+}
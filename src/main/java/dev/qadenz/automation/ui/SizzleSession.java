@@ -0,0 +1,188 @@
+/*
+Copyright Tim Slifer
+
+Licensed under the PolyForm Internal Use License, Version 1.0.0 (the "License");
+you may not use this file except in compliance with the License.
+A copy of the License may be obtained at
+
+https://polyformproject.org/licenses/internal-use/1.0.0/
+ */
+package dev.qadenz.automation.ui;
+
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.ref.WeakReference;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Tracks the injection state of the Sizzle engine for a single {@link WebDriver} session, and executes scripts that
+ * depend on Sizzle with a single round-trip whenever the engine is already loaded on the current document. The
+ * availability probe is combined with the script itself, and the full Sizzle payload is only sent to the browser for a
+ * new session, or after a navigation has replaced the document.
+ * <p>
+ * When every selector a script queries is plain CSS, the script may instead be run against the browser's native
+ * selector engine, in which case Sizzle is neither probed for nor injected.
+ *
+ * @author Tim Slifer
+ */
+public class SizzleSession {
+    
+    private static final Logger LOG = LoggerFactory.getLogger(SizzleSession.class);
+    
+    private static final String NOT_LOADED = "qadenz:sizzle-not-loaded";
+    private static final String PROBE = "if (typeof Sizzle === 'undefined') { return '" + NOT_LOADED + "'; }";
+    private static final String ASYNC_PROBE = "if (typeof Sizzle === 'undefined') {" +
+            "arguments[arguments.length - 1]('" + NOT_LOADED + "'); return; }";
+    private static final String NATIVE_ENGINE = "var Sizzle = function (selector, context) {" +
+            "return Array.prototype.slice.call(context ? context.querySelectorAll(':scope ' + selector) :" +
+            "document.querySelectorAll(selector)); };";
+    
+    private static final Map<WebDriver, SizzleSession> sessions = Collections.synchronizedMap(new WeakHashMap<>());
+    
+    // Held weakly, so that the session does not keep its own key in the map reachable.
+    private final WeakReference<WebDriver> webDriver;
+    private volatile boolean injected;
+    
+    private SizzleSession(WebDriver webDriver) {
+        this.webDriver = new WeakReference<>(webDriver);
+    }
+    
+    /**
+     * Retrieves the tracker for the given WebDriver, creating one if this session has not been seen before.
+     *
+     * @param webDriver The WebDriver session.
+     *
+     * @return The Sizzle session tracker.
+     */
+    public static SizzleSession forDriver(WebDriver webDriver) {
+        return sessions.computeIfAbsent(webDriver, SizzleSession::new);
+    }
+    
+    /**
+     * Discards the tracker for the given WebDriver. Called when the session is quit.
+     *
+     * @param webDriver The WebDriver session.
+     */
+    public static void discard(WebDriver webDriver) {
+        sessions.remove(webDriver);
+    }
+    
+    /**
+     * Executes the given script body on the current document, ensuring the Sizzle engine is available first. The script
+     * is expected to reference the global {@code Sizzle} function and may read its parameters from {@code arguments}.
+     *
+     * @param script The JavaScript function body to be executed.
+     * @param args The arguments to be passed to the script.
+     *
+     * @return The value returned by the script.
+     */
+    public Object execute(String script, Object... args) {
+        return run(false, script, args);
+    }
+    
+    /**
+     * Executes the given asynchronous script body on the current document, ensuring the Sizzle engine is available
+     * first. The script signals completion by invoking the callback given as the final entry of {@code arguments}.
+     *
+     * @param script The JavaScript function body to be executed.
+     * @param args The arguments to be passed to the script.
+     *
+     * @return The value passed to the callback by the script.
+     */
+    public Object executeAsync(String script, Object... args) {
+        return run(true, script, args);
+    }
+    
+    /**
+     * Executes the given script body on the current document, as {@link #execute(String, Object...)}. If every one of
+     * the selectors the script queries is plain CSS, the script is run against the browser's native selector engine.
+     * Should the browser reject a selector, it is evaluated by Sizzle from then on.
+     *
+     * @param selectors The selectors the script passes to {@code Sizzle}.
+     * @param script The JavaScript function body to be executed.
+     * @param args The arguments to be passed to the script.
+     *
+     * @return The value returned by the script.
+     */
+    public Object executeFor(Collection<String> selectors, String script, Object... args) {
+        return runFor(false, selectors, script, args);
+    }
+    
+    /**
+     * Executes the given asynchronous script body on the current document, as
+     * {@link #executeAsync(String, Object...)}. If every one of the selectors the script queries is plain CSS, the
+     * script is run against the browser's native selector engine.
+     *
+     * @param selectors The selectors the script passes to {@code Sizzle}.
+     * @param script The JavaScript function body to be executed.
+     * @param args The arguments to be passed to the script.
+     *
+     * @return The value passed to the callback by the script.
+     */
+    public Object executeAsyncFor(Collection<String> selectors, String script, Object... args) {
+        return runFor(true, selectors, script, args);
+    }
+    
+    /**
+     * @param e The exception thrown by a script or lookup.
+     *
+     * @return True if the browser's native selector engine rejected a selector.
+     */
+    static boolean isRejectedSelector(RuntimeException e) {
+        String message = e.getMessage();
+        
+        return message != null && message.contains("not a valid selector");
+    }
+    
+    private Object runFor(boolean async, Collection<String> selectors, String script, Object... args) {
+        if (SelectorClassifier.isNative(selectors)) {
+            try {
+                // The script's scope holds the native engine in place of any Sizzle loaded on the document.
+                return executeScript(async, NATIVE_ENGINE + script, args);
+            }
+            catch (JavascriptException e) {
+                if (!isRejectedSelector(e)) {
+                    throw e;
+                }
+                
+                LOG.debug("Native selector engine rejected {}, falling back to Sizzle.", selectors);
+                selectors.forEach(SelectorClassifier::reject);
+            }
+        }
+        
+        return run(async, script, args);
+    }
+    
+    private Object run(boolean async, String script, Object... args) {
+        if (injected) {
+            Object result = executeScript(async, (async ? ASYNC_PROBE : PROBE) + script, args);
+            if (!NOT_LOADED.equals(result)) {
+                return result;
+            }
+            
+            LOG.debug("Sizzle is not loaded on the current document, re-injecting.");
+        }
+        
+        Object result = executeScript(async, SizzleScript.getInstance().getScript() + ";" + script, args);
+        injected = true;
+        
+        return result;
+    }
+    
+    private Object executeScript(boolean async, String script, Object... args) {
+        JavascriptExecutor javascriptExecutor = (JavascriptExecutor) webDriver.get();
+        if (javascriptExecutor == null) {
+            throw new IllegalStateException("The WebDriver session of this Sizzle session has been discarded.");
+        }
+        
+        return (async) ? javascriptExecutor.executeAsyncScript(script, args) :
+                javascriptExecutor.executeScript(script, args);
+    }
+}
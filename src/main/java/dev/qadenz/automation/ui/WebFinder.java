@@ -9,8 +9,10 @@ https://polyformproject.org/licenses/internal-use/1.0.0/
  */
 package dev.qadenz.automation.ui;
 
+import dev.qadenz.automation.config.PollingStrategy;
 import dev.qadenz.automation.config.WebConfig;
 import dev.qadenz.automation.config.WebDriverProvider;
+import dev.qadenz.automation.reporter.StepRecorder;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
@@ -19,10 +21,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 /**
- * Initializes {@link WebElement}s.
+ * Initializes {@link WebElement}s. When element caching is enabled, single elements are taken from the
+ * {@link ElementCache} where possible.
  *
  * @author Tim Slifer
  */
@@ -30,6 +38,10 @@ public class WebFinder {
     
     private static final Logger LOG = LoggerFactory.getLogger(WebFinder.class);
     
+    private static final String GROUP_QUERY_SCRIPT = "var selectors = arguments[0], results = [];" +
+            "for (var i = 0; i < selectors.length; i++) { results.push(Sizzle(selectors[i])); }" +
+            "return results;";
+    
     /**
      * Initializes the first matching instance of the given locator, using no waits or synchronization.
      *
@@ -38,6 +50,10 @@ public class WebFinder {
      * @return A WebElement.
      */
     public WebElement find(Locator locator) {
+        return cached(locator, webElement -> true, () -> findUncached(locator));
+    }
+    
+    private WebElement findUncached(Locator locator) {
         LOG.debug("Finding element [{}].", locator.getName());
         
         try {
@@ -74,6 +90,94 @@ public class WebFinder {
         }
     }
     
+    /**
+     * Initializes the first instance of the given locator found within an element, using no waits or synchronization.
+     * For a locator defined within a parent, the element stands for the parent, and only the locator's own selector is
+     * resolved within it. Otherwise, the whole selector is resolved relative to the element, and may begin with a child
+     * combinator, such as {@code > li}.
+     *
+     * @param parent The element to search within.
+     * @param locator The mapped UI element.
+     *
+     * @return A WebElement.
+     */
+    public WebElement findWithin(WebElement parent, Locator locator) {
+        LOG.debug("Finding element [{}] within parent element.", locator.getName());
+        
+        try {
+            LOG.debug("Initializing element [{}] within parent element.", locator.getName());
+            
+            return parent.findElement(BySizzle.scoped(locator.getSelectorChainWithinParent()));
+        }
+        catch (Exception exception) {
+            LOG.debug("Could not initialize element [{}].", locator.getName());
+            
+            throw exception;
+        }
+    }
+    
+    /**
+     * Initializes all instances of the given locator found within an element, using no waits or synchronization. For a
+     * locator defined within a parent, the element stands for the parent, and only the locator's own selector is
+     * resolved within it. Otherwise, the whole selector is resolved relative to the element, and may begin with a child
+     * combinator, such as {@code > li}.
+     *
+     * @param parent The element to search within.
+     * @param locator The mapped UI element.
+     *
+     * @return A List of WebElements.
+     */
+    public List<WebElement> findAllWithin(WebElement parent, Locator locator) {
+        LOG.debug("Finding elements [{}] within parent element.", locator.getName());
+        
+        try {
+            LOG.debug("Initializing elements [{}] within parent element.", locator.getName());
+            
+            return parent.findElements(BySizzle.scoped(locator.getSelectorChainWithinParent()));
+        }
+        catch (Exception exception) {
+            LOG.debug("Could not initialize elements [{}].", locator.getName());
+            
+            throw exception;
+        }
+    }
+    
+    /**
+     * Initializes all matching instances of each locator in the given group, using no waits or synchronization. All
+     * locators are resolved together with a single script execution.
+     *
+     * @param locatorGroup The mapped UI elements.
+     *
+     * @return A Map of each locator to its List of WebElements, in the order of the group.
+     */
+    @SuppressWarnings("unchecked")
+    public Map<Locator, List<WebElement>> findAll(LocatorGroup locatorGroup) {
+        LOG.debug("Finding elements in group [{}].", locatorGroup.getName());
+        
+        try {
+            LOG.debug("Initializing elements in group [{}].", locatorGroup.getName());
+            
+            List<String> selectors = new ArrayList<>();
+            locatorGroup.forEach(locator -> selectors.add(locator.getSelector()));
+            
+            List<List<WebElement>> results = (List<List<WebElement>>) SizzleSession
+                    .forDriver(WebDriverProvider.getWebDriver())
+                    .executeFor(selectors, GROUP_QUERY_SCRIPT, selectors);
+            
+            Map<Locator, List<WebElement>> elements = new LinkedHashMap<>();
+            for (int i = 0; i < locatorGroup.size(); i++) {
+                elements.put(locatorGroup.get(i), results.get(i));
+            }
+            
+            return elements;
+        }
+        catch (Exception exception) {
+            LOG.debug("Could not initialize elements in group [{}].", locatorGroup.getName());
+            
+            throw exception;
+        }
+    }
+    
     /**
      * Initializes the first matching instance of the given locator, once visible on the UI.
      *
@@ -82,13 +186,35 @@ public class WebFinder {
      * @return A WebElement.
      */
     public WebElement findWhenVisible(Locator locator) {
+        return findWhenVisible(locator, WebConfig.pollingStrategy);
+    }
+    
+    /**
+     * Initializes the first matching instance of the given locator, once visible on the UI.
+     *
+     * @param locator The mapped UI element.
+     * @param pollingStrategy The polling strategy to use for this wait.
+     *
+     * @return A WebElement.
+     */
+    public WebElement findWhenVisible(Locator locator, PollingStrategy pollingStrategy) {
+        return cached(locator, WebElement::isDisplayed,
+                () -> findWhenVisibleUncached(locator, pollingStrategy));
+    }
+    
+    private WebElement findWhenVisibleUncached(Locator locator, PollingStrategy pollingStrategy) {
         LOG.debug("Finding element [{}] when visible.", locator.getName());
-        WebDriverWait webDriverWait =
-                new WebDriverWait(WebDriverProvider.getWebDriver(), Duration.ofSeconds(WebConfig.timeout));
+        long startNanos = StepRecorder.beginWait();
         
         try {
             LOG.debug("Initializing element [{}] when visible.", locator.getName());
             
+            if (WebConfig.eventDrivenWaits) {
+                return awaitMutation(locator, MutationWait.State.VISIBLE).get(0);
+            }
+            
+            WebDriverWait webDriverWait =
+                    pollingStrategy.newWait(WebDriverProvider.getWebDriver(), Duration.ofSeconds(WebConfig.timeout));
             return webDriverWait.until(ExpectedConditions.visibilityOfElementLocated(bySizzle(locator)));
         }
         catch (Exception exception) {
@@ -96,6 +222,9 @@ public class WebFinder {
             
             throw exception;
         }
+        finally {
+            StepRecorder.endWait(startNanos);
+        }
     }
     
     /**
@@ -106,13 +235,30 @@ public class WebFinder {
      * @return A List of WebElements.
      */
     public List<WebElement> findAllWhenVisible(Locator locator) {
+        return findAllWhenVisible(locator, WebConfig.pollingStrategy);
+    }
+    
+    /**
+     * Initializes all matching instances of the given locator, once visible on the UI .
+     *
+     * @param locator - The mapped UI element.
+     * @param pollingStrategy The polling strategy to use for this wait.
+     *
+     * @return A List of WebElements.
+     */
+    public List<WebElement> findAllWhenVisible(Locator locator, PollingStrategy pollingStrategy) {
         LOG.debug("Finding elements [{}] when visible.", locator.getName());
-        WebDriverWait webDriverWait =
-                new WebDriverWait(WebDriverProvider.getWebDriver(), Duration.ofSeconds(WebConfig.timeout));
+        long startNanos = StepRecorder.beginWait();
         
         try {
             LOG.debug("Initializing elements [{}] when visible.", locator.getName());
             
+            if (WebConfig.eventDrivenWaits) {
+                return awaitMutation(locator, MutationWait.State.ALL_VISIBLE);
+            }
+            
+            WebDriverWait webDriverWait =
+                    pollingStrategy.newWait(WebDriverProvider.getWebDriver(), Duration.ofSeconds(WebConfig.timeout));
             return webDriverWait.until(ExpectedConditions.visibilityOfAllElementsLocatedBy(bySizzle(locator)));
         }
         catch (Exception exception) {
@@ -120,6 +266,9 @@ public class WebFinder {
             
             throw exception;
         }
+        finally {
+            StepRecorder.endWait(startNanos);
+        }
     }
     
     /**
@@ -130,13 +279,35 @@ public class WebFinder {
      * @return A WebElement.
      */
     public WebElement findWhenClickable(Locator locator) {
+        return findWhenClickable(locator, WebConfig.pollingStrategy);
+    }
+    
+    /**
+     * Initializes the first matching instance of the given locator, once visible and enabled to receive a click.
+     *
+     * @param locator - The mapped UI element.
+     * @param pollingStrategy The polling strategy to use for this wait.
+     *
+     * @return A WebElement.
+     */
+    public WebElement findWhenClickable(Locator locator, PollingStrategy pollingStrategy) {
+        return cached(locator, webElement -> webElement.isDisplayed() && webElement.isEnabled(),
+                () -> findWhenClickableUncached(locator, pollingStrategy));
+    }
+    
+    private WebElement findWhenClickableUncached(Locator locator, PollingStrategy pollingStrategy) {
         LOG.debug("Finding element [{}] when clickable.", locator.getName());
-        WebDriverWait webDriverWait =
-                new WebDriverWait(WebDriverProvider.getWebDriver(), Duration.ofSeconds(WebConfig.timeout));
+        long startNanos = StepRecorder.beginWait();
         
         try {
             LOG.debug("Initializing element [{}] when clickable.", locator.getName());
             
+            if (WebConfig.eventDrivenWaits) {
+                return awaitMutation(locator, MutationWait.State.CLICKABLE).get(0);
+            }
+            
+            WebDriverWait webDriverWait =
+                    pollingStrategy.newWait(WebDriverProvider.getWebDriver(), Duration.ofSeconds(WebConfig.timeout));
             return webDriverWait.until(ExpectedConditions.elementToBeClickable(bySizzle(locator)));
         }
         catch (Exception exception) {
@@ -144,6 +315,9 @@ public class WebFinder {
             
             throw exception;
         }
+        finally {
+            StepRecorder.endWait(startNanos);
+        }
     }
     
     /**
@@ -154,13 +328,35 @@ public class WebFinder {
      * @return A WebElement.
      */
     public WebElement findWhenPresent(Locator locator) {
+        return findWhenPresent(locator, WebConfig.pollingStrategy);
+    }
+    
+    /**
+     * Initializes the first matching instance of the given locator, once present on the DOM.
+     *
+     * @param locator - The mapped UI element.
+     * @param pollingStrategy The polling strategy to use for this wait.
+     *
+     * @return A WebElement.
+     */
+    public WebElement findWhenPresent(Locator locator, PollingStrategy pollingStrategy) {
+        return cached(locator, webElement -> true,
+                () -> findWhenPresentUncached(locator, pollingStrategy));
+    }
+    
+    private WebElement findWhenPresentUncached(Locator locator, PollingStrategy pollingStrategy) {
         LOG.debug("Finding element [{}] when present.", locator.getName());
-        WebDriverWait webDriverWait =
-                new WebDriverWait(WebDriverProvider.getWebDriver(), Duration.ofSeconds(WebConfig.timeout));
+        long startNanos = StepRecorder.beginWait();
         
         try {
             LOG.debug("Initializing element [{}] when present.", locator.getName());
             
+            if (WebConfig.eventDrivenWaits) {
+                return awaitMutation(locator, MutationWait.State.PRESENT).get(0);
+            }
+            
+            WebDriverWait webDriverWait =
+                    pollingStrategy.newWait(WebDriverProvider.getWebDriver(), Duration.ofSeconds(WebConfig.timeout));
             return webDriverWait.until(ExpectedConditions.presenceOfElementLocated(bySizzle(locator)));
         }
         catch (Exception exception) {
@@ -168,9 +364,26 @@ public class WebFinder {
             
             throw exception;
         }
+        finally {
+            StepRecorder.endWait(startNanos);
+        }
+    }
+    
+    private WebElement cached(Locator locator, Predicate<WebElement> condition, Supplier<WebElement> finder) {
+        if (!WebConfig.elementCache) {
+            return finder.get();
+        }
+        
+        return ElementCache.forDriver(WebDriverProvider.getWebDriver()).get(locator, condition, finder);
+    }
+    
+    private List<WebElement> awaitMutation(Locator locator, MutationWait.State state) {
+        return MutationWait.until(locator, state, Duration.ofSeconds(WebConfig.timeout));
     }
     
     private By bySizzle(Locator locator) {
-        return BySizzle.css(locator.getSelector());
+        List<String> selectorChain = locator.getSelectorChain();
+        
+        return (selectorChain.size() == 1) ? BySizzle.css(selectorChain.get(0)) : BySizzle.scoped(selectorChain);
     }
 }
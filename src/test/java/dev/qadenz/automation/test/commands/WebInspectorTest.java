@@ -0,0 +1,74 @@
+/*
+Copyright Tim Slifer
+
+Licensed under the PolyForm Internal Use License, Version 1.0.0 (the "License");
+you may not use this file except in compliance with the License.
+A copy of the License may be obtained at
+
+https://polyformproject.org/licenses/internal-use/1.0.0/
+ */
+package dev.qadenz.automation.test.commands;
+
+import dev.qadenz.automation.commands.WebInspector;
+import dev.qadenz.automation.config.WebDriverProvider;
+import dev.qadenz.automation.ui.Locator;
+import dev.qadenz.automation.ui.LocatorGroup;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+public class WebInspectorTest {
+    
+    private final WebInspector webInspector = new WebInspector(WebInspectorTest.class);
+    
+    private WebDriver webDriver;
+    
+    @BeforeEach
+    public void initDriver() {
+        webDriver = mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class));
+        WebDriverProvider.setWebDriver(webDriver);
+    }
+    
+    @AfterEach
+    public void clearDriver() {
+        WebDriverProvider.setWebDriver(null);
+    }
+    
+    @Test
+    public void testGetVisibilityOfElements_KeepsStatesOfGroupMembersSharingAName() {
+        Locator shownBanner = new Locator("Banner", "#shown");
+        Locator hiddenBanner = new Locator("Banner", "#hidden");
+        when(((JavascriptExecutor) webDriver).executeScript(anyString(), any(Object[].class)))
+                .thenReturn(List.of(visibility(1, null), visibility(1, "display: none;")));
+        
+        Map<Locator, Boolean> visibleStates =
+                webInspector.getVisibilityOfElements(new LocatorGroup("Banners", shownBanner, hiddenBanner));
+        
+        assertEquals(2, visibleStates.size());
+        assertTrue(visibleStates.get(shownBanner));
+        assertFalse(visibleStates.get(hiddenBanner));
+    }
+    
+    private static Map<String, Object> visibility(long count, String hiddenBy) {
+        Map<String, Object> visibility = new HashMap<>();
+        visibility.put("count", count);
+        visibility.put("hiddenBy", hiddenBy);
+        
+        return visibility;
+    }
+}
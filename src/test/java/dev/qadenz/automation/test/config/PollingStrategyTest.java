@@ -0,0 +1,69 @@
+/*
+Copyright Tim Slifer
+
+Licensed under the PolyForm Internal Use License, Version 1.0.0 (the "License");
+you may not use this file except in compliance with the License.
+A copy of the License may be obtained at
+
+https://polyformproject.org/licenses/internal-use/1.0.0/
+ */
+package dev.qadenz.automation.test.config;
+
+import dev.qadenz.automation.config.PollingStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PollingStrategyTest {
+    
+    @Test
+    public void testFixed_ReturnsSameIntervalForEveryAttempt() {
+        PollingStrategy pollingStrategy = PollingStrategy.fixed(Duration.ofMillis(500));
+        assertEquals(Duration.ofMillis(500), pollingStrategy.getInterval(0, Duration.ZERO));
+        assertEquals(Duration.ofMillis(500), pollingStrategy.getInterval(10, Duration.ofSeconds(20)));
+    }
+    
+    @Test
+    public void testExponential_GrowsIntervalByMultiplier() {
+        PollingStrategy pollingStrategy =
+                PollingStrategy.exponential(Duration.ofMillis(100), 2, Duration.ofMillis(1000));
+        assertEquals(Duration.ofMillis(100), pollingStrategy.getInterval(0, Duration.ZERO));
+        assertEquals(Duration.ofMillis(200), pollingStrategy.getInterval(1, Duration.ZERO));
+        assertEquals(Duration.ofMillis(800), pollingStrategy.getInterval(3, Duration.ZERO));
+    }
+    
+    @Test
+    public void testExponential_DoesNotExceedMaxInterval() {
+        PollingStrategy pollingStrategy =
+                PollingStrategy.exponential(Duration.ofMillis(100), 2, Duration.ofMillis(1000));
+        assertEquals(Duration.ofMillis(1000), pollingStrategy.getInterval(4, Duration.ZERO));
+        assertEquals(Duration.ofMillis(1000), pollingStrategy.getInterval(100, Duration.ZERO));
+    }
+    
+    @Test
+    public void testFastThenSlow_UsesFastIntervalWithinFastPeriod() {
+        PollingStrategy pollingStrategy =
+                PollingStrategy.fastThenSlow(Duration.ofMillis(50), Duration.ofSeconds(2), Duration.ofSeconds(1));
+        assertEquals(Duration.ofMillis(50), pollingStrategy.getInterval(5, Duration.ofMillis(1999)));
+    }
+    
+    @Test
+    public void testFastThenSlow_UsesSlowIntervalAfterFastPeriod() {
+        PollingStrategy pollingStrategy =
+                PollingStrategy.fastThenSlow(Duration.ofMillis(50), Duration.ofSeconds(2), Duration.ofSeconds(1));
+        assertEquals(Duration.ofSeconds(1), pollingStrategy.getInterval(40, Duration.ofSeconds(2)));
+    }
+    
+    @Test
+    public void testTypeFromString_IgnoresCase() {
+        assertEquals(PollingStrategy.Type.FAST_THEN_SLOW, PollingStrategy.Type.fromString("FastThenSlow"));
+    }
+    
+    @Test
+    public void testTypeFromString_ThrowsForUnknownName() {
+        assertThrows(IllegalArgumentException.class, () -> PollingStrategy.Type.fromString("random"));
+    }
+}
@@ -0,0 +1,116 @@
+/*
+Copyright Tim Slifer
+
+Licensed under the PolyForm Internal Use License, Version 1.0.0 (the "License");
+you may not use this file except in compliance with the License.
+A copy of the License may be obtained at
+
+https://polyformproject.org/licenses/internal-use/1.0.0/
+ */
+package dev.qadenz.automation.test.config;
+
+import dev.qadenz.automation.config.PollingStrategy;
+import dev.qadenz.automation.config.XmlParameterValidator;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class XmlParameterValidatorTest {
+    
+    @Test
+    public void testValidateScreenshotPolicy_Defaults() {
+        XmlParameterValidator validator = new XmlParameterValidator(Map.of());
+        assertEquals("png", validator.validateScreenshotPolicy().toString());
+    }
+    
+    @Test
+    public void testValidateScreenshotPolicy_ValidValues() {
+        XmlParameterValidator validator = new XmlParameterValidator(Map.of("screenshotMaxWidth", "800",
+                "screenshotMaxHeight", "600", "screenshotFormat", "jpeg", "screenshotQuality", "0.5"));
+        assertEquals("jpeg at quality 0.5, max 800x600", validator.validateScreenshotPolicy().toString());
+    }
+    
+    @Test
+    public void testValidateScreenshotPolicy_NonNumericWidth() {
+        XmlParameterValidator validator = new XmlParameterValidator(Map.of("screenshotMaxWidth", "wide"));
+        IllegalArgumentException exception =
+                assertThrows(IllegalArgumentException.class, validator::validateScreenshotPolicy);
+        assertEquals("Invalid value [wide] for parameter [screenshotMaxWidth].", exception.getMessage());
+    }
+    
+    @Test
+    public void testValidateScreenshotPolicy_NegativeHeight() {
+        XmlParameterValidator validator = new XmlParameterValidator(Map.of("screenshotMaxHeight", "-1"));
+        IllegalArgumentException exception =
+                assertThrows(IllegalArgumentException.class, validator::validateScreenshotPolicy);
+        assertEquals("Invalid value [-1] for parameter [screenshotMaxHeight].", exception.getMessage());
+    }
+    
+    @Test
+    public void testValidateScreenshotPolicy_QualityOutOfRange() {
+        XmlParameterValidator validator = new XmlParameterValidator(Map.of("screenshotQuality", "1.5"));
+        IllegalArgumentException exception =
+                assertThrows(IllegalArgumentException.class, validator::validateScreenshotPolicy);
+        assertEquals("Invalid value [1.5] for parameter [screenshotQuality].", exception.getMessage());
+    }
+    
+    @Test
+    public void testValidateScreenshotPolicy_NonNumericQuality() {
+        XmlParameterValidator validator = new XmlParameterValidator(Map.of("screenshotQuality", "high"));
+        assertThrows(IllegalArgumentException.class, validator::validateScreenshotPolicy);
+    }
+    
+    @Test
+    public void testValidatePollingStrategy_ZeroInterval() {
+        XmlParameterValidator validator = new XmlParameterValidator(Map.of("pollingInterval", "0"));
+        IllegalArgumentException exception =
+                assertThrows(IllegalArgumentException.class, validator::validatePollingStrategy);
+        assertEquals("Invalid value [0] for parameter [pollingInterval].", exception.getMessage());
+    }
+    
+    @Test
+    public void testValidatePollingStrategy_NegativeFastPeriod() {
+        XmlParameterValidator validator = new XmlParameterValidator(Map.of("pollingStrategy", "fastThenSlow",
+                "pollingFastPeriod", "-100"));
+        IllegalArgumentException exception =
+                assertThrows(IllegalArgumentException.class, validator::validatePollingStrategy);
+        assertEquals("Invalid value [-100] for parameter [pollingFastPeriod].", exception.getMessage());
+    }
+    
+    @Test
+    public void testValidatePollingStrategy_MaxIntervalBelowInterval() {
+        XmlParameterValidator validator = new XmlParameterValidator(Map.of("pollingStrategy", "exponential",
+                "pollingInterval", "1000", "pollingMaxInterval", "500"));
+        assertThrows(IllegalArgumentException.class, validator::validatePollingStrategy);
+    }
+    
+    @Test
+    public void testValidatePollingStrategy_FixedIgnoresMaxInterval() {
+        XmlParameterValidator validator = new XmlParameterValidator(Map.of("pollingInterval", "3000"));
+        assertEquals(PollingStrategy.fixed(Duration.ofMillis(3000)).toString(),
+                validator.validatePollingStrategy().toString());
+    }
+    
+    @Test
+    public void testValidateRunHistory_WindowBelowMinimumRuns() {
+        XmlParameterValidator validator = new XmlParameterValidator(Map.of("runHistoryFile", "history.jsonl",
+                "runHistoryWindow", "4"));
+        IllegalArgumentException exception =
+                assertThrows(IllegalArgumentException.class, validator::validateRunHistory);
+        assertEquals("Run History Window must be at least 5, the fewest passed runs a duration trend is calculated " +
+                "from.", exception.getMessage());
+    }
+    
+    @Test
+    public void testValidateRunHistory_NonNumericWindow() {
+        XmlParameterValidator validator = new XmlParameterValidator(Map.of("runHistoryFile", "history.jsonl",
+                "runHistoryWindow", "all"));
+        IllegalArgumentException exception =
+                assertThrows(IllegalArgumentException.class, validator::validateRunHistory);
+        assertEquals("Invalid value [all] for parameter [runHistoryWindow].", exception.getMessage());
+    }
+}
@@ -0,0 +1,79 @@
+/*
+Copyright Tim Slifer
+
+Licensed under the PolyForm Internal Use License, Version 1.0.0 (the "License");
+you may not use this file except in compliance with the License.
+A copy of the License may be obtained at
+
+https://polyformproject.org/licenses/internal-use/1.0.0/
+ */
+package dev.qadenz.automation.test.reporter;
+
+import dev.qadenz.automation.reporter.DiskScreenshotStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class DiskScreenshotStoreTest {
+    
+    private final byte[] image = "image".getBytes(StandardCharsets.UTF_8);
+    
+    private Path directory;
+    
+    @BeforeEach
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("disk-screenshot-store-test");
+    }
+    
+    @AfterEach
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+    
+    @Test
+    public void testGet_StoredImage() {
+        DiskScreenshotStore store = new DiskScreenshotStore(directory, 0);
+        store.put("first", image);
+        
+        assertArrayEquals(image, store.get("first"));
+    }
+    
+    @Test
+    public void testGet_UnknownIdentifier() {
+        DiskScreenshotStore store = new DiskScreenshotStore(directory, 0);
+        
+        assertNull(store.get("first"));
+    }
+    
+    @Test
+    public void testGet_ResolvedByNewStoreOnSameDirectory() {
+        new DiskScreenshotStore(directory, 0).put("first", image);
+        
+        assertArrayEquals(image, new DiskScreenshotStore(directory, 0).get("first"));
+    }
+    
+    @Test
+    public void testGet_SkipsIncompleteIndexLine() throws IOException {
+        new DiskScreenshotStore(directory, 0).put("first", image);
+        Files.write(directory.resolve("index"), "second".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+        
+        DiskScreenshotStore store = new DiskScreenshotStore(directory, 0);
+        
+        assertArrayEquals(image, store.get("first"));
+        assertNull(store.get("second"));
+    }
+}
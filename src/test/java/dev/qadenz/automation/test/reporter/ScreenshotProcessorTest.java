@@ -0,0 +1,56 @@
+/*
+Copyright Tim Slifer
+
+Licensed under the PolyForm Internal Use License, Version 1.0.0 (the "License");
+you may not use this file except in compliance with the License.
+A copy of the License may be obtained at
+
+https://polyformproject.org/licenses/internal-use/1.0.0/
+ */
+package dev.qadenz.automation.test.reporter;
+
+import dev.qadenz.automation.reporter.MemoryScreenshotStore;
+import dev.qadenz.automation.reporter.ScreenshotProcessor;
+import dev.qadenz.automation.reporter.ScreenshotStore;
+import dev.qadenz.automation.reporter.ScreenshotStoreProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+public class ScreenshotProcessorTest {
+    
+    private ScreenshotStore store;
+    
+    @BeforeEach
+    public void setUp() {
+        store = new MemoryScreenshotStore();
+        ScreenshotStoreProvider.setScreenshotStore(store);
+    }
+    
+    @AfterEach
+    public void tearDown() {
+        ScreenshotStoreProvider.setScreenshotStore(null);
+    }
+    
+    @Test
+    public void testSubmit_StoresEachIdentifier() {
+        ScreenshotProcessor.getInstance().submit("first", new byte[] {1});
+        ScreenshotProcessor.getInstance().submit("second", new byte[] {2});
+        ScreenshotProcessor.getInstance().awaitCompletion();
+        
+        assertArrayEquals(new byte[] {1}, store.get("first"));
+        assertArrayEquals(new byte[] {2}, store.get("second"));
+    }
+    
+    @Test
+    public void testSubmit_LastSubmissionReplacesEarlier() {
+        for (int i = 0; i < 100; i++) {
+            ScreenshotProcessor.getInstance().submit("first", new byte[] {(byte) i});
+        }
+        ScreenshotProcessor.getInstance().awaitCompletion();
+        
+        assertArrayEquals(new byte[] {99}, store.get("first"));
+    }
+}
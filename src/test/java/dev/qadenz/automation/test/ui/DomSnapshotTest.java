@@ -0,0 +1,106 @@
+/*
+Copyright Tim Slifer
+
+Licensed under the PolyForm Internal Use License, Version 1.0.0 (the "License");
+you may not use this file except in compliance with the License.
+A copy of the License may be obtained at
+
+https://polyformproject.org/licenses/internal-use/1.0.0/
+ */
+package dev.qadenz.automation.test.ui;
+
+import dev.qadenz.automation.ui.DomSnapshot;
+import dev.qadenz.automation.ui.Locator;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class DomSnapshotTest {
+    
+    private static final String HTML = "<html><head><title>Results</title></head><body>" +
+            "<h1>Results <span data-qadenz-hidden>(loading)</span></h1>" +
+            "<table><tr><td>A</td><td>1</td></tr><tr><td>B</td><td>2</td></tr></table>" +
+            "<p>Line one<br>Line&nbsp;two</p>" +
+            "<a class='link' href='/details'>Details</a>" +
+            "<input id='agree' type='checkbox' checked><input id='name' value='Tim'>" +
+            "<ul><li>One</li><li>Two</li><li data-qadenz-hidden>Three</li></ul>" +
+            "<div class='note'>direct <b>bold</b> text</div>" +
+            "</body></html>";
+    
+    private final DomSnapshot domSnapshot = new DomSnapshot(HTML, "http://localhost/app/");
+    
+    @Test
+    public void testGetText_SkipsHiddenDescendants() {
+        assertEquals("Results", domSnapshot.getText(new Locator("Heading", "h1")));
+    }
+    
+    @Test
+    public void testGetText_SeparatesRowsAndCells() {
+        assertEquals("A\t1\nB\t2", domSnapshot.getText(new Locator("Table", "table")));
+    }
+    
+    @Test
+    public void testGetText_BreaksLinesAndReplacesNonBreakingSpaces() {
+        assertEquals("Line one\nLine two", domSnapshot.getText(new Locator("Paragraph", "p")));
+    }
+    
+    @Test
+    public void testGetDirectText_ExcludesDescendantText() {
+        assertEquals("direct text", domSnapshot.getDirectText(new Locator("Note", ".note")));
+    }
+    
+    @Test
+    public void testGetTexts_DefersToBrowserWhenAnyInstanceIsHidden() {
+        assertNull(domSnapshot.getTexts(new Locator("Items", "li")));
+        assertEquals(List.of("One", "Two"), domSnapshot.getTexts(new Locator("Items", "li:not([data-qadenz-hidden])")));
+    }
+    
+    @Test
+    public void testGetAttribute_ResolvesLinksAndBooleans() {
+        assertEquals("http://localhost/details", domSnapshot.getAttribute(new Locator("Link", "a.link"), "href"));
+        assertEquals("true", domSnapshot.getAttribute(new Locator("Agree", "#agree"), "checked"));
+        assertEquals("Tim", domSnapshot.getAttribute(new Locator("Name", "#name"), "value"));
+    }
+    
+    @Test
+    public void testCanReadAttribute_DefersPropertiesToBrowser() {
+        assertFalse(domSnapshot.canReadAttribute(new Locator("Name", "#name"), "innerHTML"));
+    }
+    
+    @Test
+    public void testGetCount_TranslatesContains() {
+        assertEquals(1, domSnapshot.getCount(new Locator("Cell", "td:contains('A')")));
+        assertEquals(0, domSnapshot.getCount(new Locator("Cell", "td:contains(a)")));
+    }
+    
+    @Test
+    public void testGetCount_DefersSizzleExtensionsToBrowser() {
+        assertNull(domSnapshot.getCount(new Locator("Item", "li:first")));
+        assertNull(domSnapshot.getCount(new Locator("Item", "li:eq(1)")));
+    }
+    
+    @Test
+    public void testGetCount_ReadsLocatorsRelativeToContainer() {
+        Locator results = new Locator("Results", new Locator("Page", "div.page"), " #results");
+        DomSnapshot containerSnapshot = new DomSnapshot("<div id='results' data-qadenz-root>" +
+                "<ul><li>One</li><li>Two</li></ul></div>", "http://localhost/app/", results);
+        
+        assertEquals(2, containerSnapshot.getCount(new Locator("Items", results, " li")));
+        assertEquals(List.of("One", "Two"), containerSnapshot.getTexts(new Locator("Items", results, " > ul > li")));
+        assertNull(containerSnapshot.getCount(new Locator("Items", "li")));
+        assertNull(containerSnapshot.getCount(new Locator("Results", results, ".active")));
+    }
+    
+    @Test
+    public void testGetTexts_ParsesTableRowContainerWithinTable() {
+        Locator row = new Locator("Row", "tr.first");
+        DomSnapshot containerSnapshot = new DomSnapshot("<tr class='first' data-qadenz-root><td>A</td><td>1</td></tr>",
+                "http://localhost/app/", row);
+        
+        assertEquals(List.of("A", "1"), containerSnapshot.getTexts(new Locator("Cells", row, " > td")));
+    }
+}
@@ -0,0 +1,166 @@
+/*
+Copyright Tim Slifer
+
+Licensed under the PolyForm Internal Use License, Version 1.0.0 (the "License");
+you may not use this file except in compliance with the License.
+A copy of the License may be obtained at
+
+https://polyformproject.org/licenses/internal-use/1.0.0/
+ */
+package dev.qadenz.automation.test.ui;
+
+import dev.qadenz.automation.config.WebConfig;
+import dev.qadenz.automation.config.WebDriverProvider;
+import dev.qadenz.automation.ui.ElementCache;
+import dev.qadenz.automation.ui.Locator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ElementCacheTest {
+    
+    private final Locator button = new Locator("Submit Button", "#submit");
+    
+    private WebDriver webDriver;
+    private WebElement firstElement;
+    private WebElement secondElement;
+    private Supplier<WebElement> finder;
+    
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void initMocks() {
+        webDriver = mock(WebDriver.class);
+        firstElement = mock(WebElement.class);
+        secondElement = mock(WebElement.class);
+        finder = mock(Supplier.class);
+        when(finder.get()).thenReturn(firstElement, secondElement);
+        
+        WebConfig.elementCache = true;
+        WebDriverProvider.setWebDriver(webDriver);
+    }
+    
+    @AfterEach
+    public void resetConfig() {
+        ElementCache.discard(webDriver);
+        WebConfig.elementCache = false;
+        WebDriverProvider.setWebDriver(null);
+    }
+    
+    @Test
+    public void testGet_ReusesElementMeetingCondition() {
+        ElementCache elementCache = ElementCache.forDriver(webDriver);
+        WebElement cached = elementCache.get(button, webElement -> true, finder);
+        
+        assertSame(cached, elementCache.get(button, webElement -> true, finder));
+        verify(finder, times(1)).get();
+        assertSame(firstElement, ((WrapsElement) cached).getWrappedElement());
+    }
+    
+    @Test
+    public void testGet_FindsAgainWhenConditionIsNotMet() {
+        ElementCache elementCache = ElementCache.forDriver(webDriver);
+        elementCache.get(button, webElement -> true, finder);
+        when(firstElement.isEnabled()).thenReturn(false);
+        
+        WebElement cached = elementCache.get(button, WebElement::isEnabled, finder);
+        
+        verify(finder, times(2)).get();
+        assertSame(secondElement, ((WrapsElement) cached).getWrappedElement());
+    }
+    
+    @Test
+    public void testGet_FindsAgainWhenStaleOnConditionCheck() {
+        ElementCache elementCache = ElementCache.forDriver(webDriver);
+        elementCache.get(button, webElement -> true, finder);
+        when(firstElement.isDisplayed()).thenThrow(new StaleElementReferenceException("stale"));
+        
+        WebElement cached = elementCache.get(button, WebElement::isDisplayed, finder);
+        
+        assertSame(secondElement, ((WrapsElement) cached).getWrappedElement());
+    }
+    
+    @Test
+    public void testStaleElement_IsFoundAgainAndCallRepeated() {
+        WebElement cached = ElementCache.forDriver(webDriver).get(button, webElement -> true, finder);
+        doThrow(new StaleElementReferenceException("stale")).when(firstElement).click();
+        
+        cached.click();
+        
+        verify(finder, times(2)).get();
+        verify(secondElement).click();
+        assertSame(secondElement, ((WrapsElement) cached).getWrappedElement());
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testStaleElement_IsFoundAgainWithLatestFinder() {
+        ElementCache elementCache = ElementCache.forDriver(webDriver);
+        WebElement cached = elementCache.get(button, webElement -> true, finder);
+        Supplier<WebElement> clickableFinder = mock(Supplier.class);
+        when(clickableFinder.get()).thenReturn(secondElement);
+        elementCache.get(button, webElement -> true, clickableFinder);
+        when(firstElement.getText()).thenThrow(new StaleElementReferenceException("stale"));
+        when(secondElement.getText()).thenReturn("Submit");
+        
+        assertEquals("Submit", cached.getText());
+        verify(finder, times(1)).get();
+        verify(clickableFinder, times(1)).get();
+    }
+    
+    @Test
+    public void testInvalidate_RemovesElement() {
+        ElementCache elementCache = ElementCache.forDriver(webDriver);
+        elementCache.get(button, webElement -> true, finder);
+        elementCache.invalidate(button);
+        
+        elementCache.get(button, webElement -> true, finder);
+        
+        verify(finder, times(2)).get();
+    }
+    
+    @Test
+    public void testReset_DiscardsCacheOfCurrentSession() {
+        ElementCache.forDriver(webDriver).get(button, webElement -> true, finder);
+        ElementCache.reset();
+        
+        ElementCache.forDriver(webDriver).get(button, webElement -> true, finder);
+        
+        verify(finder, times(2)).get();
+    }
+    
+    @Test
+    public void testReset_KeepsCacheWhenCachingIsDisabled() {
+        ElementCache.forDriver(webDriver).get(button, webElement -> true, finder);
+        WebConfig.elementCache = false;
+        ElementCache.reset();
+        
+        ElementCache.forDriver(webDriver).get(button, webElement -> true, finder);
+        
+        verify(finder, times(1)).get();
+    }
+    
+    @Test
+    public void testQuitWebDriver_DiscardsCacheOfSession() {
+        ElementCache.forDriver(webDriver).get(button, webElement -> true, finder);
+        WebDriverProvider.quitWebDriver(webDriver);
+        
+        ElementCache.forDriver(webDriver).get(button, webElement -> true, finder);
+        
+        verify(webDriver).quit();
+        verify(finder, times(2)).get();
+    }
+}
@@ -0,0 +1,143 @@
+/*
+Copyright Tim Slifer
+
+Licensed under the PolyForm Internal Use License, Version 1.0.0 (the "License");
+you may not use this file except in compliance with the License.
+A copy of the License may be obtained at
+
+https://polyformproject.org/licenses/internal-use/1.0.0/
+ */
+package dev.qadenz.automation.test.ui;
+
+import dev.qadenz.automation.config.WebDriverProvider;
+import dev.qadenz.automation.ui.ElementScripts;
+import dev.qadenz.automation.ui.Locator;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.UnexpectedTagNameException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+public class ElementScriptsTest {
+    
+    private WebDriver webDriver;
+    
+    @BeforeEach
+    public void initDriver() {
+        webDriver = mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class));
+        WebDriverProvider.setWebDriver(webDriver);
+    }
+    
+    @AfterEach
+    public void clearDriver() {
+        WebDriverProvider.setWebDriver(null);
+    }
+    
+    @Test
+    public void testGetVisibility_ReadsParsedStyleForUnspacedDeclarations() {
+        // An inline style of "display:none" is only matched once parsed, as the raw attribute has no spaces.
+        String script = captureVisibilityScript(new Locator("Banner", "#banner"));
+        
+        assertTrue(script.contains("e.style.display === 'none'"));
+        assertTrue(script.contains("e.style.visibility === 'hidden'"));
+        assertFalse(script.contains("getAttribute('style')"));
+    }
+    
+    @Test
+    public void testGetVisibility_ReadsHiddenByAttributeAsProperty() {
+        String script = captureVisibilityScript(new Locator("Banner", "#banner").setHiddenByAttribute("class", "gone"));
+        
+        assertTrue(script.contains("attr(e, attribute)"));
+        assertTrue(script.contains("attr(e, 'hidden')"));
+    }
+    
+    @Test
+    public void testGetOptionTexts_RejectsElementOtherThanSelect() {
+        WebElement listElement = mock(WebElement.class);
+        when(listElement.getTagName()).thenReturn("ul");
+        
+        assertThrows(UnexpectedTagNameException.class, () -> ElementScripts.getOptionTexts(listElement));
+        verify((JavascriptExecutor) webDriver, never()).executeScript(anyString(), any(Object[].class));
+    }
+    
+    @Test
+    public void testGetSelectedOptionTexts_ReadsOptionsOfSelect() {
+        WebElement selectElement = mock(WebElement.class);
+        when(selectElement.getTagName()).thenReturn("SELECT");
+        when(((JavascriptExecutor) webDriver).executeScript(anyString(), any(Object[].class)))
+                .thenReturn(List.of("First"));
+        
+        assertEquals(List.of("First"), ElementScripts.getSelectedOptionTexts(selectElement));
+    }
+    
+    @Test
+    public void testGetAttributeValues_ReadsWithSeleniumGetAttributeAtom() throws IOException {
+        // The atom carries the single-element rules: boolean attributes such as readonly, class read as className,
+        // and href and src resolved to absolute URLs.
+        String atom;
+        try (InputStream stream = getClass().getResourceAsStream("/org/openqa/selenium/remote/getAttribute.js")) {
+            atom = IOUtils.toString(stream, StandardCharsets.UTF_8).trim();
+        }
+        
+        WebElement webElement = mock(WebElement.class);
+        String script = captureScript(() -> ElementScripts.getAttributeValues(List.of(webElement), "class"));
+        
+        assertTrue(script.contains("var f = " + atom + ","));
+    }
+    
+    @Test
+    public void testGetTextValues_ReadsNoTextFromElementNotRendered() {
+        String script = captureScript(() -> ElementScripts.getTextValues(List.of(mock(WebElement.class))));
+        
+        assertTrue(script.contains("if (e.getClientRects().length === 0 || " +
+                "window.getComputedStyle(e).visibility === 'hidden') {return ''; }"));
+    }
+    
+    @Test
+    public void testGetTextValues_TrimsLinesAndDropsBlankLines() {
+        String script = captureScript(() -> ElementScripts.getTextValues(List.of(mock(WebElement.class))));
+        
+        assertTrue(script.contains("l.replace(/^[^\\S\\u00a0]+|[^\\S\\u00a0]+$/g, '')"));
+        assertTrue(script.contains(".filter(function (l) { return l !== ''; }).join('\\n')" +
+                ".replace(/\\u00a0/g, ' ')"));
+    }
+    
+    private String captureScript(Runnable read) {
+        read.run();
+        
+        ArgumentCaptor<String> script = ArgumentCaptor.forClass(String.class);
+        verify((JavascriptExecutor) webDriver).executeScript(script.capture(), any(Object[].class));
+        
+        return script.getValue();
+    }
+    
+    private String captureVisibilityScript(Locator locator) {
+        ElementScripts.getVisibility(List.of(locator));
+        
+        ArgumentCaptor<String> script = ArgumentCaptor.forClass(String.class);
+        verify((JavascriptExecutor) webDriver).executeScript(script.capture(), any());
+        
+        return script.getValue();
+    }
+}
@@ -0,0 +1,65 @@
+/*
+Copyright Tim Slifer
+
+Licensed under the PolyForm Internal Use License, Version 1.0.0 (the "License");
+you may not use this file except in compliance with the License.
+A copy of the License may be obtained at
+
+https://polyformproject.org/licenses/internal-use/1.0.0/
+ */
+package dev.qadenz.automation.test.ui;
+
+import dev.qadenz.automation.ui.Locator;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class LocatorTest {
+    
+    private final Locator table = new Locator("Results Table", "#results");
+    private final Locator row = new Locator("Result Row", table, " > tbody > tr");
+    
+    @Test
+    public void testGetSelector_ConcatenatesParent() {
+        assertEquals("#results > tbody > tr", row.getSelector());
+    }
+    
+    @Test
+    public void testGetSelectorChain_ScopesDescendantsAndChildren() {
+        Locator cell = new Locator("Result Cell", row, " td");
+        
+        assertEquals(List.of("#results", "> tbody > tr", "td"), cell.getSelectorChain());
+    }
+    
+    @Test
+    public void testGetSelectorChain_JoinsCompoundAndSiblingSelectors() {
+        Locator activeRow = new Locator("Active Row", row, ".active");
+        Locator nextRow = new Locator("Next Row", activeRow, " + tr");
+        
+        assertEquals(List.of("#results", "> tbody > tr.active + tr"), nextRow.getSelectorChain());
+    }
+    
+    @Test
+    public void testGetSelectorChain_KeepsSelectorListsWhole() {
+        Locator links = new Locator("Links", new Locator("Menus", "nav, aside"), " a");
+        
+        assertEquals(List.of("nav, aside a"), links.getSelectorChain());
+    }
+    
+    @Test
+    public void testGetSelectorChain_KeepsPositionalSelectorsWhole() {
+        Locator thirdCell = new Locator("Third Cell", row, " td:eq(2)");
+        
+        assertEquals(List.of("#results > tbody > tr td:eq(2)"), thirdCell.getSelectorChain());
+    }
+    
+    @Test
+    public void testGetSelectorChain_ScopesBelowPositionalParent() {
+        Locator firstRow = new Locator("First Row", table, " tr:first");
+        Locator cell = new Locator("Cell", firstRow, " td");
+        
+        assertEquals(List.of("#results tr:first", "td"), cell.getSelectorChain());
+    }
+}
@@ -0,0 +1,90 @@
+/*
+Copyright Tim Slifer
+
+Licensed under the PolyForm Internal Use License, Version 1.0.0 (the "License");
+you may not use this file except in compliance with the License.
+A copy of the License may be obtained at
+
+https://polyformproject.org/licenses/internal-use/1.0.0/
+ */
+package dev.qadenz.automation.test.ui;
+
+import dev.qadenz.automation.config.WebDriverProvider;
+import dev.qadenz.automation.ui.Locator;
+import dev.qadenz.automation.ui.MutationWait;
+import dev.qadenz.automation.ui.SizzleSession;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+public class MutationWaitTest {
+    
+    private final Locator locator = new Locator("Banner", "#banner");
+    
+    private WebDriver webDriver;
+    
+    @BeforeEach
+    public void initDriver() {
+        webDriver = mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class));
+        WebDriverProvider.setWebDriver(webDriver);
+    }
+    
+    @AfterEach
+    public void clearDriver() {
+        SizzleSession.discard(webDriver);
+        WebDriverProvider.setWebDriver(null);
+        Thread.interrupted();
+    }
+    
+    @Test
+    public void testUntil_RethrowsScriptErrorWithoutRetrying() {
+        when(((JavascriptExecutor) webDriver).executeAsyncScript(anyString(), any(Object[].class)))
+                .thenThrow(new JavascriptException("javascript error: Cannot read properties of null"));
+        
+        assertThrows(JavascriptException.class,
+                () -> MutationWait.until(locator, MutationWait.State.VISIBLE, Duration.ofSeconds(5)));
+        verify((JavascriptExecutor) webDriver, times(1)).executeAsyncScript(anyString(), any(Object[].class));
+    }
+    
+    @Test
+    public void testUntil_RetriesWhenDocumentIsUnloaded() {
+        when(((JavascriptExecutor) webDriver).executeAsyncScript(anyString(), any(Object[].class)))
+                .thenThrow(new JavascriptException("javascript error: document unloaded while waiting for result"));
+        
+        assertThrows(TimeoutException.class,
+                () -> MutationWait.until(locator, MutationWait.State.VISIBLE, Duration.ofMillis(300)));
+        verify((JavascriptExecutor) webDriver, atLeast(2)).executeAsyncScript(anyString(), any(Object[].class));
+    }
+    
+    @Test
+    public void testUntil_StopsRetryingOnceInterrupted() {
+        when(((JavascriptExecutor) webDriver).executeAsyncScript(anyString(), any(Object[].class)))
+                .thenThrow(new JavascriptException("javascript error: document unloaded while waiting for result"));
+        Thread.currentThread().interrupt();
+        
+        WebDriverException exception = assertThrows(WebDriverException.class,
+                () -> MutationWait.until(locator, MutationWait.State.VISIBLE, Duration.ofSeconds(5)));
+        assertInstanceOf(InterruptedException.class, exception.getCause());
+        assertTrue(Thread.currentThread().isInterrupted());
+        verify((JavascriptExecutor) webDriver, times(1)).executeAsyncScript(anyString(), any(Object[].class));
+    }
+}
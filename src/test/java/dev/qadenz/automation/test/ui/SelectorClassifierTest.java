@@ -0,0 +1,67 @@
+/*
+Copyright Tim Slifer
+
+Licensed under the PolyForm Internal Use License, Version 1.0.0 (the "License");
+you may not use this file except in compliance with the License.
+A copy of the License may be obtained at
+
+https://polyformproject.org/licenses/internal-use/1.0.0/
+ */
+package dev.qadenz.automation.test.ui;
+
+import dev.qadenz.automation.ui.SelectorClassifier;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SelectorClassifierTest {
+    
+    @Test
+    public void testIsNative_PlainCss() {
+        assertTrue(SelectorClassifier.isNative("div.results > table tr:nth-of-type(2) td:first-child"));
+        assertTrue(SelectorClassifier.isNative("input:checked, a::before"));
+    }
+    
+    @Test
+    public void testGetExtensions_SizzlePseudos() {
+        assertEquals(Set.of("eq", "visible"), SelectorClassifier.getExtensions("tr:eq(2) td:visible"));
+        assertEquals(Set.of("first"), SelectorClassifier.getExtensions("li:first"));
+    }
+    
+    @Test
+    public void testGetExtensions_IgnoresQuotedText() {
+        assertEquals(Set.of("contains"), SelectorClassifier.getExtensions("a:contains('x:eq(1)')"));
+        assertTrue(SelectorClassifier.isNative("input[value='a:visible']"));
+    }
+    
+    @Test
+    public void testGetExtensions_AttributeInequality() {
+        assertEquals(Set.of("!="), SelectorClassifier.getExtensions("input[name!='email']"));
+    }
+    
+    @Test
+    public void testGetExtensions_ComplexNot() {
+        assertTrue(SelectorClassifier.isNative("div:not(.hidden)"));
+        assertEquals(Set.of("not"), SelectorClassifier.getExtensions("div:not(.panel .hidden)"));
+    }
+    
+    @Test
+    public void testReject_FallsBackToSizzle() {
+        SelectorClassifier.reject("div:blank");
+        assertFalse(SelectorClassifier.isNative("div:blank"));
+        assertFalse(SelectorClassifier.isNative(List.of("div", "div:blank")));
+    }
+    
+    @Test
+    public void testIsPositional() {
+        assertTrue(SelectorClassifier.isPositional("tr td:eq(2)"));
+        assertTrue(SelectorClassifier.isPositional("li:last"));
+        assertFalse(SelectorClassifier.isPositional("li:nth-child(2)"));
+        assertFalse(SelectorClassifier.isPositional("a:contains('Next')"));
+    }
+}
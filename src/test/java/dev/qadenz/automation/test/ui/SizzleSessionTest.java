@@ -0,0 +1,56 @@
+/*
+Copyright Tim Slifer
+
+Licensed under the PolyForm Internal Use License, Version 1.0.0 (the "License");
+you may not use this file except in compliance with the License.
+A copy of the License may be obtained at
+
+https://polyformproject.org/licenses/internal-use/1.0.0/
+ */
+package dev.qadenz.automation.test.ui;
+
+import dev.qadenz.automation.config.WebDriverProvider;
+import dev.qadenz.automation.ui.SizzleSession;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.withSettings;
+
+public class SizzleSessionTest {
+    
+    private final WebDriver webDriver =
+            mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class));
+    
+    @Test
+    public void testForDriver_ReusesSessionOfSameDriver() {
+        assertSame(SizzleSession.forDriver(webDriver), SizzleSession.forDriver(webDriver));
+        
+        SizzleSession.discard(webDriver);
+    }
+    
+    @Test
+    public void testDiscard_StartsNewSessionForDriver() {
+        SizzleSession sizzleSession = SizzleSession.forDriver(webDriver);
+        SizzleSession.discard(webDriver);
+        
+        assertNotSame(sizzleSession, SizzleSession.forDriver(webDriver));
+        
+        SizzleSession.discard(webDriver);
+    }
+    
+    @Test
+    public void testQuitWebDriver_DiscardsSession() {
+        SizzleSession sizzleSession = SizzleSession.forDriver(webDriver);
+        WebDriverProvider.quitWebDriver(webDriver);
+        
+        verify(webDriver).quit();
+        assertNotSame(sizzleSession, SizzleSession.forDriver(webDriver));
+        
+        SizzleSession.discard(webDriver);
+    }
+}
@@ -0,0 +1,105 @@
+/*
+Copyright Tim Slifer
+
+Licensed under the PolyForm Internal Use License, Version 1.0.0 (the "License");
+you may not use this file except in compliance with the License.
+A copy of the License may be obtained at
+
+https://polyformproject.org/licenses/internal-use/1.0.0/
+ */
+package dev.qadenz.automation.test.ui;
+
+import dev.qadenz.automation.config.WebDriverProvider;
+import dev.qadenz.automation.ui.Locator;
+import dev.qadenz.automation.ui.LocatorGroup;
+import dev.qadenz.automation.ui.WebFinder;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+public class WebFinderTest {
+    
+    private final WebFinder webFinder = new WebFinder();
+    
+    private final Locator table = new Locator("Results Table", "#results");
+    private final Locator row = new Locator("Result Row", table, " > tbody > tr");
+    
+    @Test
+    public void testFindAllWithin_ResolvesOnlyTheChildSelectorWithinTheParent() {
+        WebElement tableElement = mock(WebElement.class);
+        List<WebElement> rows = List.of(mock(WebElement.class));
+        ArgumentCaptor<By> by = ArgumentCaptor.forClass(By.class);
+        when(tableElement.findElements(by.capture())).thenReturn(rows);
+        
+        assertEquals(rows, webFinder.findAllWithin(tableElement, row));
+        assertEquals("BySizzle.scoped: [> tbody > tr]", by.getValue().toString());
+    }
+    
+    @Test
+    public void testFindWithin_ResolvesNestedChildWithinItsDirectParent() {
+        Locator cell = new Locator("Result Cell", row, " td.total");
+        WebElement rowElement = mock(WebElement.class);
+        
+        webFinder.findWithin(rowElement, cell);
+        
+        ArgumentCaptor<By> by = ArgumentCaptor.forClass(By.class);
+        verify(rowElement).findElement(by.capture());
+        assertEquals("BySizzle.scoped: [td.total]", by.getValue().toString());
+    }
+    
+    @Test
+    public void testFindWithin_ResolvesLocatorWithoutParentRelativeToElement() {
+        WebElement listElement = mock(WebElement.class);
+        
+        webFinder.findWithin(listElement, new Locator("List Item", "> li"));
+        
+        ArgumentCaptor<By> by = ArgumentCaptor.forClass(By.class);
+        verify(listElement).findElement(by.capture());
+        assertEquals("BySizzle.scoped: [> li]", by.getValue().toString());
+    }
+    
+    @Test
+    public void testFindWithin_RejectsCompoundSelectorOfParent() {
+        Locator activeRow = new Locator("Active Row", row, ".active");
+        
+        assertThrows(IllegalArgumentException.class, () -> webFinder.findWithin(mock(WebElement.class), activeRow));
+    }
+    
+    @Test
+    public void testFindAll_KeepsResultsOfGroupMembersSharingAName() {
+        WebDriver webDriver = mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class));
+        WebDriverProvider.setWebDriver(webDriver);
+        Locator saveButton = new Locator("Button", "#save");
+        Locator cancelButton = new Locator("Button", "#cancel");
+        List<WebElement> saveElements = List.of(mock(WebElement.class));
+        when(((JavascriptExecutor) webDriver).executeScript(anyString(), any(Object[].class)))
+                .thenReturn(List.of(saveElements, List.of()));
+        
+        try {
+            Map<Locator, List<WebElement>> elements =
+                    webFinder.findAll(new LocatorGroup("Buttons", saveButton, cancelButton));
+            
+            assertEquals(2, elements.size());
+            assertEquals(saveElements, elements.get(saveButton));
+            assertEquals(List.of(), elements.get(cancelButton));
+        }
+        finally {
+            WebDriverProvider.setWebDriver(null);
+        }
+    }
+}
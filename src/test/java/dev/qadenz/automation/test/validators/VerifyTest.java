@@ -10,9 +10,12 @@ https://polyformproject.org/licenses/internal-use/1.0.0/
 package dev.qadenz.automation.test.validators;
 
 import dev.qadenz.automation.conditions.Condition;
+import dev.qadenz.automation.config.WebConfig;
 import dev.qadenz.automation.reporter.Screenshot;
+import dev.qadenz.automation.reporter.ScreenshotMode;
 import dev.qadenz.automation.util.TestCommander;
 import dev.qadenz.automation.util.TestConditions;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -34,6 +37,11 @@ public class VerifyTest {
     @InjectMocks
     private TestCommander commander;
     
+    @AfterEach
+    public void resetScreenshotMode() {
+        WebConfig.screenshotMode = ScreenshotMode.EACH;
+    }
+    
     @Test
     public void singleCondition_ReturnsTrue_ResultIsPass() {
         Condition returnsTrue = spy(TestConditions.returnsTrue());
@@ -115,4 +123,38 @@ public class VerifyTest {
         verify(throwsError1, times(1)).result();
         verify(throwsError2, times(0)).result();
     }
+    
+    @Test
+    public void multipleConditions_AllReturnFalse_ModeEach_CapturesForEachFailure() {
+        Condition returnsFalse1 = spy(TestConditions.returnsFalse());
+        Condition returnsFalse2 = spy(TestConditions.returnsFalse());
+        Condition returnsFalse3 = spy(TestConditions.returnsFalse());
+        doNothing().when(screenshot).capture();
+        assertThrows(AssertionError.class, () -> commander.verify(returnsFalse1, returnsFalse2, returnsFalse3));
+        verify(screenshot, times(3)).capture();
+    }
+    
+    @Test
+    public void multipleConditions_AllReturnFalse_ModePerValidation_CapturesOnceAndReferencesRest() {
+        WebConfig.screenshotMode = ScreenshotMode.PER_VALIDATION;
+        Condition returnsFalse1 = spy(TestConditions.returnsFalse());
+        Condition returnsFalse2 = spy(TestConditions.returnsFalse());
+        Condition returnsFalse3 = spy(TestConditions.returnsFalse());
+        doNothing().when(screenshot).capture();
+        doNothing().when(screenshot).reference();
+        assertThrows(AssertionError.class, () -> commander.verify(returnsFalse1, returnsFalse2, returnsFalse3));
+        verify(screenshot, times(1)).capture();
+        verify(screenshot, times(2)).reference();
+    }
+    
+    @Test
+    public void multipleConditions_AllReturnFalse_ModeLast_ReplacesOnEachFailure() {
+        WebConfig.screenshotMode = ScreenshotMode.LAST;
+        Condition returnsFalse1 = spy(TestConditions.returnsFalse());
+        Condition returnsFalse2 = spy(TestConditions.returnsFalse());
+        doNothing().when(screenshot).replace();
+        assertThrows(AssertionError.class, () -> commander.verify(returnsFalse1, returnsFalse2));
+        verify(screenshot, times(0)).capture();
+        verify(screenshot, times(2)).replace();
+    }
 }